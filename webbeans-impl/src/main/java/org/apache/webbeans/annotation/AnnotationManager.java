@@ -502,7 +502,7 @@ public final class AnnotationManager
         }
         else
         {
-            Method[] methods = webBeansContext.getSecurityService().doPrivilegedGetDeclaredMethods(ann.annotationType());
+            Method[] methods = webBeansContext.getReflectionCache().getDeclaredMethods(ann.annotationType());
 
             for (Method method : methods)
             {
@@ -952,7 +952,7 @@ public final class AnnotationManager
     public void checkInjectionPointForInjectInjectionPoint(Class<?> clazz)
     {
         Asserts.nullCheckForClass(clazz);
-        Field[] fields = webBeansContext.getSecurityService().doPrivilegedGetDeclaredFields(clazz);
+        Field[] fields = webBeansContext.getReflectionCache().getDeclaredFields(clazz);
         for(Field field : fields)
         {
             if(field.getAnnotation(Inject.class) != null)
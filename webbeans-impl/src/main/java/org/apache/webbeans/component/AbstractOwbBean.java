@@ -22,6 +22,7 @@ import javax.enterprise.inject.spi.BeanAttributes;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.SerializableBean;
+import org.apache.webbeans.container.StartupProfile;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
@@ -132,6 +133,12 @@ public abstract class AbstractOwbBean<T>
             {
                 ((CreationalContextImpl<T>)creationalContext).addDependent(this, instance);
             }
+
+            StartupProfile startupProfile = webBeansContext.getBeanManagerImpl().getStartupProfile();
+            if (startupProfile != null)
+            {
+                startupProfile.beanCreated(this);
+            }
             return instance;
         }
         catch (Exception re)
@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.component;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.webbeans.util.ImmutableArraySet;
+
+/**
+ * Canonicalises the metadata of beans and injection points.
+ * Many beans share the very same type closure or qualifiers,
+ * e.g. all &#064;Default beans or the implementations of a common interface.
+ * Instead of keeping a copy per bean they all reference the same immutable instance.
+ *
+ * There is one pool per WebBeansContext, so no application classes get held across applications.
+ */
+public class BeanMetadataPool
+{
+    private final ConcurrentMap<Set<?>, Set<?>> sets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Type, Type> types = new ConcurrentHashMap<>();
+
+    /**
+     * @return an immutable Set with the same content as the given one, shared with all other callers
+     */
+    public <T> Set<T> intern(Set<T> set)
+    {
+        Set<T> immutableSet = ImmutableArraySet.copyOf(set);
+        if (immutableSet.isEmpty())
+        {
+            return immutableSet;
+        }
+
+        Set<?> existing = sets.putIfAbsent(immutableSet, immutableSet);
+        return existing != null ? (Set<T>) existing : immutableSet;
+    }
+
+    /**
+     * Like {@link #intern(Set)} but also canonicalises the contained types,
+     * so equal ParameterizedTypes of different bean closures are only kept once.
+     */
+    public Set<Type> internTypes(Set<Type> typeClosure)
+    {
+        if (typeClosure == null || typeClosure.isEmpty())
+        {
+            return intern(typeClosure);
+        }
+
+        List<Type> internedTypes = new ArrayList<>(typeClosure.size());
+        for (Type type : typeClosure)
+        {
+            internedTypes.add(intern(type));
+        }
+        return intern(ImmutableArraySet.copyOf(internedTypes));
+    }
+
+    public Type intern(Type type)
+    {
+        if (type instanceof Class)
+        {
+            // classes are canonical already
+            return type;
+        }
+
+        Type existing = types.putIfAbsent(type, type);
+        return existing != null ? existing : type;
+    }
+
+    public void clear()
+    {
+        sets.clear();
+        types.clear();
+    }
+}
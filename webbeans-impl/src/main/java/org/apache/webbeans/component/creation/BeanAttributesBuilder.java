@@ -50,6 +50,7 @@ import org.apache.webbeans.annotation.AnyLiteral;
 import org.apache.webbeans.annotation.DefaultLiteral;
 import org.apache.webbeans.annotation.NamedLiteral;
 import org.apache.webbeans.component.BeanAttributesImpl;
+import org.apache.webbeans.component.BeanMetadataPool;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.ExternalScope;
@@ -125,7 +126,9 @@ public abstract class BeanAttributesBuilder<T, A extends Annotated>
         defineName();
         defineQualifiers();
         defineAlternative();
-        return new BeanAttributesImpl<>(types, qualifiers, scope, name, stereotypes, alternative);
+        BeanMetadataPool metadataPool = webBeansContext.getBeanMetadataPool();
+        return new BeanAttributesImpl<>(metadataPool.internTypes(types), metadataPool.intern(qualifiers), scope, name,
+                                        metadataPool.intern(stereotypes), alternative);
     }
 
     protected A getAnnotated()
@@ -43,6 +43,7 @@ import org.apache.webbeans.container.AnnotatedTypeWrapper;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.InjectableBeanManager;
 import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.container.StartupProfile;
 import org.apache.webbeans.context.control.ActivateRequestContextInterceptorBean;
 import org.apache.webbeans.corespi.se.DefaultJndiService;
 import org.apache.webbeans.decorator.DecoratorsManager;
@@ -78,6 +79,7 @@ import org.apache.webbeans.portable.events.discovery.BeforeBeanDiscoveryImpl;
 import org.apache.webbeans.portable.events.generics.GProcessAnnotatedType;
 import org.apache.webbeans.portable.events.generics.GProcessBean;
 import org.apache.webbeans.portable.events.generics.GProcessManagedBean;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
 import org.apache.webbeans.spi.BdaScannerService;
 import org.apache.webbeans.spi.BeanArchiveService;
 import org.apache.webbeans.spi.JNDIService;
@@ -93,6 +95,7 @@ import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveInformation;
 
+import javax.enterprise.context.SessionScoped;
 import javax.enterprise.inject.AmbiguousResolutionException;
 import javax.enterprise.inject.Model;
 import javax.enterprise.inject.UnproxyableResolutionException;
@@ -108,6 +111,7 @@ import javax.enterprise.inject.spi.Interceptor;
 import javax.enterprise.inject.spi.ObserverMethod;
 import javax.enterprise.inject.spi.Producer;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
@@ -126,6 +130,12 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -331,12 +341,30 @@ public class BeansDeployer
                 // fire event
                 fireAfterDeploymentValidationEvent();
 
+                assignSessionContextualInstanceSlots();
 
                 // do some cleanup after the deployment
                 scanner.release();
-                webBeansContext.getAnnotatedElementFactory().clear();
+                AnnotatedElementFactory annotatedElementFactory = webBeansContext.getAnnotatedElementFactory();
+                if (logger.isLoggable(Level.FINE))
+                {
+                    logger.fine("Releasing " + annotatedElementFactory.getCachedElementCount() +
+                            " cached annotated elements after the deployment.");
+                }
+                annotatedElementFactory.clear();
                 webBeansContext.getNotificationManager().clearCaches();
                 webBeansContext.getAnnotationManager().clearCaches();
+                if (webBeansContext.getOpenWebBeansConfiguration().clearGenericsCacheAfterDeployment())
+                {
+                    webBeansContext.getGenericsCache().clear();
+                }
+                if (!webBeansContext.getOpenWebBeansConfiguration().keepReflectionCacheAfterDeployment())
+                {
+                    webBeansContext.getReflectionCache().clear();
+                }
+
+                // only now, as the caches got cleared above
+                startupProfile();
             }
         }
         catch (UnsatisfiedResolutionException | UnproxyableResolutionException | AmbiguousResolutionException e)
@@ -581,7 +609,7 @@ public class BeansDeployer
                         ParameterizedType pt2 = ParameterizedType.class.cast(t);
 
                         if (pt1.getRawType() == pt2.getRawType() &&
-                            !GenericsUtil.isAssignableFrom(true, false, pt1, pt2, new HashMap<>()))
+                            !GenericsUtil.isAssignableFrom(true, false, pt1, pt2, null))
                         {
                             throw new WebBeansConfigurationException("Generic error matching " + api + " and " + t);
                         }
@@ -829,6 +857,8 @@ public class BeansDeployer
 
         // we do not need to set back the sortedAlternatives to the AlternativesManager as the API
         // and all layers in between use a mutable List. Not very elegant but spec conform.
+        // but the interceptor order might have been changed by the observers
+        interceptorsManager.clearResolutionCaches();
 
         webBeansContext.getWebBeansUtil().inspectDeploymentErrorStack(
                 "There are errors that are added by AfterTypeDiscovery event observers. Look at logs for further details");
@@ -921,7 +951,7 @@ public class BeansDeployer
     private boolean hasAlternativeProducerMethod(Class<?> alternativeClass)
     {
         // It's also ok if the class has an @Alternative producer method
-        List<Method> nonPrivateMethods = ClassUtil.getNonPrivateMethods(alternativeClass, true);
+        List<Method> nonPrivateMethods = webBeansContext.getReflectionCache().getNonPrivateMethods(alternativeClass, true);
         for (Method method : nonPrivateMethods)
         {
             if ((method.getAnnotation(Alternative.class) != null ||
@@ -1053,49 +1083,212 @@ public class BeansDeployer
         decoratorsManager.validateDecoratorClasses();
         interceptorsManager.validateInterceptorClasses();
 
-        //Adding decorators to validate
-        Set<Decorator<?>> decorators = decoratorsManager.getDecorators();
+        ExecutorService validationExecutor = createValidationExecutor();
+        try
+        {
+            //Adding decorators to validate
+            Set<Decorator<?>> decorators = decoratorsManager.getDecorators();
 
-        logger.fine("Validation of the decorator's injection points has started.");
-        
-        //Validate Decorators
-        validate(decorators);
-        
-        //Adding interceptors to validate
-        List<javax.enterprise.inject.spi.Interceptor<?>> interceptors = interceptorsManager.getCdiInterceptors();
-        
-        logger.fine("Validation of the interceptor's injection points has started.");
-        
-        //Validate Interceptors
-        validate(interceptors);
+            logger.fine("Validation of the decorator's injection points has started.");
 
-        logger.fine("Validation of the beans' injection points has started.");
+            //Validate Decorators
+            validate(decorators, validationExecutor);
 
-        Set<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans();
-        
-        //Validate Others
-        validate(beans);
-        
-        logger.fine("Validation of the observer methods' injection points has started.");
-        
-        //Validate Observers
-        validateObservers(webBeansContext.getNotificationManager().getObserverMethods());
+            //Adding interceptors to validate
+            List<javax.enterprise.inject.spi.Interceptor<?>> interceptors = interceptorsManager.getCdiInterceptors();
+
+            logger.fine("Validation of the interceptor's injection points has started.");
+
+            //Validate Interceptors
+            validate(interceptors, validationExecutor);
+
+            logger.fine("Validation of the beans' injection points has started.");
+
+            Set<Bean<?>> beans = webBeansContext.getBeanManagerImpl().getBeans();
+
+            //Validate Others
+            validate(beans, validationExecutor);
+
+            logger.fine("Validation of the observer methods' injection points has started.");
+
+            //Validate Observers
+            validateObservers(webBeansContext.getNotificationManager().getObserverMethods(), validationExecutor);
+        }
+        finally
+        {
+            if (validationExecutor != null)
+            {
+                validationExecutor.shutdownNow();
+            }
+        }
 
         logger.info(OWBLogConst.INFO_0003);
     }
+
+    /**
+     * Assign the contextual instance slots of all &#064;SessionScoped beans upfront,
+     * so that compact SessionContexts get created with their final size right away.
+     * @see OpenWebBeansConfiguration#COMPACT_SESSION_CONTEXTS
+     */
+    private void assignSessionContextualInstanceSlots()
+    {
+        if (!webBeansContext.getOpenWebBeansConfiguration().compactSessionContexts())
+        {
+            return;
+        }
+
+        NormalScopeProxyFactory proxyFactory = webBeansContext.getNormalScopeProxyFactory();
+        for (Bean<?> bean : webBeansContext.getBeanManagerImpl().getBeans())
+        {
+            if (SessionScoped.class.equals(bean.getScope()))
+            {
+                proxyFactory.getContextualInstanceSlot(bean);
+            }
+        }
+    }
+
+    /**
+     * Either start recording the startup profile or initialise what a previous run recorded.
+     * @see OpenWebBeansConfiguration#STARTUP_PROFILE_FILE
+     */
+    private void startupProfile()
+    {
+        OpenWebBeansConfiguration configuration = webBeansContext.getOpenWebBeansConfiguration();
+        String startupProfileFile = configuration.getStartupProfileFile();
+        if (startupProfileFile == null)
+        {
+            return;
+        }
+
+        int recordSeconds = configuration.getStartupProfileRecordSeconds();
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+        if (recordSeconds > 0)
+        {
+            beanManager.setStartupProfile(StartupProfile.record(new File(startupProfileFile), beanManager, recordSeconds));
+        }
+        else
+        {
+            StartupProfile.replay(new File(startupProfileFile), webBeansContext);
+        }
+    }
+
+    /**
+     * @return the executor to validate the injection points with or {@code null}
+     *         if they should get validated on the current thread.
+     * @see OpenWebBeansConfiguration#VALIDATION_THREADS
+     */
+    private ExecutorService createValidationExecutor()
+    {
+        int threads = webBeansContext.getOpenWebBeansConfiguration().getValidationThreads();
+        if (threads <= 1)
+        {
+            return null;
+        }
+
+        // the worker threads must see the same WebBeansContext as the deploying thread
+        ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "OWB-validation-" + threadCount.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Runs the given validation for all the given elements, in parallel if we have an executor.
+     * If the validation fails for some of them then we throw the exception of the first
+     * failing element in iteration order, just as a sequential validation would do.
+     * The exceptions of the other failing elements get added as suppressed exceptions.
+     */
+    private <E> void validateAll(List<E> elements, ExecutorService validationExecutor, Consumer<E> validation)
+    {
+        if (validationExecutor == null || elements.size() < 2)
+        {
+            elements.forEach(validation);
+            return;
+        }
+
+        RuntimeException[] errors = new RuntimeException[elements.size()];
+        AtomicInteger nextElement = new AtomicInteger();
+        Runnable worker = () ->
+        {
+            for (int i = nextElement.getAndIncrement(); i < errors.length; i = nextElement.getAndIncrement())
+            {
+                try
+                {
+                    validation.accept(elements.get(i));
+                }
+                catch (RuntimeException e)
+                {
+                    errors[i] = e;
+                }
+            }
+        };
+
+        List<Future<?>> workers = new ArrayList<>();
+        int threads = Math.min(elements.size(), webBeansContext.getOpenWebBeansConfiguration().getValidationThreads());
+        for (int i = 0; i < threads; i++)
+        {
+            workers.add(validationExecutor.submit(worker));
+        }
+        for (Future<?> future : workers)
+        {
+            try
+            {
+                future.get();
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                throw new WebBeansDeploymentException(e);
+            }
+            catch (ExecutionException e)
+            {
+                ExceptionUtil.throwAsRuntimeException(e.getCause());
+            }
+        }
+
+        RuntimeException firstError = null;
+        for (RuntimeException error : errors)
+        {
+            if (error == null)
+            {
+                continue;
+            }
+            if (firstError == null)
+            {
+                firstError = error;
+            }
+            else
+            {
+                firstError.addSuppressed(error);
+            }
+        }
+        if (firstError != null)
+        {
+            throw firstError;
+        }
+    }
     
     /**
      * Validates beans.
      * 
      * @param beans deployed beans
      */
-    private <T, B extends Bean<?>> void validate(Collection<B> beans)
+    private <T, B extends Bean<?>> void validate(Collection<B> beans, ExecutorService validationExecutor)
     {
         webBeansContext.getBeanManagerImpl().getInjectionResolver().clearCaches();
 
         if (beans != null && beans.size() > 0)
         {
             LinkedList<String> beanNames = new LinkedList<>();
+
+            // defining the interceptor stacks creates proxy classes, so only
+            // the injection points get validated in parallel afterwards
+            List<Bean<?>> beansToValidate = new ArrayList<>(beans.size());
             for (Bean<?> bean : beans)
             {
                 try
@@ -1157,6 +1350,19 @@ public class BeansDeployer
                         }
                     }
 
+                    beansToValidate.add(bean);
+                }
+                catch (RuntimeException e)
+                {
+                    throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
+                }
+
+            }
+
+            validateAll(beansToValidate, validationExecutor, bean ->
+            {
+                try
+                {
                     //Bean injection points
                     Set<InjectionPoint> injectionPoints = bean.getInjectionPoints();
 
@@ -1173,8 +1379,8 @@ public class BeansDeployer
                 {
                     throw ExceptionUtil.addInformation(e, "Problem while validating bean " + bean);
                 }
+            });
 
-            }
             //Validate Bean names
             validateBeanNames(beanNames);
 
@@ -1184,16 +1390,18 @@ public class BeansDeployer
         
     }
     
-    private void validateObservers(Collection<ObserverMethod<?>> observerMethods)
+    private void validateObservers(Collection<ObserverMethod<?>> observerMethods, ExecutorService validationExecutor)
     {
+        List<OwbObserverMethod<?>> owbObserverMethods = new ArrayList<>(observerMethods.size());
         for (ObserverMethod<?> observerMethod: observerMethods)
         {
             if (observerMethod instanceof OwbObserverMethod)
             {
-                OwbObserverMethod<?> owbObserverMethod = (OwbObserverMethod<?>)observerMethod;
-                webBeansContext.getWebBeansUtil().validate(owbObserverMethod.getInjectionPoints(), null);
+                owbObserverMethods.add((OwbObserverMethod<?>) observerMethod);
             }
         }
+        validateAll(owbObserverMethods, validationExecutor,
+            owbObserverMethod -> webBeansContext.getWebBeansUtil().validate(owbObserverMethod.getInjectionPoints(), null));
     }
 
     private void validateBeanNames(LinkedList<String> beanNames)
@@ -1335,8 +1543,8 @@ public class BeansDeployer
 
                     // trigger a NoClassDefFoundError here, otherwise it would be thrown in observer methods
                     Class<?> javaClass = annotatedType.getJavaClass();
-                    javaClass.getDeclaredMethods();
-                    javaClass.getDeclaredFields();
+                    webBeansContext.getReflectionCache().getDeclaredMethods(javaClass);
+                    webBeansContext.getReflectionCache().getDeclaredFields(javaClass);
 
                     // Fires ProcessAnnotatedType
                     if (!javaClass.isAnnotation())
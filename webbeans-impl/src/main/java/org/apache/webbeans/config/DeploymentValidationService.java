@@ -44,7 +44,6 @@ import org.apache.webbeans.exception.helper.ViolationMessageBuilder;
 import org.apache.webbeans.intercept.InterceptorResolutionService.BeanInterceptorInfo;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.portable.InjectionTargetImpl;
-import org.apache.webbeans.util.SecurityUtil;
 
 public class DeploymentValidationService
 {
@@ -165,7 +164,7 @@ public class DeploymentValidationService
             return finalMethodName;
         }
 
-        Method[] methods = SecurityUtil.doPrivilegedGetDeclaredMethods(beanClass);
+        Method[] methods = webBeansContext.getReflectionCache().getDeclaredMethods(beanClass);
         for (Method m : methods)
         {
             int modifiers = m.getModifiers();
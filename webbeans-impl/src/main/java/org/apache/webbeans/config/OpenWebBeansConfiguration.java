@@ -197,6 +197,87 @@ public class OpenWebBeansConfiguration
      */
     public static final String EAGER_SESSION_INITIALISATION = "org.apache.webbeans.web.eagerSessionInitialisation";
 
+    /**
+     * If set to &quot;true&quot; then cleared {@link org.apache.webbeans.context.RequestContext}s
+     * get kept in a ThreadLocal and reused for the next request on the same thread.
+     * This also applies to request contexts started via &#064;ActivateRequestContext or
+     * the RequestContextController, which makes tight activation loops (e.g. message consumers) allocation free.
+     * Only enable this if no code keeps a reference to a RequestContext after the request ended.
+     * Each thread keeps its recycled context until the container shuts down, so pooled threads
+     * hold on to one cleared context each while the application is running.
+     * Custom ContextsServices must invoke {@code releaseRecycledRequestContexts()} when they get destroyed,
+     * otherwise the recycled contexts keep the undeployed application and its ClassLoader alive.
+     * Default is {@code false}
+     */
+    public static final String RECYCLE_REQUEST_CONTEXTS = "org.apache.webbeans.context.recycleRequestContexts";
+
+    /**
+     * If set to &quot;true&quot; then {@link org.apache.webbeans.context.SessionContext}s store their
+     * contextual instances in a single array indexed by the slot of each &#064;SessionScoped bean
+     * instead of a ConcurrentHashMap, and share the CreationalContext of instances without dependents.
+     * This keeps the memory overhead low for applications with lots of concurrent sessions.
+     * Default is {@code false}
+     */
+    public static final String COMPACT_SESSION_CONTEXTS = "org.apache.webbeans.context.compactSessionContexts";
+
+    /**
+     * If set to &quot;true&quot; then the memoised results of generic type checks
+     * get dropped once the deployment finished.
+     * This saves memory, but lookups which are not cached already will be slower.
+     * Default is {@code false}
+     */
+    public static final String CLEAR_GENERICS_CACHE_AFTER_DEPLOYMENT = "org.apache.webbeans.generics.clearCacheAfterDeployment";
+
+    /**
+     * If set to &quot;true&quot; then the cached declared members of all deployed classes
+     * are kept after the deployment, e.g. to speed up proxies which get created lazily.
+     * Default is {@code false} which releases them once the deployment finished.
+     */
+    public static final String KEEP_REFLECTION_CACHE_AFTER_DEPLOYMENT = "org.apache.webbeans.reflection.keepCacheAfterDeployment";
+
+    /**
+     * The number of threads used to validate the injection points of all beans
+     * and observer methods at the end of the deployment.
+     * If set to &quot;auto&quot; then we use one thread per available processor.
+     * Default is {@code 1} which validates everything on the deploying thread.
+     */
+    public static final String VALIDATION_THREADS = "org.apache.webbeans.deployment.validationThreads";
+
+    /**
+     * Path of a file to keep the by-type resolutions of the InjectionResolver between restarts.
+     * The resolutions get written on shutdown and get reused on the next start,
+     * but only if the very same beans got deployed again.
+     * Default is not to persist any resolutions.
+     */
+    public static final String RESOLUTION_CACHE_FILE = "org.apache.webbeans.resolution.cacheFile";
+
+    /**
+     * Path of a file to keep the outcome of scanning the bean archives between deployments.
+     * Archives which did not change since the last deployment don't get scanned again,
+     * instead their classes get taken from this index. Only the class level annotations
+     * of those classes are available in the AnnotationFinder then.
+     * Default is to scan all archives on every deployment.
+     */
+    public static final String SCANNER_INDEX_FILE = "org.apache.webbeans.scanner.indexFile";
+
+    /**
+     * Path of a file which lists the beans, normal scoped proxies and event types
+     * which got used right after a previous start.
+     * If the file exists then all of them get initialised at the end of the deployment,
+     * which runs the static initialisers of the recorded classes.
+     * The file gets written by a training run, see {@link #STARTUP_PROFILE_RECORD_SECONDS}.
+     * Default is not to use a startup profile.
+     */
+    public static final String STARTUP_PROFILE_FILE = "org.apache.webbeans.startup.profileFile";
+
+    /**
+     * If set to a positive number of seconds then the {@link #STARTUP_PROFILE_FILE} gets recorded
+     * instead of used. Everything which gets used in the given time after the deployment
+     * gets written to the file once the time is over or the container gets shut down.
+     * Default is {@code 0} which doesn't record anything.
+     */
+    public static final String STARTUP_PROFILE_RECORD_SECONDS = "org.apache.webbeans.startup.profileRecordSeconds";
+
     /**
      * The Java Version to use for the generated proxy classes.
      * If "auto" then we will pick the version of the current JVM.
@@ -218,20 +299,43 @@ public class OpenWebBeansConfiguration
     private final Properties configProperties = new Properties();
 
 
+    /*
+     * The following values get resolved lazily from the configProperties and
+     * are dropped whenever the configuration changes, so reads don't need any lock.
+     * They only get resolved and stored while holding the lock of this instance, which
+     * changes to the configuration hold as well. Otherwise a value resolved before a change
+     * could get stored after the change cleared it.
+     */
+
     /**
      * @see #IGNORED_INTERFACES
      */
-    private Set<String> ignoredInterfaces;
+    private volatile Set<String> ignoredInterfaces;
 
     /**
      * @see #IGNORED_EXTENSIONS
      */
-    private Set<String> ignoredExtensions;
+    private volatile Set<String> ignoredExtensions;
 
     /**
      * @see #SCAN_EXTENSION_JARS
      */
-    private Boolean scanExtensionJars;
+    private volatile Boolean scanExtensionJars;
+
+    /**
+     * @see #APPLICATION_SUPPORTS_CONVERSATION
+     */
+    private volatile Boolean supportsConversation;
+
+    /**
+     * @see #STRICT_DYNAMIC_VALIDATION
+     */
+    private volatile Boolean strictDynamicValidation;
+
+    /**
+     * @see #PRODUCER_INTERCEPTION_SUPPORT
+     */
+    private volatile Boolean supportsInterceptionOnProducers;
 
     /**
      * All configured lists per key.
@@ -261,6 +365,7 @@ public class OpenWebBeansConfiguration
 
         // and override all settings with the given properties
         configProperties.putAll(properties);
+        clearResolvedValues();
     }
 
     /**
@@ -291,6 +396,17 @@ public class OpenWebBeansConfiguration
 
             configProperties.putAll(newConfigProperties);
         }
+        clearResolvedValues();
+    }
+
+    private void clearResolvedValues()
+    {
+        ignoredInterfaces = null;
+        ignoredExtensions = null;
+        scanExtensionJars = null;
+        supportsConversation = null;
+        strictDynamicValidation = null;
+        supportsInterceptionOnProducers = null;
     }
 
     /**
@@ -393,6 +509,7 @@ public class OpenWebBeansConfiguration
     public synchronized void setProperty(String key, Object value)
     {
         configProperties.put(key, value);
+        clearResolvedValues();
     }
 
 
@@ -413,9 +530,16 @@ public class OpenWebBeansConfiguration
      */
     public boolean supportsConversation()
     {
-        String value = getProperty(APPLICATION_SUPPORTS_CONVERSATION);
-
-        return Boolean.valueOf(value);
+        Boolean value = supportsConversation;
+        if (value == null)
+        {
+            synchronized (this)
+            {
+                value = Boolean.valueOf(getProperty(APPLICATION_SUPPORTS_CONVERSATION));
+                supportsConversation = value;
+            }
+        }
+        return value;
     }
 
     /**
@@ -436,37 +560,104 @@ public class OpenWebBeansConfiguration
      */
     public boolean strictDynamicValidation()
     {
-        String value = getProperty(STRICT_DYNAMIC_VALIDATION);
+        Boolean value = strictDynamicValidation;
+        if (value == null)
+        {
+            synchronized (this)
+            {
+                value = "true".equalsIgnoreCase(getProperty(STRICT_DYNAMIC_VALIDATION));
+                strictDynamicValidation = value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Flag which indicates that destroyed RequestContexts should get reused on the same thread.
+     * Default is {@code false}
+     * @see #RECYCLE_REQUEST_CONTEXTS
+     */
+    public boolean recycleRequestContexts()
+    {
+        String value = getProperty(RECYCLE_REQUEST_CONTEXTS);
         return "true".equalsIgnoreCase(value);
     }
 
-    public synchronized Set<String> getIgnoredInterfaces()
+    /**
+     * Flag which indicates that SessionContexts should use the compact instance storage.
+     * Default is {@code false}
+     * @see #COMPACT_SESSION_CONTEXTS
+     */
+    public boolean compactSessionContexts()
+    {
+        String value = getProperty(COMPACT_SESSION_CONTEXTS);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Flag which indicates that the cached generic type checks should get dropped after the deployment.
+     * Default is {@code false}
+     * @see #CLEAR_GENERICS_CACHE_AFTER_DEPLOYMENT
+     */
+    public boolean clearGenericsCacheAfterDeployment()
     {
-        if (ignoredInterfaces == null)
+        String value = getProperty(CLEAR_GENERICS_CACHE_AFTER_DEPLOYMENT);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    /**
+     * Flag which indicates that the cached declared members should be kept after the deployment.
+     * Default is {@code false}
+     * @see #KEEP_REFLECTION_CACHE_AFTER_DEPLOYMENT
+     */
+    public boolean keepReflectionCacheAfterDeployment()
+    {
+        String value = getProperty(KEEP_REFLECTION_CACHE_AFTER_DEPLOYMENT);
+        return "true".equalsIgnoreCase(value);
+    }
+
+    public Set<String> getIgnoredInterfaces()
+    {
+        Set<String> value = ignoredInterfaces;
+        if (value == null)
         {
-            ignoredInterfaces = getPropertyList(IGNORED_INTERFACES);
+            synchronized (this)
+            {
+                value = getPropertyList(IGNORED_INTERFACES);
+                ignoredInterfaces = value;
+            }
         }
-        return ignoredInterfaces;
+        return value;
     }
 
-    public synchronized Set<String> getIgnoredExtensions()
+    public Set<String> getIgnoredExtensions()
     {
-        if (ignoredExtensions == null)
+        Set<String> value = ignoredExtensions;
+        if (value == null)
         {
-            ignoredExtensions = getPropertyList(IGNORED_EXTENSIONS);
+            synchronized (this)
+            {
+                value = getPropertyList(IGNORED_EXTENSIONS);
+                ignoredExtensions = value;
+            }
         }
-        return ignoredExtensions;
+        return value;
     }
 
-    public synchronized boolean getScanExtensionJars()
+    public boolean getScanExtensionJars()
     {
-        if (scanExtensionJars == null)
+        Boolean value = scanExtensionJars;
+        if (value == null)
         {
-            final String property = getProperty(SCAN_EXTENSION_JARS);
-            // default must stay true for backward compatibility
-            scanExtensionJars = property == null || Boolean.parseBoolean(property.trim());
+            synchronized (this)
+            {
+                final String property = getProperty(SCAN_EXTENSION_JARS);
+                // default must stay true for backward compatibility
+                value = property == null || Boolean.parseBoolean(property.trim());
+                scanExtensionJars = value;
+            }
         }
-        return scanExtensionJars;
+        return value;
     }
 
     private Set<String> getPropertyList(String configKey)
@@ -543,7 +734,100 @@ public class OpenWebBeansConfiguration
 
     public boolean supportsInterceptionOnProducers()
     {
-        return Boolean.parseBoolean(getProperty(PRODUCER_INTERCEPTION_SUPPORT, "true"));
+        Boolean value = supportsInterceptionOnProducers;
+        if (value == null)
+        {
+            synchronized (this)
+            {
+                value = Boolean.parseBoolean(getProperty(PRODUCER_INTERCEPTION_SUPPORT, "true"));
+                supportsInterceptionOnProducers = value;
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @see #RESOLUTION_CACHE_FILE
+     */
+    public String getResolutionCacheFile()
+    {
+        String resolutionCacheFile = getProperty(RESOLUTION_CACHE_FILE);
+        if (resolutionCacheFile == null || resolutionCacheFile.trim().isEmpty())
+        {
+            return null;
+        }
+        return resolutionCacheFile.trim();
+    }
+
+    /**
+     * @see #SCANNER_INDEX_FILE
+     */
+    public String getScannerIndexFile()
+    {
+        String scannerIndexFile = getProperty(SCANNER_INDEX_FILE);
+        if (scannerIndexFile == null || scannerIndexFile.trim().isEmpty())
+        {
+            return null;
+        }
+        return scannerIndexFile.trim();
+    }
+
+    /**
+     * @see #STARTUP_PROFILE_FILE
+     */
+    public String getStartupProfileFile()
+    {
+        String startupProfileFile = getProperty(STARTUP_PROFILE_FILE);
+        if (startupProfileFile == null || startupProfileFile.trim().isEmpty())
+        {
+            return null;
+        }
+        return startupProfileFile.trim();
+    }
+
+    /**
+     * @see #STARTUP_PROFILE_RECORD_SECONDS
+     */
+    public int getStartupProfileRecordSeconds()
+    {
+        String recordSeconds = getProperty(STARTUP_PROFILE_RECORD_SECONDS);
+        if (recordSeconds == null || recordSeconds.trim().isEmpty())
+        {
+            return 0;
+        }
+        try
+        {
+            return Integer.parseInt(recordSeconds.trim());
+        }
+        catch (NumberFormatException e)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + STARTUP_PROFILE_RECORD_SECONDS + ": " + recordSeconds, e);
+        }
+    }
+
+    /**
+     * @see #VALIDATION_THREADS
+     */
+    public int getValidationThreads()
+    {
+        String validationThreads = getProperty(VALIDATION_THREADS);
+        if (validationThreads == null)
+        {
+            return 1;
+        }
+        if (AUTO_CONFIG.equals(validationThreads.trim()))
+        {
+            return Runtime.getRuntime().availableProcessors();
+        }
+
+        try
+        {
+            return Math.max(1, Integer.parseInt(validationThreads.trim()));
+        }
+        catch (NumberFormatException e)
+        {
+            throw new WebBeansConfigurationException("Invalid value for " + VALIDATION_THREADS + ": " + validationThreads, e);
+        }
     }
 
     public String getGeneratorJavaVersion()
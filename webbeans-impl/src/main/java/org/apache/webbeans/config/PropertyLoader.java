@@ -21,13 +21,20 @@ package org.apache.webbeans.config;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.util.WebBeansUtil;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -46,6 +53,13 @@ public final class PropertyLoader
     public static final String CONFIGURATION_ORDINAL_PROPERTY_NAME = "configuration.ordinal";
     private static Logger logger; // don't eager init it otherwise properlyloader can't be reused (meecrowave)
 
+    /**
+     * Parsed property files per ClassLoader and property file name.
+     * An entry is reused as long as the same files with the same modification time are found.
+     */
+    private static final Map<ClassLoader, Map<String, LoadedProperties>> LOADED_PROPERTIES =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
     private PropertyLoader()
     {
         // utility class doesn't have a public ct
@@ -74,18 +88,18 @@ public final class PropertyLoader
      * @param onMissing executed when no file is found.
      * @return the final property values
      */
-    public static synchronized Properties getProperties(String propertyFileName,
-                                                        Function<List<Properties>, Properties> merger,
-                                                        Runnable onMissing)
+    public static Properties getProperties(String propertyFileName,
+                                           Function<List<Properties>, Properties> merger,
+                                           Runnable onMissing)
     {
         try
         {
-            List<Properties> allProperties = loadAllProperties(propertyFileName, onMissing);
-            if (allProperties == null)
+            LoadedProperties loadedProperties = load(propertyFileName, onMissing);
+            if (loadedProperties == null)
             {
                 return null;
             }
-            return merger.apply(sortProperties(allProperties));
+            return merger.apply(copy(loadedProperties.getSortedProperties()));
         }
         catch (IOException e)
         {
@@ -95,7 +109,7 @@ public final class PropertyLoader
         }
     }
 
-    public static synchronized Properties getProperties(String propertyFileName)
+    public static Properties getProperties(String propertyFileName)
     {
         return getProperties(propertyFileName, PropertyLoader::mergeProperties, () ->
                 onMissingConfiguration(propertyFileName));
@@ -117,6 +131,13 @@ public final class PropertyLoader
 
     public static List<Properties> loadAllProperties(String propertyFileName, Runnable onMissing)
             throws IOException
+    {
+        LoadedProperties loadedProperties = load(propertyFileName, onMissing);
+        return loadedProperties != null ? copy(loadedProperties.properties) : null;
+    }
+
+    private static LoadedProperties load(String propertyFileName, Runnable onMissing)
+            throws IOException
     {
         ClassLoader cl = WebBeansUtil.getCurrentClassLoader();
         Enumeration<URL> propertyUrls = cl.getResources(propertyFileName);
@@ -126,11 +147,30 @@ public final class PropertyLoader
             return null;
         }
 
-        List<Properties> properties = new ArrayList<>();
+        List<URL> urls = Collections.list(propertyUrls);
+        String fingerprint = fingerprint(urls);
+        if (fingerprint == null)
+        {
+            // we can't tell whether the content changed, so don't cache it
+            return new LoadedProperties(null, parse(urls));
+        }
+
+        Map<String, LoadedProperties> loaded = LOADED_PROPERTIES.computeIfAbsent(cl, k -> new ConcurrentHashMap<>());
+        LoadedProperties loadedProperties = loaded.get(propertyFileName);
+        if (loadedProperties == null || !fingerprint.equals(loadedProperties.fingerprint))
+        {
+            loadedProperties = new LoadedProperties(fingerprint, parse(urls));
+            loaded.put(propertyFileName, loadedProperties);
+        }
+        return loadedProperties;
+    }
+
+    private static List<Properties> parse(List<URL> propertyUrls) throws IOException
+    {
+        List<Properties> properties = new ArrayList<>(propertyUrls.size());
 
-        while (propertyUrls.hasMoreElements())
+        for (URL propertyUrl : propertyUrls)
         {
-            URL propertyUrl = propertyUrls.nextElement();
             try (InputStream is = propertyUrl.openStream())
             {
                 Properties prop = new Properties();
@@ -149,6 +189,66 @@ public final class PropertyLoader
         return properties;
     }
 
+    /**
+     * @return the urls and modification times of the given files
+     *         or {@code null} if this can't be determined for one of them.
+     */
+    private static String fingerprint(List<URL> propertyUrls)
+    {
+        StringBuilder fingerprint = new StringBuilder();
+        for (URL propertyUrl : propertyUrls)
+        {
+            long lastModified = lastModified(propertyUrl);
+            if (lastModified <= 0)
+            {
+                return null;
+            }
+            fingerprint.append(propertyUrl.toExternalForm()).append('@').append(lastModified).append('\n');
+        }
+        return fingerprint.toString();
+    }
+
+    /**
+     * @return the modification time of the file or the jar containing the resource, 0 if unknown.
+     */
+    private static long lastModified(URL propertyUrl)
+    {
+        try
+        {
+            URL fileUrl = propertyUrl;
+            if ("jar".equals(fileUrl.getProtocol()))
+            {
+                String path = fileUrl.getPath();
+                int separator = path.indexOf("!/");
+                fileUrl = new URL(separator > 0 ? path.substring(0, separator) : path);
+            }
+            if ("file".equals(fileUrl.getProtocol()))
+            {
+                return new File(fileUrl.toURI()).lastModified();
+            }
+        }
+        catch (MalformedURLException | URISyntaxException | IllegalArgumentException e)
+        {
+            // not a plain file, handled as unknown
+        }
+        return 0;
+    }
+
+    /**
+     * The returned Properties get modified by the callers, so they only ever get copies.
+     */
+    private static List<Properties> copy(List<Properties> properties)
+    {
+        List<Properties> copies = new ArrayList<>(properties.size());
+        for (Properties p : properties)
+        {
+            Properties copy = new Properties();
+            copy.putAll(p);
+            copies.add(copy);
+        }
+        return copies;
+    }
+
     /**
      * Implement a quick and dirty sorting mechanism for the given Properties.
      * @param allProperties
@@ -217,6 +317,30 @@ public final class PropertyLoader
         return logger;
     }
 
+    private static final class LoadedProperties
+    {
+        private final String fingerprint;
+        private final List<Properties> properties;
+        private volatile List<Properties> sortedProperties;
+
+        private LoadedProperties(String fingerprint, List<Properties> properties)
+        {
+            this.fingerprint = fingerprint;
+            this.properties = properties;
+        }
+
+        private List<Properties> getSortedProperties()
+        {
+            List<Properties> sorted = sortedProperties;
+            if (sorted == null)
+            {
+                sorted = sortProperties(properties);
+                sortedProperties = sorted;
+            }
+            return sorted;
+        }
+    }
+
     /**
      * Merge the given Properties in order of appearance.
      * @param sortedProperties
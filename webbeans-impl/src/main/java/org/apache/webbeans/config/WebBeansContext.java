@@ -27,11 +27,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.apache.webbeans.annotation.AnnotationManager;
+import org.apache.webbeans.component.BeanMetadataPool;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.container.SerializableBeanVault;
 import org.apache.webbeans.context.creational.CreationalContextFactory;
@@ -69,6 +71,8 @@ import org.apache.webbeans.spi.SecurityService;
 import org.apache.webbeans.spi.TransactionService;
 import org.apache.webbeans.spi.plugins.OpenWebBeansPlugin;
 import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.GenericsCache;
+import org.apache.webbeans.util.ReflectionCache;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.webbeans.xml.DefaultBeanArchiveService;
 
@@ -84,11 +88,18 @@ public class WebBeansContext
 
     private final Map<Class<?>, Object> managerMap = new HashMap<>();
 
-    private final Map<Class<?>, Object> serviceMap = new HashMap<>();
+    /**
+     * Marks an optional SPI which has no implementation, to not scan for it over and over again.
+     */
+    private static final Object NO_SERVICE = new Object();
+
+    private final Map<Class<?>, Object> serviceMap = new ConcurrentHashMap<>();
 
     private final WebBeansUtil webBeansUtil = new WebBeansUtil(this);
     private final AlternativesManager alternativesManager = new AlternativesManager(this);
     private final AnnotatedElementFactory annotatedElementFactory = new AnnotatedElementFactory(this);
+    private final BeanMetadataPool beanMetadataPool = new BeanMetadataPool();
+    private final GenericsCache genericsCache = new GenericsCache();
     private final BeanManagerImpl beanManagerImpl = new BeanManagerImpl(this);
     private final CreationalContextFactory creationalContextFactory = new CreationalContextFactory(this);
     private final DecoratorsManager decoratorsManager = new DecoratorsManager(this);
@@ -105,6 +116,7 @@ public class WebBeansContext
     private final InjectionPointFactory injectionPointFactory;
     private final InterceptorUtil interceptorUtil = new InterceptorUtil(this);
     private final SecurityService securityService;
+    private final ReflectionCache reflectionCache;
     private final LoaderService loaderService;
     private BeanArchiveService beanArchiveService;
     private final InterceptorResolutionService interceptorResolutionService = new InterceptorResolutionService(this);
@@ -162,6 +174,7 @@ public class WebBeansContext
         injectionPointFactory = new InjectionPointFactory(this);
         loaderService = getService(LoaderService.class);
         securityService = getService(SecurityService.class);
+        reflectionCache = new ReflectionCache(securityService);
         applicationBoundaryService = getService(ApplicationBoundaryService.class);
 
         interceptorDecoratorProxyFactory = new InterceptorDecoratorProxyFactory(this);
@@ -202,11 +215,36 @@ public class WebBeansContext
 
     public <T> T getService(Class<T> clazz)
     {
-        T t = clazz.cast(serviceMap.get(clazz));
+        Object service = serviceMap.get(clazz);
+        if (service == NO_SERVICE)
+        {
+            return null;
+        }
+        if (service != null)
+        {
+            return clazz.cast(service);
+        }
+
+        T t = doServiceLoader(clazz);
         if (t == null)
         {
-            t = doServiceLoader(clazz);
-            registerService(clazz, t);
+            if (getPluginLoader().getPlugins() != null)
+            {
+                // only remember missing services once all plugins got a chance to provide them
+                serviceMap.putIfAbsent(clazz, NO_SERVICE);
+            }
+            return null;
+        }
+
+        Object existing = serviceMap.putIfAbsent(clazz, t);
+        if (existing != null && existing != NO_SERVICE)
+        {
+            // another thread has been faster, use the same instance everywhere
+            return clazz.cast(existing);
+        }
+        if (existing == NO_SERVICE)
+        {
+            serviceMap.put(clazz, t);
         }
         return t;
     }
@@ -278,6 +316,21 @@ public class WebBeansContext
         return annotatedElementFactory;
     }
 
+    public BeanMetadataPool getBeanMetadataPool()
+    {
+        return beanMetadataPool;
+    }
+
+    public GenericsCache getGenericsCache()
+    {
+        return genericsCache;
+    }
+
+    public ReflectionCache getReflectionCache()
+    {
+        return reflectionCache;
+    }
+
     public BeanManagerImpl getBeanManagerImpl()
     {
         return beanManagerImpl;
@@ -621,6 +674,9 @@ public class WebBeansContext
 
         managerMap.clear();
         serviceMap.clear();
+        beanMetadataPool.clear();
+        genericsCache.clear();
+        reflectionCache.clear();
     }
 
     private void destroyServices(Collection<Object> services)
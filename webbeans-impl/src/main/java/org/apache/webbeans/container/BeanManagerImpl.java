@@ -90,6 +90,7 @@ import org.apache.webbeans.event.EventMetadataImpl;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.DuplicateDefinitionException;
 
+import org.apache.webbeans.inject.impl.InjectionPlan;
 import org.apache.webbeans.intercept.InterceptorUtil;
 import org.apache.webbeans.plugins.OpenWebBeansJmsPlugin;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
@@ -223,6 +224,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
      */
     private Map<Bean<?>, Bean<?>> thirdPartyMapping = new HashMap<>();
 
+    /**
+     * Only set while a startup profile gets recorded.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#STARTUP_PROFILE_RECORD_SECONDS
+     */
+    private volatile StartupProfile startupProfile;
+
     /**
      * Creates a new {@link BeanManager} instance.
      * Called by the system. Do not use outside of the
@@ -269,6 +276,19 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         return injectionResolver;
     }
 
+    /**
+     * @return the startup profile which currently gets recorded or {@code null}
+     */
+    public StartupProfile getStartupProfile()
+    {
+        return startupProfile;
+    }
+
+    public void setStartupProfile(StartupProfile startupProfile)
+    {
+        this.startupProfile = startupProfile;
+    }
+
     /**
      * Gets the active context for the given scope type.
      *
@@ -648,10 +668,11 @@ public class BeanManagerImpl implements BeanManager, Referenceable
 
 
         //Find the injection point Bean
-        Bean<Object> injectedBean = (Bean<Object>)injectionResolver.getInjectionPointBean(injectionPoint);
+        InjectionPlan plan = injectionResolver.getInjectionPlan(injectionPoint);
+        Bean<Object> injectedBean = (Bean<Object>) plan.getBean();
 
 
-        if(WebBeansUtil.isDependent(injectedBean))
+        if(plan.isDependent())
         {
             if (!(ownerCreationalContext instanceof CreationalContextImpl))
             {
@@ -755,8 +776,8 @@ public class BeanManagerImpl implements BeanManager, Referenceable
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             if(!isProducer && // we have different rules for producers
                !isBeanTypeAssignableToGivenType(bean.getTypes(), beanType, bean instanceof NewBean, isProducer) &&
-               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()) &&
-               !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), new HashMap<>()))
+               !GenericsUtil.satisfiesDependency(false, isProducer, beanType, bean.getBeanClass(), null) &&
+               !GenericsUtil.satisfiesDependencyRaw(false, isProducer, beanType, bean.getBeanClass(), null))
             {
                 throw new IllegalArgumentException("Given bean type : " + beanType + " is not applicable for the bean instance : " + bean);
             }
@@ -934,7 +955,7 @@ public class BeanManagerImpl implements BeanManager, Referenceable
     {
         for (Type beanApiType : beanTypes)
         {
-            if (GenericsUtil.satisfiesDependency(false, producer, givenType, beanApiType, new HashMap<>()))
+            if (webBeansContext.getGenericsCache().satisfiesDependency(false, producer, givenType, beanApiType))
             {
                 return true;
             }
@@ -1468,6 +1489,12 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         deploymentBeans.clear();
         errorStack.clear();
         producersForJavaEeComponents.clear();
+        injectionResolver.storeResolutionCache();
+        StartupProfile recordedStartupProfile = startupProfile;
+        if (recordedStartupProfile != null)
+        {
+            recordedStartupProfile.store();
+        }
         passivationBeans.clear();
         webBeansContext.getInterceptorsManager().clear();
         webBeansContext.getDecoratorsManager().clear();
@@ -1485,6 +1512,15 @@ public class BeanManagerImpl implements BeanManager, Referenceable
         cacheProxies.clear();
     }
 
+    /**
+     * @return the normal scoped proxy which already got created for the given bean
+     *         via {@link #getReference(Bean, Type, CreationalContext)} or {@code null} if there is none yet.
+     */
+    public Object getCachedProxy(Bean<?> bean)
+    {
+        return cacheProxies.get(bean);
+    }
+
     public boolean isInUse()
     {
         return inUse;
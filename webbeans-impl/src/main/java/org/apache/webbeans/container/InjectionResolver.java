@@ -29,6 +29,8 @@ import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.inject.AlternativesManager;
+import org.apache.webbeans.inject.impl.InjectionPlan;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
 import org.apache.webbeans.spi.BDABeansXmlScanner;
 import org.apache.webbeans.spi.ScannerService;
@@ -47,6 +49,7 @@ import javax.enterprise.inject.UnproxyableResolutionException;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
@@ -54,13 +57,13 @@ import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -108,6 +111,19 @@ public class InjectionResolver
 
     private boolean fastMatching;
 
+    /**
+     * The resolutions of previous runs, if enabled.
+     * This gets set to {@code null} once the cache got stored, which might happen concurrently to a resolution.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#RESOLUTION_CACHE_FILE
+     */
+    private volatile PersistentResolutionCache persistentCache;
+
+    /**
+     * Gets incremented whenever the caches get cleared.
+     * {@link InjectionPlan}s of older generations get resolved again.
+     */
+    private final AtomicInteger cacheGeneration = new AtomicInteger();
+
     private Bean<Instance<Object>> instanceBean;
     private Bean<Event<Object>> eventBean;
 
@@ -134,6 +150,27 @@ public class InjectionResolver
     public void setStartup(boolean startup)
     {
         this.startup = startup;
+
+        String resolutionCacheFile = webBeansContext.getOpenWebBeansConfiguration().getResolutionCacheFile();
+        if (!startup && resolutionCacheFile != null)
+        {
+            // now the set of Beans is final
+            persistentCache = PersistentResolutionCache.load(new File(resolutionCacheFile), webBeansContext.getBeanManagerImpl());
+        }
+    }
+
+    /**
+     * Write the resolutions made so far to the resolution cache file, if enabled.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#RESOLUTION_CACHE_FILE
+     */
+    public void storeResolutionCache()
+    {
+        PersistentResolutionCache cache = persistentCache;
+        if (cache != null)
+        {
+            persistentCache = null;
+            cache.store();
+        }
     }
     
     /**
@@ -141,6 +178,7 @@ public class InjectionResolver
      */
     public void clearCaches()
     {
+        cacheGeneration.incrementAndGet();
         resolvedBeansByName.clear();
         resolvedBeansByType.clear();
     }
@@ -251,6 +289,15 @@ public class InjectionResolver
                 }
                 InjectionExceptionUtil.throwUnsatisfiedResolutionException(clazz, injectionPoint, qualifiers);
             }
+
+            // without BDA the resolution does not depend on the injectionPointClass,
+            // so the validated bean is exactly what the injection would resolve
+            if (!startup && injectionPoint instanceof InjectionPointImpl
+                    && !webBeansContext.getScannerService().isBDABeansXmlScanningEnabled())
+            {
+                ((InjectionPointImpl) injectionPoint).setInjectionPlan(
+                        new InjectionPlan(this, cacheGeneration.get(), webBeansContext.getBeanManagerImpl(), injectionPoint, bean));
+            }
         }
     }
 
@@ -262,6 +309,42 @@ public class InjectionResolver
      * @return bean for injection point
      */
     public Bean<?> getInjectionPointBean(InjectionPoint injectionPoint)
+    {
+        return getInjectionPlan(injectionPoint).getBean();
+    }
+
+    /**
+     * Returns the injection plan for the given injection point.
+     * After the startup the plan gets bound to the {@link InjectionPointImpl},
+     * so subsequent injections into the same point skip the resolution.
+     *
+     * @param injectionPoint injection point declaration
+     * @return the resolved injection plan
+     */
+    public InjectionPlan getInjectionPlan(InjectionPoint injectionPoint)
+    {
+        int generation = cacheGeneration.get();
+        InjectionPointImpl boundInjectionPoint = null;
+        if (injectionPoint instanceof InjectionPointImpl)
+        {
+            boundInjectionPoint = (InjectionPointImpl) injectionPoint;
+            InjectionPlan plan = boundInjectionPoint.getInjectionPlan();
+            if (plan != null && plan.isValidFor(this, generation))
+            {
+                return plan;
+            }
+        }
+
+        InjectionPlan plan = new InjectionPlan(this, generation, webBeansContext.getBeanManagerImpl(),
+                injectionPoint, resolveInjectionPointBean(injectionPoint));
+        if (!startup && boundInjectionPoint != null && plan.getBean() != null)
+        {
+            boundInjectionPoint.setInjectionPlan(plan);
+        }
+        return plan;
+    }
+
+    private Bean<?> resolveInjectionPointBean(InjectionPoint injectionPoint)
     {
 
         Type type = injectionPoint.getType();
@@ -460,6 +543,8 @@ public class InjectionResolver
 
         Set<Bean<?>> resolvedComponents;
         BeanCacheKey cacheKey = null;
+        String descriptor = null;
+        PersistentResolutionCache cache = null;
 
         if (!startup)
         {
@@ -473,6 +558,18 @@ public class InjectionResolver
             {
                 return resolvedComponents;
             }
+
+            cache = persistentCache;
+            if (cache != null)
+            {
+                descriptor = PersistentResolutionCache.descriptor(isDelegate, injectionPointType, bdaBeansXMLFilePath, qualifiers);
+                resolvedComponents = cache.get(descriptor);
+                if (resolvedComponents != null)
+                {
+                    resolvedBeansByType.put(cacheKey, resolvedComponents);
+                    return resolvedComponents;
+                }
+            }
         }
 
         resolvedComponents = new HashSet<>();
@@ -511,9 +608,9 @@ public class InjectionResolver
                     for (Type componentApiType : component.getTypes())
                     {
 
-                        if (GenericsUtil.satisfiesDependency(
+                        if (webBeansContext.getGenericsCache().satisfiesDependency(
                                 isDelegate, AbstractProducerBean.class.isInstance(component),
-                                injectionPointType, componentApiType, new HashMap<>()))
+                                injectionPointType, componentApiType))
                         {
                             resolvedComponents.add(component);
                             break;
@@ -559,6 +656,10 @@ public class InjectionResolver
         if (!startup && !resolvedComponents.isEmpty())
         {
             resolvedBeansByType.put(cacheKey, resolvedComponents);
+            if (cache != null)
+            {
+                cache.put(descriptor, resolvedComponents);
+            }
 
             if (logger.isLoggable(Level.FINE))
             {
@@ -598,7 +699,7 @@ public class InjectionResolver
             boolean isProducer = AbstractProducerBean.class.isInstance(bean);
             for (Type type : bean.getTypes())
             {
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, type, new HashMap<>()))
+                if (webBeansContext.getGenericsCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, type))
                 {
                     resolved.add(bean);
                 }
@@ -624,7 +725,7 @@ public class InjectionResolver
             for (Type componentApiType : component.getTypes())
             {
 
-                if (GenericsUtil.satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType, new HashMap<>()))
+                if (webBeansContext.getGenericsCache().satisfiesDependency(isDelegate, isProducer, injectionPointType, componentApiType))
                 {
                     resolvedComponents.add(component);
                     break;
@@ -0,0 +1,408 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.PassivationCapable;
+import java.io.ByteArrayInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the by-type resolutions of the {@link InjectionResolver} between container restarts.
+ *
+ * A resolution gets stored as a textual descriptor of the requested type and qualifiers
+ * together with the ids of the resolved beans. The file also contains a fingerprint of all
+ * the beans of the deployment. Stored resolutions only get used if the fingerprint
+ * still matches, that is if the very same beans got deployed again.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#RESOLUTION_CACHE_FILE
+ */
+final class PersistentResolutionCache
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(PersistentResolutionCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final File file;
+    private final String fingerprint;
+    private final BeanManagerImpl beanManager;
+
+    /**
+     * The resolutions of the previous run, key is the descriptor of the resolution.
+     */
+    private final Map<String, String[]> storedResolutions;
+
+    /**
+     * Resolutions made during this run.
+     */
+    private final Map<String, String[]> newResolutions = new ConcurrentHashMap<>();
+
+    private PersistentResolutionCache(File file, String fingerprint, BeanManagerImpl beanManager,
+                                      Map<String, String[]> storedResolutions)
+    {
+        this.file = file;
+        this.fingerprint = fingerprint;
+        this.beanManager = beanManager;
+        this.storedResolutions = storedResolutions;
+    }
+
+    /**
+     * @return the cache for the current deployment or {@code null} if the deployment
+     *         contains beans which cannot be identified across restarts
+     */
+    static PersistentResolutionCache load(File file, BeanManagerImpl beanManager)
+    {
+        String fingerprint = fingerprint(beanManager.getBeans());
+        if (fingerprint == null)
+        {
+            logger.fine("Not all beans have an id, the resolution cache will not be used");
+            return null;
+        }
+
+        Map<String, String[]> storedResolutions = Collections.emptyMap();
+        if (file.isFile())
+        {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath()))))
+            {
+                if (in.readInt() == FORMAT_VERSION && fingerprint.equals(in.readUTF()))
+                {
+                    int size = in.readInt();
+                    storedResolutions = new HashMap<>(size * 4 / 3 + 1);
+                    for (int i = 0; i < size; i++)
+                    {
+                        String descriptor = in.readUTF();
+                        String[] ids = new String[in.readInt()];
+                        for (int j = 0; j < ids.length; j++)
+                        {
+                            ids[j] = in.readUTF();
+                        }
+                        storedResolutions.put(descriptor, ids);
+                    }
+                }
+                else
+                {
+                    logger.fine("The deployment changed, ignoring the resolution cache " + file);
+                }
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.WARNING, "Could not read the resolution cache " + file, e);
+                storedResolutions = Collections.emptyMap();
+            }
+        }
+
+        return new PersistentResolutionCache(file, fingerprint, beanManager, storedResolutions);
+    }
+
+    /**
+     * @return the beans which got resolved for the given descriptor in a previous run
+     *         or {@code null} if the resolution is not known
+     */
+    Set<Bean<?>> get(String descriptor)
+    {
+        String[] ids = storedResolutions.get(descriptor);
+        if (ids == null)
+        {
+            return null;
+        }
+
+        Set<Bean<?>> beans = new HashSet<>(ids.length * 4 / 3 + 1);
+        for (String id : ids)
+        {
+            Bean<?> bean = beanManager.getPassivationCapableBean(id);
+            if (bean == null)
+            {
+                return null;
+            }
+            beans.add(bean);
+        }
+        return beans;
+    }
+
+    /**
+     * Remember a resolution made in this run.
+     * Resolutions containing beans which cannot be looked up by their id are ignored.
+     */
+    void put(String descriptor, Set<Bean<?>> beans)
+    {
+        if (storedResolutions.containsKey(descriptor))
+        {
+            return;
+        }
+
+        String[] ids = new String[beans.size()];
+        int i = 0;
+        for (Bean<?> bean : beans)
+        {
+            String id = getId(bean);
+            if (id == null || beanManager.getPassivationCapableBean(id) != bean)
+            {
+                // e.g. the special Instance or Event beans
+                return;
+            }
+            ids[i++] = id;
+        }
+        newResolutions.putIfAbsent(descriptor, ids);
+    }
+
+    /**
+     * Write all known resolutions to the file.
+     */
+    void store()
+    {
+        if (newResolutions.isEmpty())
+        {
+            // nothing new learned
+            return;
+        }
+
+        Map<String, String[]> resolutions = new HashMap<>(storedResolutions);
+        resolutions.putAll(newResolutions);
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+        {
+            logger.warning("Could not create the directory for the resolution cache " + file);
+            return;
+        }
+
+        // write to a temporary file first, so that nobody ever reads a half written cache
+        File tempFile = null;
+        try
+        {
+            tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+            write(tempFile, resolutions);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not write the resolution cache " + file, e);
+            if (tempFile != null && tempFile.exists() && !tempFile.delete())
+            {
+                logger.fine("Could not delete the temporary resolution cache " + tempFile);
+            }
+        }
+    }
+
+    private void write(File target, Map<String, String[]> resolutions) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target))))
+        {
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(fingerprint);
+            out.writeInt(resolutions.size());
+            for (Map.Entry<String, String[]> resolution : resolutions.entrySet())
+            {
+                out.writeUTF(resolution.getKey());
+                out.writeInt(resolution.getValue().length);
+                for (String id : resolution.getValue())
+                {
+                    out.writeUTF(id);
+                }
+            }
+        }
+    }
+
+    /**
+     * A textual representation of a by-type resolution which is stable across restarts.
+     */
+    static String descriptor(boolean isDelegate, Type type, String bdaBeansXmlPath, Annotation[] qualifiers)
+    {
+        StringBuilder descriptor = new StringBuilder();
+        descriptor.append(isDelegate ? 'D' : 'T').append(';');
+        appendType(descriptor, type);
+        descriptor.append(';');
+        if (bdaBeansXmlPath != null)
+        {
+            descriptor.append(bdaBeansXmlPath);
+        }
+
+        String[] qualifierNames = new String[qualifiers.length];
+        for (int i = 0; i < qualifiers.length; i++)
+        {
+            qualifierNames[i] = qualifiers[i].toString();
+        }
+        Arrays.sort(qualifierNames);
+        for (String qualifier : qualifierNames)
+        {
+            descriptor.append(';').append(qualifier);
+        }
+        return descriptor.toString();
+    }
+
+    private static void appendType(StringBuilder descriptor, Type type)
+    {
+        if (type instanceof Class)
+        {
+            descriptor.append(((Class<?>) type).getName());
+        }
+        else if (type instanceof ParameterizedType)
+        {
+            ParameterizedType parameterizedType = (ParameterizedType) type;
+            appendType(descriptor, parameterizedType.getRawType());
+            descriptor.append('<');
+            appendTypes(descriptor, parameterizedType.getActualTypeArguments());
+            descriptor.append('>');
+        }
+        else if (type instanceof GenericArrayType)
+        {
+            appendType(descriptor, ((GenericArrayType) type).getGenericComponentType());
+            descriptor.append("[]");
+        }
+        else if (type instanceof WildcardType)
+        {
+            WildcardType wildcardType = (WildcardType) type;
+            descriptor.append("? extends ");
+            appendTypes(descriptor, wildcardType.getUpperBounds());
+            descriptor.append(" super ");
+            appendTypes(descriptor, wildcardType.getLowerBounds());
+        }
+        else if (type instanceof TypeVariable)
+        {
+            TypeVariable<?> typeVariable = (TypeVariable<?>) type;
+            descriptor.append(typeVariable.getGenericDeclaration()).append('#').append(typeVariable.getName());
+        }
+        else
+        {
+            descriptor.append(type);
+        }
+    }
+
+    private static void appendTypes(StringBuilder descriptor, Type[] types)
+    {
+        for (int i = 0; i < types.length; i++)
+        {
+            if (i > 0)
+            {
+                descriptor.append(',');
+            }
+            appendType(descriptor, types[i]);
+        }
+    }
+
+    /**
+     * @return a hash over all the beans and their types and qualifiers,
+     *         or {@code null} if some enabled bean has no id
+     */
+    private static String fingerprint(Collection<Bean<?>> beans)
+    {
+        List<String> beanDescriptors = new ArrayList<>(beans.size());
+        for (Bean<?> bean : beans)
+        {
+            if (bean instanceof OwbBean && !((OwbBean<?>) bean).isEnabled())
+            {
+                continue;
+            }
+
+            String id = getId(bean);
+            if (id == null)
+            {
+                return null;
+            }
+
+            StringBuilder beanDescriptor = new StringBuilder(id).append('|').append(bean.isAlternative());
+            List<String> types = new ArrayList<>(bean.getTypes().size());
+            for (Type type : bean.getTypes())
+            {
+                StringBuilder typeDescriptor = new StringBuilder();
+                appendType(typeDescriptor, type);
+                types.add(typeDescriptor.toString());
+            }
+            Collections.sort(types);
+            beanDescriptor.append('|').append(types);
+
+            List<String> qualifiers = new ArrayList<>(bean.getQualifiers().size());
+            for (Annotation qualifier : bean.getQualifiers())
+            {
+                qualifiers.add(qualifier.toString());
+            }
+            Collections.sort(qualifiers);
+            beanDescriptor.append('|').append(qualifiers);
+
+            beanDescriptors.add(beanDescriptor.toString());
+        }
+        Collections.sort(beanDescriptors);
+
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String beanDescriptor : beanDescriptors)
+            {
+                digest.update(beanDescriptor.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest.digest())
+            {
+                fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return fingerprint.toString();
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            logger.log(Level.FINE, "SHA-256 is not available, the resolution cache will not be used", e);
+            return null;
+        }
+    }
+
+    private static String getId(Bean<?> bean)
+    {
+        if (bean instanceof OwbBean)
+        {
+            return ((OwbBean<?>) bean).getId();
+        }
+        if (bean instanceof PassivationCapable)
+        {
+            return ((PassivationCapable) bean).getId();
+        }
+        return null;
+    }
+}
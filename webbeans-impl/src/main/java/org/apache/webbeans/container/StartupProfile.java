@@ -0,0 +1,387 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.webbeans.util.WebBeansUtil;
+
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.PassivationCapable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Records which beans, normal scoped proxies and event types get used right after the deployment
+ * and initialises exactly those at the end of the next deployment.
+ *
+ * In a training run the profile gets recorded for a configured number of seconds after the
+ * deployment and then written to the profile file by a background thread, or on shutdown if that
+ * comes first. The file contains one line per entry in the order the entries got used first.
+ * A deployment which finds the file initialises the classes of the recorded beans, generates
+ * their normal scoped proxy classes and resolves the observer methods of the recorded event types,
+ * in parallel, before the deployment ends.
+ *
+ * Initialising the classes is what saves the time, so the static initialisers of the recorded
+ * bean and event classes run on the OWB-startup-* worker threads during the deployment.
+ * No bean instances get created and no other user code gets invoked.
+ *
+ * Entries which cannot be found anymore are ignored, thus an outdated profile does no harm.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#STARTUP_PROFILE_FILE
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#STARTUP_PROFILE_RECORD_SECONDS
+ */
+public final class StartupProfile
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(StartupProfile.class);
+
+    private static final String HEADER = "# OpenWebBeans startup profile";
+    private static final String BEAN = "bean";
+    private static final String PROXY = "proxy";
+    private static final String EVENT = "event";
+
+    private final File file;
+    private final BeanManagerImpl beanManager;
+
+    private final Set<Bean<?>> createdBeans = ConcurrentHashMap.newKeySet();
+    private final Set<Bean<?>> proxiedBeans = ConcurrentHashMap.newKeySet();
+    private final Set<Class<?>> eventClasses = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The recorded entries in the order they got used first.
+     */
+    private final Queue<String> entries = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean stored = new AtomicBoolean();
+
+    /**
+     * Writes the profile once the recording time is over,
+     * so the file I/O never happens on a thread which uses a bean.
+     */
+    private final ScheduledExecutorService storeScheduler;
+
+    private StartupProfile(File file, BeanManagerImpl beanManager)
+    {
+        this.file = file;
+        this.beanManager = beanManager;
+        storeScheduler = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "OWB-startup-profile");
+            // don't keep the application ClassLoader of the deploying thread
+            thread.setContextClassLoader(null);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start recording what gets used in the given number of seconds from now on.
+     */
+    public static StartupProfile record(File file, BeanManagerImpl beanManager, int seconds)
+    {
+        StartupProfile profile = new StartupProfile(file, beanManager);
+        profile.storeScheduler.schedule(profile::store, seconds, TimeUnit.SECONDS);
+        return profile;
+    }
+
+    /**
+     * Initialise everything contained in the given profile file.
+     * This runs the static initialisers of the recorded classes.
+     * This method only returns after all entries got processed.
+     */
+    public static void replay(File file, WebBeansContext webBeansContext)
+    {
+        if (!file.isFile())
+        {
+            logger.fine("There is no startup profile " + file);
+            return;
+        }
+
+        List<Runnable> tasks = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8))
+        {
+            for (String line = reader.readLine(); line != null; line = reader.readLine())
+            {
+                int separator = line.indexOf(' ');
+                if (line.startsWith("#") || separator < 0)
+                {
+                    continue;
+                }
+
+                Runnable task = createTask(webBeansContext, line.substring(0, separator), line.substring(separator + 1));
+                if (task != null)
+                {
+                    tasks.add(task);
+                }
+            }
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not read the startup profile " + file, e);
+            return;
+        }
+
+        run(tasks);
+    }
+
+    private static Runnable createTask(WebBeansContext webBeansContext, String kind, String value)
+    {
+        switch (kind)
+        {
+            case BEAN:
+            {
+                Bean<?> bean = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(value);
+                if (bean == null)
+                {
+                    return null;
+                }
+                return () ->
+                {
+                    initialize(bean.getBeanClass());
+                    initialize(webBeansContext.getInterceptorDecoratorProxyFactory().getCachedProxyClass(bean));
+                };
+            }
+            case PROXY:
+            {
+                Bean<?> bean = webBeansContext.getBeanManagerImpl().getPassivationCapableBean(value);
+                if (bean == null || !webBeansContext.getBeanManagerImpl().isNormalScope(bean.getScope()))
+                {
+                    return null;
+                }
+                return () -> webBeansContext.getNormalScopeProxyFactory().getProxyClass(bean);
+            }
+            case EVENT:
+                return () ->
+                {
+                    Class<?> eventClass = loadClass(value);
+                    if (eventClass != null)
+                    {
+                        webBeansContext.getNotificationManager().prepareObservers(eventClass);
+                    }
+                };
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Run the given tasks on one thread per available processor and wait for all of them.
+     */
+    private static void run(List<Runnable> tasks)
+    {
+        int threads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        if (threads <= 1)
+        {
+            tasks.forEach(StartupProfile::runTask);
+            return;
+        }
+
+        // the worker threads must see the same WebBeansContext as the deploying thread
+        ClassLoader classLoader = WebBeansUtil.getCurrentClassLoader();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable ->
+        {
+            Thread thread = new Thread(runnable, "OWB-startup-" + threadCount.incrementAndGet());
+            thread.setContextClassLoader(classLoader);
+            thread.setDaemon(true);
+            return thread;
+        });
+        try
+        {
+            // keep the recorded order, the first entries are the most urgent ones
+            tasks.forEach(task -> executor.execute(() -> runTask(task)));
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void runTask(Runnable task)
+    {
+        try
+        {
+            task.run();
+        }
+        catch (RuntimeException | LinkageError e)
+        {
+            // it just doesn't get initialised upfront
+            logger.log(Level.FINE, "Could not initialise a startup profile entry", e);
+        }
+    }
+
+    private static void initialize(Class<?> clazz)
+    {
+        if (clazz != null)
+        {
+            loadClass(clazz.getName(), clazz.getClassLoader());
+        }
+    }
+
+    private static Class<?> loadClass(String className)
+    {
+        return loadClass(className, WebBeansUtil.getCurrentClassLoader());
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader)
+    {
+        try
+        {
+            // initialise it as well, that's what takes the time
+            return Class.forName(className, true, classLoader);
+        }
+        catch (ClassNotFoundException e)
+        {
+            return null;
+        }
+    }
+
+    /**
+     * A contextual instance of the given bean got created.
+     */
+    public void beanCreated(Bean<?> bean)
+    {
+        if (recording() && createdBeans.add(bean))
+        {
+            add(BEAN, bean);
+        }
+    }
+
+    /**
+     * A normal scoped proxy for the given bean got created.
+     */
+    public void proxyCreated(Bean<?> bean)
+    {
+        if (recording() && proxiedBeans.add(bean))
+        {
+            add(PROXY, bean);
+        }
+    }
+
+    /**
+     * The observer methods for the given raw event type got resolved.
+     */
+    public void observersResolved(Class<?> eventClass)
+    {
+        if (recording() && eventClasses.add(eventClass))
+        {
+            entries.add(EVENT + ' ' + eventClass.getName());
+        }
+    }
+
+    private boolean recording()
+    {
+        return !stored.get();
+    }
+
+    private void add(String kind, Bean<?> bean)
+    {
+        String id = getId(bean);
+        if (id != null && beanManager.getPassivationCapableBean(id) == bean)
+        {
+            entries.add(kind + ' ' + id);
+        }
+    }
+
+    /**
+     * Write the recorded profile to the file and stop recording.
+     * Only the first invocation has an effect.
+     */
+    public void store()
+    {
+        if (!stored.compareAndSet(false, true))
+        {
+            return;
+        }
+        beanManager.setStartupProfile(null);
+        storeScheduler.shutdown();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+        {
+            logger.warning("Could not create the directory for the startup profile " + file);
+            return;
+        }
+
+        // write to a temporary file first, so that the next start never reads a half written profile
+        File tempFile = null;
+        try
+        {
+            tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8))
+            {
+                writer.write(HEADER);
+                writer.newLine();
+                for (String entry : entries)
+                {
+                    writer.write(entry);
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not write the startup profile " + file, e);
+            if (tempFile != null && tempFile.exists() && !tempFile.delete())
+            {
+                logger.fine("Could not delete the temporary startup profile " + tempFile);
+            }
+        }
+    }
+
+    private static String getId(Bean<?> bean)
+    {
+        if (bean instanceof OwbBean)
+        {
+            return ((OwbBean<?>) bean).getId();
+        }
+        if (bean instanceof PassivationCapable)
+        {
+            return ((PassivationCapable) bean).getId();
+        }
+        return null;
+    }
+}
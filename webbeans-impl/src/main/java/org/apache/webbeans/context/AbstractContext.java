@@ -25,9 +25,7 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.context.ContextNotActiveException;
@@ -67,9 +65,10 @@ public abstract class AbstractContext implements AlterableContext, Serializable
     {
         BeanInstanceBag<T> bag = new BeanInstanceBag<>(creationalContext);
         
-        if(componentInstanceMap instanceof ConcurrentMap)
+        Map<Contextual<?>, BeanInstanceBag<?>> instanceMap = getWritableComponentInstanceMap();
+        if(instanceMap instanceof ConcurrentMap)
         {
-            BeanInstanceBag<?> existingBag = ((ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>) componentInstanceMap).putIfAbsent(contextual, bag);
+            BeanInstanceBag<?> existingBag = ((ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>) instanceMap).putIfAbsent(contextual, bag);
             if (existingBag != null)
             {
                 bag = (BeanInstanceBag<T>) existingBag;
@@ -77,7 +76,7 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         }
         else
         {
-            componentInstanceMap.put(contextual, bag);
+            instanceMap.put(contextual, bag);
         }
 
         return bag;
@@ -212,10 +211,14 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      */
     public void destroy()
     {
-        Set<Contextual<?>> keySet = new HashSet<>(componentInstanceMap.keySet());
-        for (Contextual<?> contextual: keySet)
+        if (!componentInstanceMap.isEmpty())
         {
-            destroyInstance(contextual);
+            // copy the keys, destroying an instance removes it from the map
+            Object[] contextuals = componentInstanceMap.keySet().toArray();
+            for (Object contextual : contextuals)
+            {
+                destroyInstance((Contextual<?>) contextual);
+            }
         }
         setActive(false);
     }
@@ -255,6 +258,18 @@ public abstract class AbstractContext implements AlterableContext, Serializable
      * {@inheritDoc}
      */
     protected abstract void setComponentInstanceMap();
+
+    /**
+     * The map new contextual instances get stored in.
+     * Contexts which allocate their componentInstanceMap lazily
+     * can override this method to create it on first write access.
+     *
+     * @return the componentInstanceMap
+     */
+    protected Map<Contextual<?>, BeanInstanceBag<?>> getWritableComponentInstanceMap()
+    {
+        return componentInstanceMap;
+    }
     
     /**
      * Check that context is active or throws exception.
@@ -314,7 +329,8 @@ public abstract class AbstractContext implements AlterableContext, Serializable
         if (serializableInstanceMap != null)
         {
             setComponentInstanceMap();
-            if (componentInstanceMap == null)
+            Map<Contextual<?>, BeanInstanceBag<?>> instanceMap = getWritableComponentInstanceMap();
+            if (instanceMap == null)
             {
                 throw new NotSerializableException("componentInstanceMap not initialized!");
             }
@@ -324,11 +340,11 @@ public abstract class AbstractContext implements AlterableContext, Serializable
                 Contextual<?> bean = serializableInstanceMapEntry.getKey();
                 if (bean instanceof SerializableBean)
                 {
-                    componentInstanceMap.put(((SerializableBean<?>)bean).getBean(), serializableInstanceMapEntry.getValue());
+                    instanceMap.put(((SerializableBean<?>)bean).getBean(), serializableInstanceMapEntry.getValue());
                 }
                 else
                 {
-                    componentInstanceMap.put(bean, serializableInstanceMapEntry.getValue());
+                    instanceMap.put(bean, serializableInstanceMapEntry.getValue());
                 }
             }
         }
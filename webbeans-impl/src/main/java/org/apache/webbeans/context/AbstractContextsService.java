@@ -19,8 +19,12 @@
 package org.apache.webbeans.context;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.ContextException;
 import javax.enterprise.context.SessionScoped;
@@ -43,17 +47,42 @@ public abstract class AbstractContextsService implements ContextsService
 
     protected Boolean fireRequestLifecycleEvents;
 
+    /**
+     * Destroyed RequestContexts which can get reused on the same thread.
+     * {@code null} if recycling is disabled.
+     * The contexts are wrapped in a JDK holder, so pooled threads which outlive the container
+     * only keep an empty holder once {@link #releaseRecycledRequestContexts()} ran
+     * instead of pinning the WebBeansContext and the application ClassLoader.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#RECYCLE_REQUEST_CONTEXTS
+     */
+    private final ThreadLocal<AtomicReference<RequestContext>> recycledRequestContexts;
+
+    /**
+     * The holders of all threads which recycled a RequestContext.
+     * Weak, so the holders of terminated threads don't stay around.
+     */
+    private final Set<AtomicReference<RequestContext>> recycledRequestContextHolders;
+
     protected AbstractContextsService(WebBeansContext webBeansContext)
     {
         this.webBeansContext = webBeansContext;
         supportsConversation = webBeansContext.getOpenWebBeansConfiguration().supportsConversation();
-
+        if (webBeansContext.getOpenWebBeansConfiguration().recycleRequestContexts())
+        {
+            recycledRequestContexts = new ThreadLocal<>();
+            recycledRequestContextHolders = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        }
+        else
+        {
+            recycledRequestContexts = null;
+            recycledRequestContextHolders = null;
+        }
     }
 
     @Override
     public void destroy(Object destroyObject)
     {
-        //Default no-op
+        releaseRecycledRequestContexts();
     }
 
     @Override
@@ -90,7 +119,10 @@ public abstract class AbstractContextsService implements ContextsService
     @Override
     public void removeThreadLocals()
     {
-        // no ThreadLocals to clean up by default
+        if (recycledRequestContexts != null)
+        {
+            recycledRequestContexts.remove();
+        }
     }
 
     @Override
@@ -143,6 +175,82 @@ public abstract class AbstractContextsService implements ContextsService
         return supportsConversation;
     }
 
+    /**
+     * Either reuses a previously recycled RequestContext of the current thread
+     * or creates a new one via the given factory.
+     * The returned context is not yet active.
+     */
+    @SuppressWarnings("unchecked")
+    protected <T extends RequestContext> T newRequestContext(Supplier<T> factory)
+    {
+        if (recycledRequestContexts != null)
+        {
+            AtomicReference<RequestContext> holder = recycledRequestContexts.get();
+            if (holder != null)
+            {
+                RequestContext recycled = holder.getAndSet(null);
+                if (recycled != null)
+                {
+                    return (T) recycled;
+                }
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Hand back a destroyed RequestContext so it can get reused for the next request on this thread.
+     * This is a no-op if recycling is disabled.
+     */
+    protected void recycleRequestContext(RequestContext requestContext)
+    {
+        if (recycledRequestContexts != null && requestContext != null)
+        {
+            requestContext.reset();
+            AtomicReference<RequestContext> holder = recycledRequestContexts.get();
+            if (holder == null)
+            {
+                holder = new AtomicReference<>();
+                recycledRequestContexts.set(holder);
+                recycledRequestContextHolders.add(holder);
+            }
+            holder.set(requestContext);
+        }
+    }
+
+    /**
+     * Drop the recycled RequestContexts of all threads.
+     * Must get invoked when the container shuts down, as pooled threads would otherwise
+     * keep the recycled contexts and with them the whole application alive.
+     */
+    protected void releaseRecycledRequestContexts()
+    {
+        if (recycledRequestContextHolders != null)
+        {
+            synchronized (recycledRequestContextHolders)
+            {
+                for (AtomicReference<RequestContext> holder : recycledRequestContextHolders)
+                {
+                    holder.set(null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unbind the RequestContext from the current thread once the request ended.
+     * If RequestContexts get recycled the ThreadLocal entry is kept as the thread
+     * holds on to the recycled context anyway. This saves re-creating the entry for each request.
+     */
+    protected void unbindRequestContext(ThreadLocal<? extends RequestContext> requestContexts)
+    {
+        requestContexts.set(null);
+        if (recycledRequestContexts == null)
+        {
+            requestContexts.remove();
+        }
+    }
+
     protected boolean shouldFireRequestLifecycleEvents()
     {
         if (fireRequestLifecycleEvents == null)
@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import java.lang.annotation.Annotation;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+
+/**
+ * A compact componentInstanceMap for contexts which exist in huge numbers, e.g. one per session.
+ * Instead of hash buckets and nodes it only holds a single array with one slot per bean of the scope.
+ * The slot of a bean is its contextual instance slot, which is dense per scope.
+ * Contextuals which are no Bean of the scope get stored in a small overflow map.
+ *
+ * Writes are synchronized. Reads of a slot are lock free and may miss a concurrently
+ * stored bag, which is fine as callers fall back to {@link #putIfAbsent(Object, Object)}.
+ *
+ * {@link #entrySet()}, {@link #keySet()} and {@link #values()} are read-only snapshots.
+ * They don't reflect later changes and removing via them or their iterators throws an
+ * {@link UnsupportedOperationException}. Use {@link #remove(Object)} instead.
+ *
+ * @see NormalScopeProxyFactory#getContextualInstanceSlot(Bean)
+ */
+final class ContextualInstanceSlotMap extends AbstractMap<Contextual<?>, BeanInstanceBag<?>>
+        implements ConcurrentMap<Contextual<?>, BeanInstanceBag<?>>
+{
+    private final NormalScopeProxyFactory slotFactory;
+    private final Class<? extends Annotation> scope;
+
+    /**
+     * The contextual of a slot at index {@code 2 * slot} and its bag at {@code 2 * slot + 1}.
+     * Only gets created once the first bag gets stored.
+     */
+    private volatile Object[] entries;
+
+    /**
+     * Contextuals without a slot, guarded by this.
+     */
+    private Map<Contextual<?>, BeanInstanceBag<?>> others;
+
+    private volatile int size;
+
+    ContextualInstanceSlotMap(NormalScopeProxyFactory slotFactory, Class<? extends Annotation> scope)
+    {
+        this.slotFactory = slotFactory;
+        this.scope = scope;
+    }
+
+    private int slotOf(Object contextual)
+    {
+        if (contextual instanceof Bean && scope.equals(((Bean<?>) contextual).getScope()))
+        {
+            return slotFactory.getContextualInstanceSlot((Bean<?>) contextual);
+        }
+        return -1;
+    }
+
+    @Override
+    public BeanInstanceBag<?> get(Object contextual)
+    {
+        int slot = slotOf(contextual);
+        if (slot < 0)
+        {
+            synchronized (this)
+            {
+                return others != null ? others.get(contextual) : null;
+            }
+        }
+
+        Object[] slots = entries;
+        int index = slot * 2;
+        if (slots == null || index >= slots.length)
+        {
+            return null;
+        }
+        Object bag = slots[index + 1];
+        return bag != null && contextual.equals(slots[index]) ? (BeanInstanceBag<?>) bag : null;
+    }
+
+    @Override
+    public boolean containsKey(Object contextual)
+    {
+        return get(contextual) != null;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> put(Contextual<?> contextual, BeanInstanceBag<?> bag)
+    {
+        int slot = slotOf(contextual);
+        if (slot < 0)
+        {
+            if (others == null)
+            {
+                others = new HashMap<>();
+            }
+            BeanInstanceBag<?> old = others.put(contextual, bag);
+            if (old == null)
+            {
+                size++;
+            }
+            return old;
+        }
+
+        int index = slot * 2;
+        Object[] slots = entries;
+        if (slots == null)
+        {
+            // all beans of the scope got their slot during the deployment, so this usually is the final size
+            slots = new Object[Math.max(slot + 1, slotFactory.getContextualInstanceSlotCount(scope)) * 2];
+        }
+        else if (index >= slots.length)
+        {
+            slots = Arrays.copyOf(slots, index + 2);
+        }
+
+        BeanInstanceBag<?> old = (BeanInstanceBag<?>) slots[index + 1];
+        slots[index] = contextual;
+        slots[index + 1] = bag;
+        if (old == null)
+        {
+            size++;
+        }
+
+        // publishes the slot to lock free readers
+        entries = slots;
+        return old;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> putIfAbsent(Contextual<?> contextual, BeanInstanceBag<?> bag)
+    {
+        BeanInstanceBag<?> existing = get(contextual);
+        if (existing != null)
+        {
+            return existing;
+        }
+        put(contextual, bag);
+        return null;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> remove(Object contextual)
+    {
+        int slot = slotOf(contextual);
+        if (slot < 0)
+        {
+            BeanInstanceBag<?> old = others != null ? others.remove(contextual) : null;
+            if (old != null)
+            {
+                size--;
+            }
+            return old;
+        }
+
+        BeanInstanceBag<?> old = get(contextual);
+        if (old != null)
+        {
+            Object[] slots = entries;
+            slots[slot * 2] = null;
+            slots[slot * 2 + 1] = null;
+            size--;
+            entries = slots;
+        }
+        return old;
+    }
+
+    @Override
+    public synchronized boolean remove(Object contextual, Object bag)
+    {
+        if (bag != null && bag.equals(get(contextual)))
+        {
+            remove(contextual);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean replace(Contextual<?> contextual, BeanInstanceBag<?> oldBag, BeanInstanceBag<?> newBag)
+    {
+        if (oldBag != null && oldBag.equals(get(contextual)))
+        {
+            put(contextual, newBag);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized BeanInstanceBag<?> replace(Contextual<?> contextual, BeanInstanceBag<?> bag)
+    {
+        return get(contextual) != null ? put(contextual, bag) : null;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        Object[] slots = entries;
+        if (slots != null)
+        {
+            Arrays.fill(slots, null);
+            entries = slots;
+        }
+        others = null;
+        size = 0;
+    }
+
+    /**
+     * @return a read-only snapshot of the current entries
+     */
+    @Override
+    public synchronized Set<Entry<Contextual<?>, BeanInstanceBag<?>>> entrySet()
+    {
+        Map<Contextual<?>, BeanInstanceBag<?>> snapshot = others != null ? new HashMap<>(others) : new HashMap<>();
+        Object[] slots = entries;
+        if (slots != null)
+        {
+            for (int i = 0; i < slots.length; i += 2)
+            {
+                if (slots[i + 1] != null)
+                {
+                    snapshot.put((Contextual<?>) slots[i], (BeanInstanceBag<?>) slots[i + 1]);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+}
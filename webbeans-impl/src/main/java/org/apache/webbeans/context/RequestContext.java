@@ -18,12 +18,15 @@
  */
 package org.apache.webbeans.context;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Map;
 
 import javax.enterprise.context.RequestScoped;
 import javax.enterprise.context.spi.Contextual;
 
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
 
 /**
  * Request context implementation.
@@ -44,6 +47,13 @@ public class RequestContext extends AbstractContext
      */
     private Object httpSession;
 
+    /**
+     * Contextual instances indexed by their slot.
+     * This is a pure lookup cache on top of the componentInstanceMap.
+     * @see org.apache.webbeans.proxy.NormalScopeProxyFactory#getContextualInstanceSlot
+     */
+    private transient Object[] slotInstances;
+
     /*
     * Constructor
     */
@@ -52,10 +62,24 @@ public class RequestContext extends AbstractContext
         super(RequestScoped.class);
     }
 
+    /**
+     * Most requests never touch a &#064;RequestScoped bean.
+     * We thus only allocate the real componentInstanceMap once the first bean gets stored.
+     */
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new HashMap<>();
+        componentInstanceMap = Collections.emptyMap();
+    }
+
+    @Override
+    protected Map<Contextual<?>, BeanInstanceBag<?>> getWritableComponentInstanceMap()
+    {
+        if (componentInstanceMap.isEmpty() && !(componentInstanceMap instanceof HashMap))
+        {
+            componentInstanceMap = new HashMap<>();
+        }
+        return componentInstanceMap;
     }
 
     /**
@@ -97,10 +121,95 @@ public class RequestContext extends AbstractContext
         this.httpSession = httpSession;
     }
 
+    /**
+     * @param slot the slot index of the bean
+     * @return the contextual instance stored in the given slot or {@code null} if none got stored yet
+     */
+    public Object getSlotInstance(int slot)
+    {
+        Object[] instances = slotInstances;
+        return instances != null && slot < instances.length ? instances[slot] : null;
+    }
+
+    /**
+     * Store a contextual instance of this context in the given slot.
+     * The instance must already be managed by this context.
+     */
+    public void setSlotInstance(int slot, Object instance)
+    {
+        Object[] instances = slotInstances;
+        if (instances == null)
+        {
+            instances = new Object[Math.max(16, slot + 1)];
+            slotInstances = instances;
+        }
+        else if (slot >= instances.length)
+        {
+            instances = Arrays.copyOf(instances, Math.max(instances.length * 2, slot + 1));
+            slotInstances = instances;
+        }
+        instances[slot] = instance;
+    }
+
+    @Override
+    public void destroyInstance(Contextual<?> contextual)
+    {
+        Object[] instances = slotInstances;
+        if (instances != null)
+        {
+            BeanInstanceBag<?> bag = componentInstanceMap.get(contextual);
+            Object instance = bag != null ? bag.getBeanInstance() : null;
+            if (instance != null)
+            {
+                // we don't know the slot of the contextual, so we clear the one holding its instance.
+                // the array itself stays, destroy() runs through here and a recycled context needs it again
+                for (int i = 0; i < instances.length; i++)
+                {
+                    if (instances[i] == instance)
+                    {
+                        instances[i] = null;
+                    }
+                }
+            }
+        }
+        super.destroyInstance(contextual);
+    }
+
     @Override
-    public void destroy(Contextual<?> contextual)
+    public void destroy()
+    {
+        super.destroy();
+        Object[] instances = slotInstances;
+        if (instances != null)
+        {
+            // keep the array, a recycled context will need it again
+            Arrays.fill(instances, null);
+        }
+    }
+
+    /**
+     * Bring a destroyed RequestContext back into its initial state,
+     * so that it can be reused for another request on the same thread.
+     * The context is inactive afterwards.
+     */
+    public void reset()
     {
-        super.destroy(contextual);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        setActive(false);
+        if (componentInstanceMap instanceof HashMap)
+        {
+            // reset in place, so the next request doesn't need to allocate a new map
+            componentInstanceMap.clear();
+        }
+        else
+        {
+            setComponentInstanceMap();
+        }
+        Object[] instances = slotInstances;
+        if (instances != null)
+        {
+            Arrays.fill(instances, null);
+        }
+        propagatedSessionContext = null;
+        httpSession = null;
     }
 }
@@ -18,12 +18,22 @@
  */
 package org.apache.webbeans.context;
 
+import java.io.IOException;
+import java.io.ObjectInput;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.SessionScoped;
 import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
 
+import org.apache.webbeans.component.ManagedBean;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.creational.BeanInstanceBag;
+import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.context.creational.SharedCreationalContext;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
+import org.apache.webbeans.proxy.NormalScopeProxyFactory;
+import org.apache.webbeans.proxy.OwbInterceptorProxy;
 
 /**
  * Session context implementation.
@@ -32,15 +42,89 @@ public class SessionContext extends PassivatingContext
 {
     private static final long serialVersionUID = 2L;
 
+    /**
+     * Assigns the slots of the compact componentInstanceMap.
+     * {@code null} if this context stores its instances in a ConcurrentHashMap.
+     * @see org.apache.webbeans.config.OpenWebBeansConfiguration#COMPACT_SESSION_CONTEXTS
+     */
+    private transient NormalScopeProxyFactory contextualInstanceSlots;
+
     public SessionContext()
     {
         super(SessionScoped.class);
     }
 
+    /**
+     * Creates a SessionContext which uses the compact instance storage if it is enabled.
+     */
+    public SessionContext(WebBeansContext webBeansContext)
+    {
+        super(SessionScoped.class);
+        initCompactStorage(webBeansContext);
+    }
+
+    private void initCompactStorage(WebBeansContext webBeansContext)
+    {
+        if (webBeansContext.getOpenWebBeansConfiguration().compactSessionContexts())
+        {
+            contextualInstanceSlots = webBeansContext.getNormalScopeProxyFactory();
+            setComponentInstanceMap();
+        }
+    }
+
     @Override
     public void setComponentInstanceMap()
     {
-        componentInstanceMap = new ConcurrentHashMap<>();
+        if (contextualInstanceSlots != null)
+        {
+            componentInstanceMap = new ContextualInstanceSlotMap(contextualInstanceSlots, SessionScoped.class);
+        }
+        else
+        {
+            componentInstanceMap = new ConcurrentHashMap<>();
+        }
+    }
+
+    @Override
+    protected <T> T getInstance(Contextual<T> contextual, CreationalContext<T> creationalContext)
+    {
+        T instance = super.getInstance(contextual, creationalContext);
+        if (contextualInstanceSlots != null && creationalContext != null && instance != null)
+        {
+            shareCreationalContext(contextual, creationalContext, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Most &#064;SessionScoped beans don't have any dependents.
+     * Their CreationalContext would then only stay around to get released on destroy,
+     * which is a no-op. So we replace it with a single shared one.
+     * Intercepted and decorated instances always keep their own one.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> void shareCreationalContext(Contextual<T> contextual, CreationalContext<T> creationalContext, T instance)
+    {
+        if (creationalContext.getClass() != CreationalContextImpl.class
+            || !(contextual instanceof ManagedBean)
+            || instance instanceof OwbInterceptorProxy
+            || ((CreationalContextImpl<T>) creationalContext).hasDependents())
+        {
+            return;
+        }
+
+        BeanInstanceBag<T> bag = (BeanInstanceBag<T>) componentInstanceMap.get(contextual);
+        if (bag != null && bag.getBeanCreationalContext() == creationalContext)
+        {
+            bag.shareCreationalContext(SharedCreationalContext.getInstance());
+        }
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException
+    {
+        initCompactStorage(WebBeansContext.currentInstance());
+        super.readExternal(in);
     }
 
     @Override
@@ -20,7 +20,6 @@
 package org.apache.webbeans.context.control;
 
 import org.apache.webbeans.config.WebBeansContext;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 import org.apache.webbeans.spi.ContextsService;
 
 import javax.enterprise.context.ContextNotActiveException;
@@ -53,6 +52,5 @@ public class OwbRequestContextController implements RequestContextController
     public void deactivate() throws ContextNotActiveException
     {
         contextsService.endContext(RequestScoped.class, null);
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
     }
 }
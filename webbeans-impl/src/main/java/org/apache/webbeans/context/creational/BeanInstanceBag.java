@@ -21,8 +21,6 @@ package org.apache.webbeans.context.creational;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import java.io.Serializable;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Stores the CreationalContext and the Contextual Instance.
@@ -32,11 +30,9 @@ import java.util.concurrent.locks.ReentrantLock;
 public class BeanInstanceBag<T> implements Serializable
 {
     private static final long serialVersionUID = 1656996021599122499L;
-    private final CreationalContext<T> beanCreationalContext;
+    private volatile CreationalContext<T> beanCreationalContext;
     
-    private T beanInstance;
-    
-    private final Lock lock = new ReentrantLock();
+    private volatile T beanInstance;
     
     public BeanInstanceBag(CreationalContext<T> beanCreationalContext)
     {
@@ -66,25 +62,29 @@ public class BeanInstanceBag<T> implements Serializable
      */
     public T create(Contextual<T> contextual)
     {
-        try
+        // we don't use an own Lock, as there might be millions of bags in session contexts
+        synchronized (this)
         {
-            lock.lock();
-            
             // we need to check again, maybe we got blocked by a previous invocation
             if (beanInstance == null)
             {
                 beanInstance = contextual.create(beanCreationalContext);
             }
-            
-        }
-        finally
-        {
-            lock.unlock();
         }
-        
+
         return beanInstance; 
     }
 
+    /**
+     * Replace the CreationalContext of the already created instance with a shared one.
+     * This must only be used if nothing will get added to the original CreationalContext anymore
+     * and releasing it would be a no-op anyway.
+     */
+    public void shareCreationalContext(CreationalContext<T> sharedCreationalContext)
+    {
+        beanCreationalContext = sharedCreationalContext;
+    }
+
     @Override
     public String toString()
     {
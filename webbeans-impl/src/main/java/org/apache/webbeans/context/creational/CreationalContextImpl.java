@@ -32,9 +32,10 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /** {@inheritDoc} */
 public class CreationalContextImpl<T> implements CreationalContext<T>, Serializable
@@ -57,12 +58,18 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
      */
     private transient LinkedList<EventMetadata> eventMetadata;
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<CreationalContextImpl, ConcurrentLinkedDeque> DEPENDENT_OBJECTS_UPDATER
+        = AtomicReferenceFieldUpdater.newUpdater(CreationalContextImpl.class, ConcurrentLinkedDeque.class, "dependentObjects");
+
     /**
-     * Contextual bean dependent instances
+     * Contextual bean dependent instances.
+     * This is a lock free structure as dependents might get added from multiple threads,
+     * e.g. via {@code Instance<T>#get()} in an &#064;ApplicationScoped bean.
      *
      * <p><b>ATTENTION</b> This variable gets initiated lazily!</p>
      */
-    private List<DependentCreationalContext<?>> dependentObjects;
+    private volatile ConcurrentLinkedDeque<DependentCreationalContext<?>> dependentObjects;
 
     /**
      * Contains the currently created bean
@@ -193,66 +200,62 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
             DependentCreationalContext<K> dependentCreational = new DependentCreationalContext<>(dependent);
             dependentCreational.setInstance(instance);
 
-            synchronized(this)
+            ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = getOrCreateDependentObjects();
+            if (dependent == bean)
             {
-                if (dependentObjects == null)
-                {
-                    dependentObjects = new ArrayList<>();
-                }
-
-                if (dependent == bean)
-                {
-                    dependentObjects.add(0, dependentCreational);
-                }
-                else
-                {
-                    dependentObjects.add(dependentCreational);
-                }
+                dependents.addFirst(dependentCreational);
+            }
+            else
+            {
+                dependents.addLast(dependentCreational);
             }
         }
     }
 
+    /**
+     * @return whether any dependent instance got added to this CreationalContext
+     */
+    public boolean hasDependents()
+    {
+        ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = dependentObjects;
+        return dependents != null && !dependents.isEmpty();
+    }
+
     public boolean containsDependent(Contextual<?> contextual, Object instance)
     {
-        if (dependentObjects == null)
+        ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = dependentObjects;
+        if (dependents == null)
         {
             return false;
         }
-        synchronized (this)
+        for (DependentCreationalContext<?> dependentCreationalContext: dependents)
         {
-            for (DependentCreationalContext<?> dependentCreationalContext: dependentObjects)
+            if (dependentCreationalContext.getInstance() == instance && dependentCreationalContext.getContextual().equals(contextual))
             {
-                if (dependentCreationalContext.getContextual().equals(contextual) && dependentCreationalContext.getInstance() == instance)
-                {
-                    return true;
-                }
+                return true;
             }
-            return false;
         }
+        return false;
     }
 
     public <X> void destroyDependent(X instance)
     {
-        if (dependentObjects == null)
+        ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = dependentObjects;
+        if (dependents == null)
         {
             return;
         }
-        synchronized (this)
+        for (DependentCreationalContext<?> dependentContext : dependents)
         {
-            for (Iterator<DependentCreationalContext<?>> i = dependentObjects.iterator(); i.hasNext();)
+            if (dependentContext.getInstance() == instance)
             {
-                DependentCreationalContext<?> dependentContext = i.next();
-                if (dependentContext.getInstance() == instance)
-                {
-                    Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
-                    CreationalContext<X> creationalContext = (CreationalContext<X>)this;
-                    dependentContextual.destroy(instance, creationalContext);
-                    if (dependentObjects != null)
-                    {
-                        i.remove();
-                    } // else previous destroy removed it
-                    break;
-                }
+                Contextual<X> dependentContextual = (Contextual<X>)dependentContext.getContextual();
+                CreationalContext<X> creationalContext = (CreationalContext<X>)this;
+                dependentContextual.destroy(instance, creationalContext);
+
+                // the destroy might already have released all our dependents
+                dependents.removeFirstOccurrence(dependentContext);
+                break;
             }
         }
     }
@@ -264,33 +267,52 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
         {
             return;
         }
+
+        // detach the dependents atomically, anything added concurrently ends up in a fresh deque
+        ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = DEPENDENT_OBJECTS_UPDATER.getAndSet(this, null);
+        if (dependents == null)
+        {
+            return;
+        }
         
         destroying = true;
 
-        synchronized(this)
+        // this is kind of an emergency valve...
+        // it is shared by all drained deques, so dependents which keep adding new ones can't loop forever
+        int maxRemoval = dependents.size() * 3;
+
+        while (dependents != null)
         {
-            if (dependentObjects != null)
+            // we don't use an iterator because the destroyal might register a
+            // fresh PreDestroy interceptor as dependent object...
+            while (!dependents.isEmpty())
             {
-                // this is kind of an emergency valve...
-                int maxRemoval = dependentObjects.size() * 3;
-                while (!dependentObjects.isEmpty() && maxRemoval > 0)
-                {
-                    // we don't use an iterator because the destroyal might register a 
-                    // fresh PreDestroy interceptor as dependent object...
-                    DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependentObjects.get(0);
-                    dependentObjects.remove(0);
-                    dependent.getContextual().destroy((T) dependent.getInstance(), this);
-                    maxRemoval--;
-                }
-                    
+                // check before polling, a polled dependent must never get dropped without being destroyed
                 if (maxRemoval == 0)
                 {
                     throw new WebBeansException("infinite loop detected while destroying bean " + bean);
                 }
+                maxRemoval--;
+
+                DependentCreationalContext<T> dependent = (DependentCreationalContext<T>) dependents.pollFirst();
+                dependent.getContextual().destroy((T) dependent.getInstance(), this);
             }
+
+            // pick up dependents which got added while we destroyed the detached ones
+            dependents = DEPENDENT_OBJECTS_UPDATER.getAndSet(this, null);
         }
+    }
 
-        dependentObjects = null;
+    @SuppressWarnings("unchecked")
+    private ConcurrentLinkedDeque<DependentCreationalContext<?>> getOrCreateDependentObjects()
+    {
+        ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = dependentObjects;
+        if (dependents == null)
+        {
+            DEPENDENT_OBJECTS_UPDATER.compareAndSet(this, null, new ConcurrentLinkedDeque<DependentCreationalContext<?>>());
+            dependents = dependentObjects;
+        }
+        return dependents;
     }
     
     /**
@@ -332,7 +354,8 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     private void writeObject(ObjectOutputStream s)
     throws IOException
     {
-        s.writeObject(dependentObjects);
+        ConcurrentLinkedDeque<DependentCreationalContext<?>> dependents = dependentObjects;
+        s.writeObject(dependents != null ? new ArrayList<>(dependents) : null);
 
         String id = WebBeansUtil.getPassivationId(bean);
         if (bean != null && id != null)
@@ -354,7 +377,8 @@ public class CreationalContextImpl<T> implements CreationalContext<T>, Serializa
     throws IOException, ClassNotFoundException
     {
         webBeansContext = WebBeansContext.currentInstance();
-        dependentObjects = (List<DependentCreationalContext<?>>)s.readObject();
+        List<DependentCreationalContext<?>> dependents = (List<DependentCreationalContext<?>>)s.readObject();
+        dependentObjects = dependents != null ? new ConcurrentLinkedDeque<>(dependents) : null;
 
         String id = (String) s.readObject();
         if (id != null)
@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.creational;
+
+import javax.enterprise.context.spi.CreationalContext;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+
+/**
+ * A CreationalContext which never holds any dependent instances.
+ * A single instance gets shared by all contextual instances which
+ * don't need their own CreationalContext anymore once they got created.
+ *
+ * @see BeanInstanceBag#shareCreationalContext(CreationalContext)
+ */
+public final class SharedCreationalContext implements CreationalContext<Object>, Serializable
+{
+    private static final long serialVersionUID = 1L;
+
+    private static final SharedCreationalContext INSTANCE = new SharedCreationalContext();
+
+    private SharedCreationalContext()
+    {
+        // singleton
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> CreationalContext<T> getInstance()
+    {
+        return (CreationalContext<T>) (CreationalContext<?>) INSTANCE;
+    }
+
+    @Override
+    public void push(Object incompleteInstance)
+    {
+        // no-op
+    }
+
+    @Override
+    public void release()
+    {
+        // there are no dependents to destroy
+    }
+
+    private Object readResolve() throws ObjectStreamException
+    {
+        return INSTANCE;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "SharedCreationalContext";
+    }
+}
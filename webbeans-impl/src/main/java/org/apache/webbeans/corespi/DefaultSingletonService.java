@@ -18,6 +18,7 @@
  */
 package org.apache.webbeans.corespi;
 
+import java.lang.ref.WeakReference;
 import java.util.Map;
 import java.util.WeakHashMap;
 
@@ -32,7 +33,15 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
      * Values --> WebBeansContext
      */
     private final Map<ClassLoader, WebBeansContext> singletonMap = new WeakHashMap<>();
-    
+
+    /**
+     * The last ClassLoader/WebBeansContext pair which got looked up.
+     * In a JVM with a single application this is almost always a hit and
+     * can be read without taking the singletonMap lock.
+     * Only ever gets written while holding the singletonMap lock.
+     */
+    private volatile LastLookup lastLookup;
+
     /**
      * Gets singleton instance for deployment.
      * @return singleton instance for this deployment
@@ -40,14 +49,17 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
     @Override
     public WebBeansContext get(Object key)
     {
+        LastLookup last = lastLookup;
+        if (last != null && key != null && last.get() == key)
+        {
+            return last.webBeansContext;
+        }
+
         assertClassLoaderKey(key);
         ClassLoader classLoader = (ClassLoader) key;
         synchronized (singletonMap)
         {
-            //util.Track.sync(key);
-            
             WebBeansContext webBeansContext = singletonMap.get(classLoader);
-            //util.Track.get(key);
 
             if (webBeansContext == null)
             {
@@ -55,18 +67,21 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
                 singletonMap.put(classLoader, webBeansContext);
             }
 
+            lastLookup = new LastLookup(classLoader, webBeansContext);
             return webBeansContext;
-
         }
     }
 
     public void register(ClassLoader key, WebBeansContext context)
     {
-        if (singletonMap.containsKey(key))
+        synchronized (singletonMap)
         {
-            throw new IllegalArgumentException(key + " is already registered");
+            if (singletonMap.containsKey(key))
+            {
+                throw new IllegalArgumentException(key + " is already registered");
+            }
+            singletonMap.put(key, context);
         }
-        singletonMap.putIfAbsent(key, context);
     }
 
     /**
@@ -79,6 +94,12 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
         synchronized (singletonMap)
         {
             singletonMap.remove(classLoader);
+
+            LastLookup last = lastLookup;
+            if (last != null && (last.get() == classLoader || last.get() == null))
+            {
+                lastLookup = null;
+            }
         }
     }
 
@@ -106,6 +127,27 @@ public class DefaultSingletonService implements SingletonService<WebBeansContext
 
     public boolean exists(final Object key)
     {
-        return ClassLoader.class.isInstance(key) && singletonMap.containsKey(key);
+        if (!ClassLoader.class.isInstance(key))
+        {
+            return false;
+        }
+        synchronized (singletonMap)
+        {
+            return singletonMap.containsKey(key);
+        }
+    }
+
+    /**
+     * Weakly references the ClassLoader to not prevent it from getting garbage collected.
+     */
+    private static final class LastLookup extends WeakReference<ClassLoader>
+    {
+        private final WebBeansContext webBeansContext;
+
+        private LastLookup(ClassLoader classLoader, WebBeansContext webBeansContext)
+        {
+            super(classLoader);
+            this.webBeansContext = webBeansContext;
+        }
     }
 }
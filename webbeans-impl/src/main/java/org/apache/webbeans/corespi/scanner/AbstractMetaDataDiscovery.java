@@ -24,6 +24,7 @@ import static java.util.stream.Collectors.toMap;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.corespi.scanner.xbean.ArchiveIndex;
 import org.apache.webbeans.corespi.scanner.xbean.CdiArchive;
 import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
@@ -127,10 +128,18 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                     .collect(toMap(Map.Entry::getKey, Map.Entry::getValue));
             extensionJars.clear(); // no more needed
         }
+
+        final String scannerIndexFile = webBeansContext.getOpenWebBeansConfiguration().getScannerIndexFile();
+        final ArchiveIndex archiveIndex = scannerIndexFile != null ? ArchiveIndex.load(new File(scannerIndexFile)) : null;
         archive = new CdiArchive(
                 beanArchiveService, WebBeansUtil.getCurrentClassLoader(),
-                beanDeploymentUrls, userFilter, getAdditionalArchive());
+                beanDeploymentUrls, userFilter, getAdditionalArchive(), archiveIndex);
         finder = new OwbAnnotationFinder(archive);
+        if (archiveIndex != null)
+        {
+            archiveIndex.apply(finder);
+            archiveIndex.store();
+        }
 
         return finder;
     }
@@ -419,6 +428,12 @@ public abstract class AbstractMetaDataDiscovery implements BdaScannerService
                 boolean scanModeAnnotated = BeanDiscoveryMode.ANNOTATED == foundClasses.getBeanArchiveInfo().getBeanDiscoveryMode();
                 for (String className : foundClasses.getClassNames())
                 {
+                    if (!finder.isBeanCandidate(className))
+                    {
+                        // decided on the bytecode already, no need to load the class
+                        continue;
+                    }
+
                     try
                     {
                         if (scanModeAnnotated)
@@ -0,0 +1,574 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import org.apache.webbeans.logger.WebBeansLoggerFacade;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.util.Files;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Keeps the outcome of scanning the bean archives between deployments.
+ *
+ * For each archive the index contains a fingerprint of its content together with the
+ * class level information the scanner needs: the names of the classes which passed the filters,
+ * their super types, interfaces and class annotations and whether they can become a bean at all.
+ * If the fingerprint of an archive did not change, its classes get restored from the index
+ * instead of reading their bytecode again. Only changed or new archives get scanned.
+ *
+ * The fingerprint of a jar is built from the names, CRCs and sizes of its entries,
+ * the one of a directory from the paths, sizes and modification times of its files.
+ * Archives which are neither get scanned on every deployment.
+ *
+ * Method and field annotations are not part of the index, thus the {@link OwbAnnotationFinder}
+ * only knows about the class level information of restored classes.
+ *
+ * @see org.apache.webbeans.config.OpenWebBeansConfiguration#SCANNER_INDEX_FILE
+ */
+public final class ArchiveIndex
+{
+    private static final Logger logger = WebBeansLoggerFacade.getLogger(ArchiveIndex.class);
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final int ACCEPTED = 1;
+    private static final int BEAN_CANDIDATE = 2;
+    private static final int CLASS_INFO = 4;
+
+    private final File file;
+
+    /**
+     * The archives of the previous deployment, key is the URL#toExternalForm.
+     */
+    private final Map<String, IndexedArchive> storedArchives;
+
+    /**
+     * The archives of this deployment, key is the URL#toExternalForm.
+     */
+    private final Map<String, IndexedArchive> usedArchives = new HashMap<>();
+
+    /**
+     * Fingerprints of the archives of this deployment, {@code null} if an archive cannot get indexed.
+     */
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    /**
+     * Classes taken from the index which need to get added to the finder.
+     */
+    private final List<IndexedClass> restoredClasses = new ArrayList<>();
+
+    /**
+     * Archives which got scanned in this deployment.
+     */
+    private final List<RecordingArchive> scannedArchives = new ArrayList<>();
+
+    private ArchiveIndex(File file, Map<String, IndexedArchive> storedArchives)
+    {
+        this.file = file;
+        this.storedArchives = storedArchives;
+    }
+
+    public static ArchiveIndex load(File file)
+    {
+        Map<String, IndexedArchive> storedArchives = Collections.emptyMap();
+        if (file.isFile())
+        {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file))))
+            {
+                if (in.readInt() == FORMAT_VERSION)
+                {
+                    int archiveCount = in.readInt();
+                    storedArchives = new HashMap<>(archiveCount * 4 / 3 + 1);
+                    for (int i = 0; i < archiveCount; i++)
+                    {
+                        String url = in.readUTF();
+                        String fingerprint = in.readUTF();
+                        IndexedClass[] classes = new IndexedClass[in.readInt()];
+                        for (int j = 0; j < classes.length; j++)
+                        {
+                            classes[j] = IndexedClass.read(in);
+                        }
+                        storedArchives.put(url, new IndexedArchive(fingerprint, Arrays.asList(classes)));
+                    }
+                }
+                else
+                {
+                    logger.fine("Ignoring the scanner index " + file + " written by another version");
+                }
+            }
+            catch (IOException e)
+            {
+                logger.log(Level.WARNING, "Could not read the scanner index " + file, e);
+                storedArchives = Collections.emptyMap();
+            }
+        }
+
+        return new ArchiveIndex(file, storedArchives);
+    }
+
+    /**
+     * @return all the classes of the given archive as found by the previous deployment,
+     *         or {@code null} if the archive is not known or changed in the meantime
+     */
+    List<IndexedClass> getClasses(URL url)
+    {
+        String key = url.toExternalForm();
+        IndexedArchive storedArchive = storedArchives.get(key);
+        String fingerprint = getFingerprint(url);
+        if (storedArchive == null || fingerprint == null || !fingerprint.equals(storedArchive.fingerprint))
+        {
+            return null;
+        }
+        return storedArchive.classes;
+    }
+
+    /**
+     * Use the classes of the given archive from the index instead of scanning it.
+     *
+     * @param acceptedClasses the classes of the archive which passed the filters of this deployment
+     */
+    void restore(URL url, List<IndexedClass> acceptedClasses)
+    {
+        String key = url.toExternalForm();
+        usedArchives.put(key, storedArchives.get(key));
+        restoredClasses.addAll(acceptedClasses);
+    }
+
+    /**
+     * Wrap the given archive to remember the classes found while scanning it.
+     *
+     * @param acceptedClasses gets filled with the classes which passed the filters while scanning
+     */
+    Archive record(URL url, Archive archive, Collection<String> acceptedClasses)
+    {
+        String fingerprint = getFingerprint(url);
+        if (fingerprint == null)
+        {
+            return archive;
+        }
+
+        RecordingArchive recordingArchive = new RecordingArchive(url.toExternalForm(), fingerprint, archive, acceptedClasses);
+        scannedArchives.add(recordingArchive);
+        return recordingArchive;
+    }
+
+    /**
+     * Add the restored classes to the given finder and take over
+     * what the finder learned about the scanned archives.
+     */
+    public void apply(OwbAnnotationFinder finder)
+    {
+        for (IndexedClass restoredClass : restoredClasses)
+        {
+            finder.addIndexedClass(restoredClass);
+        }
+        restoredClasses.clear();
+
+        for (RecordingArchive scannedArchive : scannedArchives)
+        {
+            Set<String> acceptedClasses = new HashSet<>(scannedArchive.acceptedClasses);
+            List<IndexedClass> classes = new ArrayList<>(scannedArchive.classNames.size());
+            for (String className : scannedArchive.classNames)
+            {
+                classes.add(IndexedClass.of(finder, className, acceptedClasses.contains(className)));
+            }
+            usedArchives.put(scannedArchive.url, new IndexedArchive(scannedArchive.fingerprint, classes));
+        }
+    }
+
+    /**
+     * Write the archives of this deployment to the index file.
+     */
+    public void store()
+    {
+        if (scannedArchives.isEmpty() && usedArchives.keySet().equals(storedArchives.keySet()))
+        {
+            // all archives got restored from the index, nothing new learned
+            return;
+        }
+        scannedArchives.clear();
+
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs())
+        {
+            logger.warning("Could not create the directory for the scanner index " + file);
+            return;
+        }
+
+        // write to a temporary file first, a concurrent deployment must never read a half written index
+        File tempFile = null;
+        try
+        {
+            tempFile = File.createTempFile(file.getName(), ".tmp", parent);
+            write(tempFile);
+            java.nio.file.Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e)
+        {
+            logger.log(Level.WARNING, "Could not write the scanner index " + file, e);
+            if (tempFile != null && tempFile.exists() && !tempFile.delete())
+            {
+                logger.fine("Could not delete the temporary scanner index " + tempFile);
+            }
+        }
+    }
+
+    private void write(File target) throws IOException
+    {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(target))))
+        {
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(usedArchives.size());
+            for (Map.Entry<String, IndexedArchive> usedArchive : usedArchives.entrySet())
+            {
+                out.writeUTF(usedArchive.getKey());
+                out.writeUTF(usedArchive.getValue().fingerprint);
+                out.writeInt(usedArchive.getValue().classes.size());
+                for (IndexedClass indexedClass : usedArchive.getValue().classes)
+                {
+                    indexedClass.write(out);
+                }
+            }
+        }
+    }
+
+    private String getFingerprint(URL url)
+    {
+        String key = url.toExternalForm();
+        if (!fingerprints.containsKey(key))
+        {
+            fingerprints.put(key, fingerprint(url));
+        }
+        return fingerprints.get(key);
+    }
+
+    /**
+     * @return a hash over the content of the given archive or {@code null} if it cannot get indexed
+     */
+    private static String fingerprint(URL url)
+    {
+        String externalForm = url.toExternalForm();
+        boolean jarUrl = externalForm.startsWith("jar:file:") && externalForm.indexOf("!/") == externalForm.length() - 2;
+        if (!jarUrl && !"file".equals(url.getProtocol()))
+        {
+            // e.g. nested jars or custom protocols
+            return null;
+        }
+
+        try
+        {
+            File archiveFile = Files.toFile(url);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (archiveFile.isDirectory())
+            {
+                digestDirectory(digest, archiveFile, "");
+            }
+            else if (archiveFile.isFile())
+            {
+                try (ZipFile zipFile = new ZipFile(archiveFile))
+                {
+                    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                    while (entries.hasMoreElements())
+                    {
+                        ZipEntry entry = entries.nextElement();
+                        digest.update((entry.getName() + '|' + entry.getCrc() + '|' + entry.getSize() + '\n').getBytes(StandardCharsets.UTF_8));
+                    }
+                }
+            }
+            else
+            {
+                return null;
+            }
+
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte b : digest.digest())
+            {
+                fingerprint.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return fingerprint.toString();
+        }
+        catch (IOException | IllegalArgumentException | NoSuchAlgorithmException e)
+        {
+            logger.log(Level.FINE, "Could not create a fingerprint of " + externalForm + ", it will always get scanned", e);
+            return null;
+        }
+    }
+
+    private static void digestDirectory(MessageDigest digest, File directory, String path)
+    {
+        File[] files = directory.listFiles();
+        if (files == null)
+        {
+            return;
+        }
+
+        Arrays.sort(files);
+        for (File file : files)
+        {
+            String name = path + file.getName();
+            if (file.isDirectory())
+            {
+                digestDirectory(digest, file, name + '/');
+            }
+            else
+            {
+                digest.update((name + '|' + file.length() + '|' + file.lastModified() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private static final class IndexedArchive
+    {
+        private final String fingerprint;
+        private final List<IndexedClass> classes;
+
+        private IndexedArchive(String fingerprint, List<IndexedClass> classes)
+        {
+            this.fingerprint = fingerprint;
+            this.classes = classes;
+        }
+    }
+
+    /**
+     * What the scanner found out about a single class of an archive.
+     */
+    static final class IndexedClass
+    {
+        private final String name;
+        private final int flags;
+        private final String superType;
+        private final List<String> interfaces;
+        private final List<String> annotations;
+
+        private IndexedClass(String name, int flags, String superType, List<String> interfaces, List<String> annotations)
+        {
+            this.name = name;
+            this.flags = flags;
+            this.superType = superType;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+        }
+
+        private static IndexedClass of(OwbAnnotationFinder finder, String className, boolean accepted)
+        {
+            if (!accepted)
+            {
+                return new IndexedClass(className, 0, null, Collections.emptyList(), Collections.emptyList());
+            }
+
+            int flags = ACCEPTED;
+            if (finder.isBeanCandidate(className))
+            {
+                flags |= BEAN_CANDIDATE;
+            }
+
+            AnnotationFinder.ClassInfo classInfo = finder.getClassInfo(className);
+            if (classInfo == null)
+            {
+                // e.g. a package-info
+                return new IndexedClass(className, flags, null, Collections.emptyList(), Collections.emptyList());
+            }
+
+            List<String> annotations = new ArrayList<>(classInfo.getAnnotations().size());
+            for (AnnotationFinder.AnnotationInfo annotationInfo : classInfo.getAnnotations())
+            {
+                annotations.add(annotationInfo.getName());
+            }
+            return new IndexedClass(className, flags | CLASS_INFO, classInfo.getSuperType(),
+                    new ArrayList<>(classInfo.getInterfaces()), annotations);
+        }
+
+        private static IndexedClass read(DataInputStream in) throws IOException
+        {
+            String name = in.readUTF();
+            int flags = in.readByte();
+            String superType = null;
+            List<String> interfaces = Collections.emptyList();
+            List<String> annotations = Collections.emptyList();
+            if ((flags & CLASS_INFO) != 0)
+            {
+                superType = in.readBoolean() ? in.readUTF() : null;
+                interfaces = readNames(in);
+                annotations = readNames(in);
+            }
+            return new IndexedClass(name, flags, superType, interfaces, annotations);
+        }
+
+        private void write(DataOutputStream out) throws IOException
+        {
+            out.writeUTF(name);
+            out.writeByte(flags);
+            if ((flags & CLASS_INFO) != 0)
+            {
+                out.writeBoolean(superType != null);
+                if (superType != null)
+                {
+                    out.writeUTF(superType);
+                }
+                writeNames(out, interfaces);
+                writeNames(out, annotations);
+            }
+        }
+
+        private static List<String> readNames(DataInputStream in) throws IOException
+        {
+            String[] names = new String[in.readInt()];
+            for (int i = 0; i < names.length; i++)
+            {
+                names[i] = in.readUTF();
+            }
+            return Arrays.asList(names);
+        }
+
+        private static void writeNames(DataOutputStream out, List<String> names) throws IOException
+        {
+            out.writeInt(names.size());
+            for (String name : names)
+            {
+                out.writeUTF(name);
+            }
+        }
+
+        String getName()
+        {
+            return name;
+        }
+
+        /**
+         * @return whether the class passed the filters when the archive got scanned
+         */
+        boolean isAccepted()
+        {
+            return (flags & ACCEPTED) != 0;
+        }
+
+        boolean isBeanCandidate()
+        {
+            return (flags & BEAN_CANDIDATE) != 0;
+        }
+
+        /**
+         * @return whether the finder had a ClassInfo for this class, package-infos e.g. have none
+         */
+        boolean hasClassInfo()
+        {
+            return (flags & CLASS_INFO) != 0;
+        }
+
+        String getSuperType()
+        {
+            return superType;
+        }
+
+        List<String> getInterfaces()
+        {
+            return interfaces;
+        }
+
+        List<String> getAnnotations()
+        {
+            return annotations;
+        }
+    }
+
+    /**
+     * Remembers the names of all the classes of an archive while the finder scans it.
+     */
+    private static final class RecordingArchive implements Archive
+    {
+        private final String url;
+        private final String fingerprint;
+        private final Archive delegate;
+        private final Collection<String> acceptedClasses;
+        private final List<String> classNames = new ArrayList<>();
+
+        private RecordingArchive(String url, String fingerprint, Archive delegate, Collection<String> acceptedClasses)
+        {
+            this.url = url;
+            this.fingerprint = fingerprint;
+            this.delegate = delegate;
+            this.acceptedClasses = acceptedClasses;
+        }
+
+        @Override
+        public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
+        {
+            return delegate.getBytecode(className);
+        }
+
+        @Override
+        public Class<?> loadClass(String className) throws ClassNotFoundException
+        {
+            return delegate.loadClass(className);
+        }
+
+        @Override
+        public Iterator<Entry> iterator()
+        {
+            classNames.clear();
+            Iterator<Entry> entries = delegate.iterator();
+            return new Iterator<Entry>()
+            {
+                @Override
+                public boolean hasNext()
+                {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Entry next()
+                {
+                    Entry entry = entries.next();
+                    classNames.add(entry.getName());
+                    return entry;
+                }
+            };
+        }
+    }
+}
@@ -52,8 +52,24 @@ public class CdiArchive implements Archive
 
     private final Archive delegate;
 
+    /**
+     * Only set if some archives got restored from the {@link ArchiveIndex},
+     * as they are not part of the delegate.
+     */
+    private ClassLoader restoredArchivesLoader;
+
     public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
                       Filter userFilter, Archive customArchive)
+    {
+        this(beanArchiveService, loader, urls, userFilter, customArchive, null);
+    }
+
+    /**
+     * @param archiveIndex if not {@code null} the classes of unchanged archives get taken from it
+     *                     instead of scanning them
+     */
+    public CdiArchive(BeanArchiveService beanArchiveService, ClassLoader loader, Map<String, URL> urls,
+                      Filter userFilter, Archive customArchive, ArchiveIndex archiveIndex)
     {
         Collection<Archive> archives = new ArrayList<>();
         boolean customAdded = false;
@@ -63,15 +79,24 @@ public class CdiArchive implements Archive
 
             BeanArchiveInformation beanArchiveInfo = beanArchiveService.getBeanArchiveInformation(url);
             final boolean custom = "openwebbeans".equals(url.getProtocol());
-            Archive archive = new FilteredArchive(
-                    custom ? customArchive : ClasspathArchive.archive(loader, url),
-                    new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
+            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
+            if (!custom && archiveIndex != null && restore(archiveIndex, url, beanArchiveInfo, urlClasses, userFilter))
+            {
+                restoredArchivesLoader = loader;
+                continue;
+            }
+
+            Archive archive = custom ? customArchive : ClasspathArchive.archive(loader, url);
+            if (!custom && archiveIndex != null)
+            {
+                archive = archiveIndex.record(url, archive, urlClasses);
+            }
+            archive = new FilteredArchive(archive, new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter));
             if (!customAdded && custom)
             {
                 customAdded = true;
             }
 
-            classesByUrl.put(url.toExternalForm(), new FoundClasses(url, urlClasses, beanArchiveInfo));
             archives.add(archive);
         }
         if (!customAdded && customArchive != null)
@@ -81,6 +106,41 @@ public class CdiArchive implements Archive
         delegate = new CompositeArchive(archives);
     }
 
+    /**
+     * Take the classes of the given archive from the index if it did not change.
+     * The filters get applied again as they might have changed in the meantime.
+     *
+     * @return {@code false} if the archive needs to get scanned
+     */
+    private static boolean restore(ArchiveIndex archiveIndex, URL url, BeanArchiveInformation beanArchiveInfo,
+                                   List<String> urlClasses, Filter userFilter)
+    {
+        List<ArchiveIndex.IndexedClass> indexedClasses = archiveIndex.getClasses(url);
+        if (indexedClasses == null)
+        {
+            return false;
+        }
+
+        List<ArchiveIndex.IndexedClass> acceptedClasses = new ArrayList<>();
+        BeanArchiveFilter filter = new BeanArchiveFilter(beanArchiveInfo, urlClasses, userFilter);
+        for (ArchiveIndex.IndexedClass indexedClass : indexedClasses)
+        {
+            if (filter.accept(indexedClass.getName()))
+            {
+                if (!indexedClass.isAccepted())
+                {
+                    // got filtered out last time, so we don't know anything about it
+                    urlClasses.clear();
+                    return false;
+                }
+                acceptedClasses.add(indexedClass);
+            }
+        }
+
+        archiveIndex.restore(url, acceptedClasses);
+        return true;
+    }
+
     public Map<String, FoundClasses> classesByUrl()
     {
         return classesByUrl;
@@ -89,13 +149,41 @@ public class CdiArchive implements Archive
     @Override
     public InputStream getBytecode(String className) throws IOException, ClassNotFoundException
     {
-        return delegate.getBytecode(className);
+        try
+        {
+            return delegate.getBytecode(className);
+        }
+        catch (ClassNotFoundException e)
+        {
+            if (restoredArchivesLoader == null)
+            {
+                throw e;
+            }
+
+            InputStream bytecode = restoredArchivesLoader.getResourceAsStream(className.replace('.', '/') + ".class");
+            if (bytecode == null)
+            {
+                throw e;
+            }
+            return bytecode;
+        }
     }
 
     @Override
     public Class<?> loadClass(String className) throws ClassNotFoundException
     {
-        return delegate.loadClass(className);
+        try
+        {
+            return delegate.loadClass(className);
+        }
+        catch (ClassNotFoundException e)
+        {
+            if (restoredArchivesLoader == null)
+            {
+                throw e;
+            }
+            return restoredArchivesLoader.loadClass(className);
+        }
     }
 
     @Override
@@ -18,15 +18,45 @@
  */
 package org.apache.webbeans.corespi.scanner.xbean;
 
+import org.apache.xbean.asm9.ClassReader;
+import org.apache.xbean.asm9.Opcodes;
 import org.apache.xbean.finder.AnnotationFinder;
 import org.apache.xbean.finder.archive.Archive;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * We just extend the default AnnotationFinder to get Access to the original ClassInfo
  * for not having to call loadClass so often...
+ *
+ * We also remember package-info and module-info classes, so they don't need to get loaded at all.
+ * Every other class still gets loaded, even synthetic ones and annotation types, as the
+ * spec requires a ProcessAnnotatedType event for each of them. Skipping more classes
+ * based on their bytecode alone is thus not possible without breaking portable extensions.
  */
 public class OwbAnnotationFinder extends AnnotationFinder
 {
+    private static final int NON_BEAN_CANDIDATE_FLAGS = Opcodes.ACC_MODULE;
+
+    private static final int MIN_BUFFER_SIZE = 8192;
+
+    /**
+     * Gets filled while the super constructor scans the archive,
+     * thus it must not have a field initializer.
+     */
+    private Set<String> nonBeanCandidates;
+
+    /**
+     * Reused for reading all the classes of the scanned archive.
+     * The finder gets only used by a single thread, and like the field above it must not
+     * have a field initializer.
+     */
+    private byte[] bytecodeBuffer;
+
     public OwbAnnotationFinder(Archive archive, boolean checkRuntimeAnnotation)
     {
         super(archive, checkRuntimeAnnotation);
@@ -42,4 +72,120 @@ public class OwbAnnotationFinder extends AnnotationFinder
         return classInfos.get(className);
     }
 
+    /**
+     * @return {@code false} if the bytecode of the given class showed that it is
+     *         a package-info or a module-info.
+     *         Such classes never get an AnnotatedType nor become beans.
+     */
+    public boolean isBeanCandidate(String className)
+    {
+        if (className.endsWith("package-info") || className.endsWith("module-info"))
+        {
+            return false;
+        }
+        return nonBeanCandidates == null || !nonBeanCandidates.contains(className);
+    }
+
+    /**
+     * Add a class taken from the {@link ArchiveIndex} instead of reading its bytecode.
+     * Only the class level information is known for such a class.
+     */
+    void addIndexedClass(ArchiveIndex.IndexedClass indexedClass)
+    {
+        String className = indexedClass.getName();
+        if (!indexedClass.isBeanCandidate())
+        {
+            if (nonBeanCandidates == null)
+            {
+                nonBeanCandidates = new HashSet<>();
+            }
+            nonBeanCandidates.add(className);
+        }
+
+        if (!indexedClass.hasClassInfo())
+        {
+            return;
+        }
+
+        ClassInfo classInfo = new ClassInfo(className, indexedClass.getSuperType());
+        for (String anInterface : indexedClass.getInterfaces())
+        {
+            // the xbean lists don't support addAll
+            classInfo.getInterfaces().add(anInterface);
+        }
+        for (String annotation : indexedClass.getAnnotations())
+        {
+            // same as the InfoBuildingVisitor does for an annotation descriptor
+            AnnotationInfo annotationInfo = new AnnotationInfo('L' + annotation.replace('.', '/') + ';');
+            classInfo.getAnnotations().add(annotationInfo);
+            initAnnotationInfos(annotationInfo.getName()).add(classInfo);
+        }
+        classInfos.put(className, classInfo);
+        originalInfos.put(className, classInfo);
+    }
+
+    @Override
+    protected void readClassDef(String className, InputStream in) throws IOException
+    {
+        int length;
+        try
+        {
+            length = readBytecode(in);
+        }
+        finally
+        {
+            in.close();
+        }
+
+        // feed the reader directly from the shared buffer instead of copying the bytecode
+        // into a new stream for the parent, the infos don't keep any reference to it
+        try
+        {
+            ClassReader classReader = new ClassReader(bytecodeBuffer, 0, length);
+            if ((classReader.getAccess() & NON_BEAN_CANDIDATE_FLAGS) != 0)
+            {
+                if (nonBeanCandidates == null)
+                {
+                    nonBeanCandidates = new HashSet<>();
+                }
+                nonBeanCandidates.add(className);
+            }
+
+            classReader.accept(new InfoBuildingVisitor(), ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        }
+        catch (RuntimeException e)
+        {
+            throw new RuntimeException("Unable to read class definition for " + className, e);
+        }
+    }
+
+    /**
+     * Read the whole stream into the {@link #bytecodeBuffer}, growing it if needed.
+     * @return the number of bytes read
+     */
+    private int readBytecode(InputStream in) throws IOException
+    {
+        byte[] buffer = bytecodeBuffer;
+        int available = in.available();
+        if (buffer == null || buffer.length < available)
+        {
+            buffer = new byte[Math.max(available, MIN_BUFFER_SIZE)];
+        }
+
+        int length = 0;
+        int read = in.read(buffer, length, buffer.length - length);
+        while (read >= 0)
+        {
+            length += read;
+            if (length == buffer.length)
+            {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            read = in.read(buffer, length, buffer.length - length);
+        }
+
+        bytecodeBuffer = buffer;
+        return length;
+    }
+
 }
@@ -43,30 +43,22 @@ import org.apache.webbeans.context.RequestContext;
 import org.apache.webbeans.context.SessionContext;
 import org.apache.webbeans.conversation.ConversationImpl;
 import org.apache.webbeans.conversation.ConversationManager;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 
 
 public abstract class BaseSeContextsService extends AbstractContextsService
 {
-    private static ThreadLocal<RequestContext> requestContext;
+    // per instance, so that multiple containers in the same JVM don't share their contexts
+    private final ThreadLocal<RequestContext> requestContext = new ThreadLocal<>();
 
-    private static ThreadLocal<SessionContext> sessionContext;
+    private final ThreadLocal<SessionContext> sessionContext = new ThreadLocal<>();
 
-    private static ThreadLocal<ConversationContext> conversationContext;
+    private final ThreadLocal<ConversationContext> conversationContext = new ThreadLocal<>();
 
-    private static ThreadLocal<DependentContext> dependentContext;
+    private final ThreadLocal<DependentContext> dependentContext = new ThreadLocal<>();
 
     private ApplicationContext applicationContext;
 
-    static
-    {
-        requestContext = new ThreadLocal<>();
-        sessionContext = new ThreadLocal<>();
-        conversationContext = new ThreadLocal<>();
-        dependentContext = new ThreadLocal<>();
-    }
-
     protected BaseSeContextsService(final WebBeansContext webBeansContext)
     {
         super(webBeansContext);
@@ -195,7 +187,6 @@ public abstract class BaseSeContextsService extends AbstractContextsService
         if (requestCtx != null)
         {
             requestCtx.destroy();
-            RequestScopedBeanInterceptorHandler.removeThreadLocals();
             requestContext.set(null);
             requestContext.remove();
         }
@@ -219,6 +210,8 @@ public abstract class BaseSeContextsService extends AbstractContextsService
 
         dependentContext.set(null);
         dependentContext.remove();
+        removeThreadLocals();
+        releaseRecycledRequestContexts();
 
         destroyGlobalContexts();
     }
@@ -328,7 +321,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     private void startRequestContext()
     {
         
-        RequestContext ctx = new RequestContext();
+        RequestContext ctx = newRequestContext(RequestContext::new);
         ctx.setActive(true);
         
         requestContext.set(ctx);
@@ -342,7 +335,7 @@ public abstract class BaseSeContextsService extends AbstractContextsService
     
     private void startSessionContext()
     {
-        SessionContext ctx = new SessionContext();
+        SessionContext ctx = new SessionContext(webBeansContext);
         ctx.setActive(true);
         
         sessionContext.set(ctx);
@@ -405,21 +398,21 @@ public abstract class BaseSeContextsService extends AbstractContextsService
                     new Object(), BeforeDestroyedLiteral.INSTANCE_REQUEST_SCOPED);
         }
 
-        final RequestContext ctx = BaseSeContextsService.requestContext.get();
+        final RequestContext ctx = requestContext.get();
         if (ctx != null)
         {
             ctx.destroy();
         }
 
-        BaseSeContextsService.requestContext.set(null);
-        BaseSeContextsService.requestContext.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        unbindRequestContext(requestContext);
 
         if (shouldFireRequestLifecycleEvents())
         {
             webBeansContext.getBeanManagerImpl().fireContextLifecyleEvent(
                     ctx, DestroyedLiteral.INSTANCE_REQUEST_SCOPED);
         }
+
+        recycleRequestContext(ctx);
     }
 
     
@@ -29,7 +29,6 @@ import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -66,6 +65,7 @@ import javax.enterprise.inject.spi.ProcessProducer;
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.OWBLogConst;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.StartupProfile;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.exception.WebBeansDeploymentException;
 import org.apache.webbeans.exception.WebBeansException;
@@ -314,8 +314,20 @@ public final class NotificationManager
         {
             return filterByExtensionEventType(event, declaredEventType);
         }
-        Class<?> eventClass = event.getClass();
+        return filterByEventType(event.getClass(), declaredEventType);
+    }
+
+    /**
+     * Resolve and cache the observer methods for the given raw event type
+     * before such an event gets fired the first time.
+     */
+    public void prepareObservers(Class<?> eventClass)
+    {
+        filterByEventType(eventClass, eventClass);
+    }
 
+    private <T> Set<ObserverMethod<? super T>> filterByEventType(Class<?> eventClass, Type declaredEventType)
+    {
         // whether the fired event is a raw java class or a generic type
         boolean isRawEvent = declaredEventType instanceof Class;
         if (isRawEvent)
@@ -329,7 +341,7 @@ public final class NotificationManager
 
         Set<ObserverMethod<? super T>> matching = new HashSet<>();
 
-        Set<Type> eventTypes = GenericsUtil.getTypeClosure(declaredEventType, eventClass);
+        Set<Type> eventTypes = webBeansContext.getGenericsCache().getTypeClosure(declaredEventType, eventClass);
         if (GenericsUtil.containTypeVariable(eventTypes))
         {
             throw new IllegalArgumentException("event type may not contain unbound type variable: " + eventTypes);
@@ -341,8 +353,8 @@ public final class NotificationManager
             for (Type eventType : eventTypes)
             {
                 if ((ParameterizedType.class.isInstance(eventType) && Class.class.isInstance(observedType)
-                        && GenericsUtil.isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType(), new HashMap<>()))
-                    || GenericsUtil.isAssignableFrom(true, false, observedType, eventType, new HashMap<>()))
+                        && webBeansContext.getGenericsCache().isAssignableFrom(true, false, observedType, ParameterizedType.class.cast(eventType).getRawType()))
+                    || webBeansContext.getGenericsCache().isAssignableFrom(true, false, observedType, eventType))
                 {
                     Set<ObserverMethod<?>> observerMethods = observerEntry.getValue();
 
@@ -359,6 +371,12 @@ public final class NotificationManager
         {
             // cache the result
             observersByRawType.putIfAbsent(eventClass, (Set) matching);
+
+            StartupProfile startupProfile = webBeansContext.getBeanManagerImpl().getStartupProfile();
+            if (startupProfile != null)
+            {
+                startupProfile.observersResolved(eventClass);
+            }
         }
         return matching;
     }
@@ -493,7 +511,7 @@ public final class NotificationManager
         }
         else if (observerTypeActualArg instanceof ParameterizedType)
         {
-            return GenericsUtil.isAssignableFrom(false, true, observerTypeActualArg, beanClass, new HashMap<>());
+            return webBeansContext.getGenericsCache().isAssignableFrom(false, true, observerTypeActualArg, beanClass);
         }
         
         return false;
@@ -528,7 +546,7 @@ public final class NotificationManager
             if(checkEventTypeParameterForExtensions(beanClass, actualArgs[0])
                     && (secondParam == null || actualArgs.length == 1
                             || checkEventTypeParameterForExtensions(secondParam, actualArgs[1])
-                            || GenericsUtil.isAssignableFrom(true, false, actualArgs[1], secondParam, new HashMap<>())))
+                            || webBeansContext.getGenericsCache().isAssignableFrom(true, false, actualArgs[1], secondParam)))
             {
                 addToMatching(type, matching);   
             }
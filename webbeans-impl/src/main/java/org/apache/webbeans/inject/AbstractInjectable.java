@@ -26,17 +26,14 @@ import java.util.List;
 import javax.enterprise.context.spi.Contextual;
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.IllegalProductException;
-import javax.enterprise.inject.TransientReference;
-import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import javax.enterprise.inject.spi.Producer;
 
-import org.apache.webbeans.component.AbstractProducerBean;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
+import org.apache.webbeans.inject.impl.InjectionPlan;
 import org.apache.webbeans.util.ClassUtil;
-import org.apache.webbeans.util.WebBeansUtil;
 
 /**
  * Abstract implementation of all components which are injectable.
@@ -56,13 +53,16 @@ public abstract class AbstractInjectable<T>
     
     protected final CreationalContextImpl<?> creationalContext;
     
+    /**
+     * Lazily created for the first &#064;TransientReference injection point.
+     * @see #getTransientCreationalContext()
+     */
     protected CreationalContextImpl<?> transientCreationalContext;
 
     protected AbstractInjectable(Producer<?> owner, CreationalContextImpl<?> creationalContext)
     {
         this.owner = owner;
         this.creationalContext = creationalContext;
-        this.transientCreationalContext = creationalContext.getWebBeansContext().getBeanManagerImpl().createCreationalContext(creationalContext.getContextual());
     }
 
     /**
@@ -76,20 +76,20 @@ public abstract class AbstractInjectable<T>
         BeanManagerImpl beanManager = creationalContext.getWebBeansContext().getBeanManagerImpl();
 
         //Injected contextual bean
-        Bean<?> injectedBean = beanManager.getInjectionResolver().getInjectionPointBean(injectionPoint);
+        InjectionPlan plan = beanManager.getInjectionResolver().getInjectionPlan(injectionPoint);
         
         //Injection for dependent instance InjectionPoint fields
         boolean dependentProducer = false;
-        if(WebBeansUtil.isDependent(injectedBean) && !injectionPoint.isTransient() && injectedBean instanceof AbstractProducerBean
+        if(plan.isDependentProducer()
                     && creationalContext.getBean() != null && beanManager.isPassivatingScope(creationalContext.getBean().getScope()))
         {
             dependentProducer = true;
         }
         
         CreationalContext<?> injectionPointContext;
-        if (injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class))
+        if (plan.isTransientReference())
         {
-            injectionPointContext = transientCreationalContext;
+            injectionPointContext = getTransientCreationalContext();
         }
         else
         {
@@ -101,14 +101,13 @@ public abstract class AbstractInjectable<T>
 
         if (injected == null)
         {
-            if (beanManager.isNormalScope(injectedBean.getScope()))
+            if (plan.isNormalScoped())
             {
                 throw new IllegalStateException("InjectableReference is 'null' for " + injectionPoint.toString());
             }
-            Class<?> type = ClassUtil.getClass(injectionPoint.getType());
-            if (type.isPrimitive())
+            if (plan.getPrimitiveType() != null)
             {
-                injected = (T) ClassUtil.getDefaultValue(type);
+                injected = (T) ClassUtil.getDefaultValue(plan.getPrimitiveType());
             }
         }
 
@@ -124,6 +123,31 @@ public abstract class AbstractInjectable<T>
 
         return injected;
     }
+
+    /**
+     * @return the {@link CreationalContext} for &#064;TransientReference injection points,
+     *         created on first use
+     */
+    protected CreationalContextImpl<?> getTransientCreationalContext()
+    {
+        if (transientCreationalContext == null)
+        {
+            transientCreationalContext = creationalContext.getWebBeansContext().getBeanManagerImpl()
+                    .createCreationalContext(creationalContext.getContextual());
+        }
+        return transientCreationalContext;
+    }
+
+    /**
+     * Releases the dependents of all &#064;TransientReference injection points, if there were any.
+     */
+    protected void releaseTransientCreationalContext()
+    {
+        if (transientCreationalContext != null)
+        {
+            transientCreationalContext.release();
+        }
+    }
     
     protected Contextual<?> getBean()
     {
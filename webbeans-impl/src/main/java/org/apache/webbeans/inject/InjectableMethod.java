@@ -20,8 +20,10 @@ package org.apache.webbeans.inject;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -56,13 +58,14 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
     /**Used in dispose method, represents produces method parameter instance*/
     private Object producerMethodInstance;
     
-    private Map<Bean<?>, Object> dependentParameters = new HashMap<>();
+    private Map<Bean<?>, Object> dependentParameters;
 
-    private Set<InjectionPoint> injectionPoints;
+    /** The injection points of the method parameters, ordered by their position */
+    private List<InjectionPoint> injectionPoints;
 
     public InjectableMethod(Method m, Object instance, Producer<T> owner, CreationalContextImpl<T> creationalContext)
     {
-        this(m, instance, owner, creationalContext, new HashSet<>(createInjectionPoints(owner, m)));
+        this(m, instance, owner, creationalContext, orderByPosition(createInjectionPoints(owner, m)));
     }
 
     /**
@@ -72,11 +75,35 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
      * @param instance component instance
      */
     public InjectableMethod(Method m, Object instance, Producer<T> owner, CreationalContextImpl<T> creationalContext, Set<InjectionPoint> ips)
+    {
+        this(m, instance, owner, creationalContext, orderByPosition(ips));
+    }
+
+    /**
+     * Constructs new instance for injection points which already got ordered.
+     *
+     * @param m injectable method
+     * @param instance component instance
+     * @param orderedIps the injection points of the parameters, ordered by position
+     * @see #orderByPosition(Collection)
+     */
+    public InjectableMethod(Method m, Object instance, Producer<T> owner, CreationalContextImpl<T> creationalContext, List<InjectionPoint> orderedIps)
     {
         super(owner,creationalContext);
         method = m;
         ownerInstance = instance;
-        injectionPoints = ips;
+        injectionPoints = orderedIps;
+    }
+
+    /**
+     * @param ips injection points of method parameters
+     * @return the injection points ordered by the position of their parameter
+     */
+    public static List<InjectionPoint> orderByPosition(Collection<InjectionPoint> ips)
+    {
+        List<InjectionPoint> ordered = new ArrayList<>(ips);
+        ordered.sort(Comparator.comparingInt(ip -> ((AnnotatedParameter<?>) ip.getAnnotated()).getPosition()));
+        return ordered;
     }
 
     /*
@@ -91,60 +118,46 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
             owner = NormalScopeProxyFactory.unwrapInstance(owner);
         }
 
-        List<Object> list = new ArrayList<>();
-                
-        
-        for(int i=0;i<injectionPoints.size();i++)
+        Object[] parameters = new Object[injectionPoints.size()];
+
+        for (int i = 0; i < parameters.length; i++)
         {
-            for(InjectionPoint point : injectionPoints)
-            {                
-                AnnotatedParameter<?> parameter = (AnnotatedParameter<?>)point.getAnnotated();
-                if (parameter.getPosition() == i)
-                {
-                    if (point.isDelegate())
-                    {
-                        list.add(creationalContext.getDelegate());
-                        break;
-                    }
+            InjectionPoint point = injectionPoints.get(i);
+            if (point.isDelegate())
+            {
+                parameters[i] = creationalContext.getDelegate();
+                continue;
+            }
 
-                    boolean injectionPoint = false;
-                    if(getBean() instanceof ProducerMethodBean)
-                    {
-                        if(parameter.getBaseType().equals(InjectionPoint.class))
-                        {
-                            BeanManager manager = getWebBeansContext().getBeanManagerImpl();
-                            Object reference = manager.getInjectableReference(point, creationalContext);
-                            list.add(reference);
-                            injectionPoint = true;
-                        }
-                    }
-                    
-                    if(!injectionPoint)
+            AnnotatedParameter<?> parameter = (AnnotatedParameter<?>)point.getAnnotated();
+            if(getBean() instanceof ProducerMethodBean && parameter.getBaseType().equals(InjectionPoint.class))
+            {
+                BeanManager manager = getWebBeansContext().getBeanManagerImpl();
+                parameters[i] = manager.getInjectableReference(point, creationalContext);
+            }
+            else if(isDisposable() && parameter.getAnnotation(Disposes.class) != null)
+            {
+                parameters[i] = producerMethodInstance;
+            }
+            else
+            {
+                Object instance = inject(point);
+                InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+
+                Bean<?> injectedBean = injectionResolver.getInjectionPointBean(point);
+                if(injectedBean.getScope() == Dependent.class)
+                {
+                    if (dependentParameters == null)
                     {
-                        if(isDisposable() && parameter.getAnnotation(Disposes.class) != null)
-                        {
-                            list.add(producerMethodInstance);
-                        }
-                        else
-                        {
-                            Object instance = inject(point);
-                            InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
-
-                            Bean<?> injectedBean = injectionResolver.getInjectionPointBean(point);
-                            if(injectedBean.getScope() == Dependent.class)
-                            {
-                                dependentParameters.put(injectedBean, instance);
-                            }
-
-                            list.add(instance);    
-                        }                        
+                        dependentParameters = new HashMap<>();
                     }
-                                        
-                    break;
+                    dependentParameters.put(injectedBean, instance);
                 }
+
+                parameters[i] = instance;
             }
-        }        
-        
+        }
+
         try
         {
             if (!method.isAccessible())
@@ -152,7 +165,7 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
                 getWebBeansContext().getSecurityService().doPrivilegedSetAccessible(method, true);
             }
 
-            return (T) method.invoke(owner, list.toArray(new Object[list.size()]));
+            return (T) method.invoke(owner, parameters);
 
         }
         catch (Exception e)
@@ -161,14 +174,14 @@ public class InjectableMethod<T> extends AbstractInjectable<T>
         }
         finally
         {
-            transientCreationalContext.release();
+            releaseTransientCreationalContext();
         }
     }
 
     //X TODO is this still needed? If not we can also drop the whole dependentParameters...
     public Map<Bean<?>,Object> getDependentBeanParameters()
     {
-        return dependentParameters;
+        return dependentParameters == null ? Collections.<Bean<?>, Object>emptyMap() : dependentParameters;
     }
 
     /**
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.inject.impl;
+
+import javax.enterprise.inject.TransientReference;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.apache.webbeans.component.AbstractProducerBean;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.container.InjectionResolver;
+import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.WebBeansUtil;
+
+/**
+ * The resolved bean of an {@link InjectionPoint} together with everything
+ * the injection needs to know about it.
+ *
+ * <p>Once the container left its startup phase the plan gets bound to the
+ * {@link InjectionPointImpl}, so injecting the same point again neither
+ * resolves the bean nor inspects its annotations. A plan is only valid for
+ * the resolver generation it got created in.</p>
+ */
+public final class InjectionPlan
+{
+    private final InjectionResolver resolver;
+    private final int generation;
+
+    private final Bean<?> bean;
+    private final boolean dependent;
+    private final boolean normalScoped;
+    private final boolean dependentProducer;
+    private final boolean transientReference;
+    private final Class<?> primitiveType;
+
+    public InjectionPlan(InjectionResolver resolver, int generation, BeanManagerImpl beanManager, InjectionPoint injectionPoint, Bean<?> bean)
+    {
+        this.resolver = resolver;
+        this.generation = generation;
+        this.bean = bean;
+
+        dependent = bean != null && WebBeansUtil.isDependent(bean);
+        normalScoped = bean != null && !dependent && beanManager.isNormalScope(bean.getScope());
+        dependentProducer = dependent && !injectionPoint.isTransient() && bean instanceof AbstractProducerBean;
+        transientReference = injectionPoint.getAnnotated() != null &&
+                injectionPoint.getAnnotated().isAnnotationPresent(TransientReference.class);
+
+        Class<?> type = ClassUtil.getClass(injectionPoint.getType());
+        primitiveType = type != null && type.isPrimitive() ? type : null;
+    }
+
+    /**
+     * @return whether this plan got created by the given resolver in the given generation
+     */
+    public boolean isValidFor(InjectionResolver resolver, int generation)
+    {
+        return this.resolver == resolver && this.generation == generation;
+    }
+
+    public Bean<?> getBean()
+    {
+        return bean;
+    }
+
+    public boolean isDependent()
+    {
+        return dependent;
+    }
+
+    public boolean isNormalScoped()
+    {
+        return normalScoped;
+    }
+
+    /**
+     * @return whether the bean is a &#064;Dependent producer injected into a non transient injection point.
+     *         Such a product must be serializable if the owner has a passivating scope.
+     */
+    public boolean isDependentProducer()
+    {
+        return dependentProducer;
+    }
+
+    /**
+     * @return whether the injection point is annotated with {@link TransientReference}
+     */
+    public boolean isTransientReference()
+    {
+        return transientReference;
+    }
+
+    /**
+     * @return the primitive type of the injection point or {@code null} if it is no primitive
+     */
+    public Class<?> getPrimitiveType()
+    {
+        return primitiveType;
+    }
+}
@@ -26,6 +26,7 @@ import org.apache.webbeans.portable.events.generics.GProcessInjectionPoint;
 import org.apache.webbeans.spi.InjectionPointService;
 import org.apache.webbeans.util.AnnotationUtil;
 import org.apache.webbeans.util.Asserts;
+import org.apache.webbeans.util.ImmutableArraySet;
 
 import javax.enterprise.event.Observes;
 import javax.enterprise.event.ObservesAsync;
@@ -154,7 +155,7 @@ public class InjectionPointFactory
             }
         }
 
-        InjectionPoint injectionPoint = new InjectionPointImpl(owner, Arrays.asList(qualifierAnnots), annotField);
+        InjectionPoint injectionPoint = new InjectionPointImpl(owner, internQualifiers(qualifierAnnots), annotField);
 
         if (fireEvent)
         {
@@ -177,7 +178,7 @@ public class InjectionPointFactory
         Asserts.assertNotNull(parameter, "annotatedParameter");
         Set<Annotation> anns = parameter.getAnnotations();
         Annotation[] qualifierAnnots = webBeansContext.getAnnotationManager().getQualifierAnnotations(anns.toArray(new Annotation[anns.size()]));
-        InjectionPointImpl injectionPoint = new InjectionPointImpl(owner, Arrays.asList(qualifierAnnots), parameter);
+        InjectionPointImpl injectionPoint = new InjectionPointImpl(owner, internQualifiers(qualifierAnnots), parameter);
         if (fireEvent)
         {
             GProcessInjectionPoint event = webBeansContext.getWebBeansUtil().fireProcessInjectionPointEvent(injectionPoint);
@@ -209,6 +210,11 @@ public class InjectionPointFactory
         }
     }
 
+    private Set<Annotation> internQualifiers(Annotation[] qualifierAnnots)
+    {
+        return webBeansContext.getBeanMetadataPool().intern(ImmutableArraySet.copyOf(Arrays.asList(qualifierAnnots)));
+    }
+
     public static InjectionPoint getPartialInjectionPoint(Bean<?> owner, AnnotatedParameter<?> parameter, Collection<Annotation> bindings)
     {
         return new InjectionPointImpl(owner, bindings, parameter);
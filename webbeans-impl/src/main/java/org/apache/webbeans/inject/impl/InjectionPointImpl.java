@@ -31,7 +31,6 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -52,6 +51,7 @@ import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.event.EventUtil;
 import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.util.Asserts;
+import org.apache.webbeans.util.ImmutableArraySet;
 import org.apache.webbeans.util.OwbCustomObjectInputStream;
 import org.apache.webbeans.util.WebBeansUtil;
 
@@ -73,6 +73,11 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
     
     private boolean delegate;
 
+    /**
+     * The resolved injection plan, bound once the container finished its startup.
+     */
+    private transient volatile InjectionPlan injectionPlan;
+
     InjectionPointImpl(Bean<?> ownerBean, Collection<Annotation> qualifiers, AnnotatedField<?> annotatedField)
     {
         this(ownerBean, annotatedField.getBaseType(), qualifiers, annotatedField,
@@ -94,9 +99,7 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         Asserts.assertNotNull(bean, "bean");
         this.ownerBean = bean;
         this.injectionType = bean.getBeanClass();
-        this.qualifierAnnotations = bean.getQualifiers() == null ?
-                Collections.<Annotation>emptySet() :
-                Collections.unmodifiableSet(new HashSet<>(bean.getQualifiers()));
+        this.qualifierAnnotations = ImmutableArraySet.copyOf(bean.getQualifiers());
         this.annotated = null;
         this.injectionMember = null;
         this.delegate = false;
@@ -116,7 +119,7 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         Asserts.assertNotNull(qualifiers, "qualifiers");
         this.ownerBean = ownerBean;
         injectionType = type;
-        qualifierAnnotations = Collections.unmodifiableSet(new HashSet<>(qualifiers));
+        qualifierAnnotations = ImmutableArraySet.copyOf(qualifiers);
         this.annotated = annotated;
         injectionMember = member;
         this.delegate = delegate;
@@ -172,6 +175,16 @@ public class InjectionPointImpl implements InjectionPoint, Serializable
         return transientt;
     }
     
+    public InjectionPlan getInjectionPlan()
+    {
+        return injectionPlan;
+    }
+
+    public void setInjectionPlan(InjectionPlan injectionPlan)
+    {
+        this.injectionPlan = injectionPlan;
+    }
+
     private void writeObject(java.io.ObjectOutputStream op) throws IOException
     {
         ObjectOutputStream out = new ObjectOutputStream(op);
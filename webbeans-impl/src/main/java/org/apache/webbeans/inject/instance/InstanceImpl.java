@@ -25,13 +25,17 @@ import java.io.Serializable;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Member;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.enterprise.context.spi.AlterableContext;
 import javax.enterprise.context.spi.Context;
@@ -62,6 +66,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 {
     private static final long serialVersionUID = -8401944412490389024L;
 
+    /**
+     * Upper bound of cached selections to not blow up the memory if
+     * the qualifiers are dynamically created, e.g. a &#064;Named with a generated value.
+     */
+    private static final int MAX_CACHED_SELECTIONS = 128;
+
     /** Injected class type */
     private Type injectionClazz;
 
@@ -75,10 +85,34 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
 
     private WebBeansContext webBeansContext;
 
+    /**
+     * The CreationalContexts of all &#064;Dependent instances we handed out.
+     * Normal scoped proxies are not tracked as they get destroyed via their Context.
+     */
     private Map<Object, CreationalContextImpl<?>> creationalContexts;
 
     private boolean strictValidation;
 
+    /**
+     * The Bean resolved by {@link #get()}.
+     * This only gets cached after the container got deployed as the set of beans
+     * cannot change anymore from then on.
+     */
+    private transient volatile Bean<?> resolvedBean;
+
+    /**
+     * Whether the {@link #resolvedBean} is normal scoped.
+     * Must only be read after reading {@link #resolvedBean}.
+     */
+    private transient boolean resolvedBeanNormalScoped;
+
+    /**
+     * The Instances created via the {@code select(...)} methods.
+     * This allows to use an {@code Instance<T>} as dispatch table without
+     * resolving the beans again on each invocation.
+     */
+    private transient volatile ConcurrentMap<List<Object>, InstanceImpl<?>> selections;
+
     /**
      * Creates new instance.
      * 
@@ -114,10 +148,24 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     @Override
     public T get()
     {
+        Bean<?> bean = resolvedBean;
+        if (bean != null)
+        {
+            if (resolvedBeanNormalScoped)
+            {
+                Object proxy = webBeansContext.getBeanManagerImpl().getCachedProxy(bean);
+                if (proxy != null)
+                {
+                    return (T) proxy;
+                }
+            }
+            return create(bean);
+        }
 
+        BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
         Set<Bean<?>> beans = resolveBeans();
 
-        Bean<?> bean = webBeansContext.getBeanManagerImpl().resolve(beans);
+        bean = beanManager.resolve(beans);
 
         if (bean == null)
         {
@@ -126,6 +174,12 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
             InjectionExceptionUtil.throwUnsatisfiedResolutionException(ClassUtil.getClazz(injectionClazz), injectionPoint, anns);
         }
 
+        if (beanManager.isAfterDeploymentValidationFired())
+        {
+            resolvedBeanNormalScoped = beanManager.isNormalScope(bean.getScope());
+            resolvedBean = bean;
+        }
+
         return create(bean);
     }
 
@@ -185,10 +239,17 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
             webBeansContext.getAnnotationManager().checkQualifierConditions(qualifiers);
         }
 
+        List<Object> selectionKey = selectionKey(null, qualifiers);
+        InstanceImpl<T> selection = getSelection(selectionKey);
+        if (selection != null)
+        {
+            return selection;
+        }
+
         Annotation[] newQualifiersArray = qualifiers;
-        return new InstanceImpl<>(
+        return putSelection(selectionKey, new InstanceImpl<>(
             injectionClazz, injectionPoint == null ? null : new InstanceInjectionPoint(injectionPoint, newQualifiersArray),
-            webBeansContext, newQualifiersArray);
+            webBeansContext, newQualifiersArray));
     }
 
     /**
@@ -208,15 +269,55 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         {
             sub = injectionClazz;
         }
-        if (qualifiers== null || qualifiers.length == 0)
-        {
 
+        List<Object> selectionKey = selectionKey(sub, qualifiers);
+        InstanceImpl<U> selection = getSelection(selectionKey);
+        if (selection != null)
+        {
+            return selection;
         }
+
         Annotation[] effectiveQualifiers = qualifiers != null && qualifiers.length > 0
             ? qualifiers
             : qualifierAnnotations.toArray(new Annotation[qualifierAnnotations.size()]);
 
-        return new InstanceImpl<>(sub, injectionPoint, webBeansContext, effectiveQualifiers);
+        return putSelection(selectionKey, new InstanceImpl<>(sub, injectionPoint, webBeansContext, effectiveQualifiers));
+    }
+
+    private static List<Object> selectionKey(Type subtype, Annotation[] qualifiers)
+    {
+        List<Object> key = new ArrayList<>((qualifiers != null ? qualifiers.length : 0) + 1);
+        key.add(subtype);
+        if (qualifiers != null)
+        {
+            Collections.addAll(key, qualifiers);
+        }
+        return key;
+    }
+
+    private <U> InstanceImpl<U> getSelection(List<Object> selectionKey)
+    {
+        ConcurrentMap<List<Object>, InstanceImpl<?>> currentSelections = selections;
+        return currentSelections != null ? (InstanceImpl<U>) currentSelections.get(selectionKey) : null;
+    }
+
+    private <U> InstanceImpl<U> putSelection(List<Object> selectionKey, InstanceImpl<U> selection)
+    {
+        ConcurrentMap<List<Object>, InstanceImpl<?>> currentSelections = selections;
+        if (currentSelections == null)
+        {
+            currentSelections = new ConcurrentHashMap<>();
+            selections = currentSelections;
+        }
+        if (currentSelections.size() < MAX_CACHED_SELECTIONS)
+        {
+            InstanceImpl<?> existing = currentSelections.putIfAbsent(selectionKey, selection);
+            if (existing != null)
+            {
+                return (InstanceImpl<U>) existing;
+            }
+        }
+        return selection;
     }
 
     /**
@@ -276,7 +377,7 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
         else
         {
-            CreationalContextImpl<?> creationalContext = creationalContexts.remove(instance);
+            CreationalContextImpl<?> creationalContext = creationalContexts != null ? creationalContexts.remove(instance) : null;
             if (creationalContext == null)
             {
                 throw new IllegalArgumentException("instance " + instance + " not produced with this Instance<?>");
@@ -295,11 +396,10 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         try
         {
             T reference = (T) beanManager.getReference(bean, injectionClazz, creationalContext);
-            if (creationalContexts == null)
+            if (!(reference instanceof OwbNormalScopeProxy))
             {
-                creationalContexts = new IdentityHashMap<>();
+                trackCreationalContext(reference, creationalContext);
             }
-            creationalContexts.put(reference, creationalContext);
             return reference;
         }
         finally
@@ -308,6 +408,15 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
         }
     }
     
+    private synchronized void trackCreationalContext(Object reference, CreationalContextImpl<?> creationalContext)
+    {
+        if (creationalContexts == null)
+        {
+            creationalContexts = Collections.synchronizedMap(new IdentityHashMap<>());
+        }
+        creationalContexts.put(reference, creationalContext);
+    }
+
     private void writeObject(java.io.ObjectOutputStream op) throws IOException
     {
         ObjectOutputStream oos = new ObjectOutputStream(op);
@@ -356,11 +465,26 @@ public class InstanceImpl<T> implements Instance<T>, Serializable
     {
         if (creationalContexts != null)
         {
-            for (CreationalContextImpl<?> creationalContext : creationalContexts.values())
+            List<CreationalContextImpl<?>> toRelease;
+            synchronized (creationalContexts)
+            {
+                toRelease = new ArrayList<>(creationalContexts.values());
+                creationalContexts.clear();
+            }
+            for (CreationalContextImpl<?> creationalContext : toRelease)
             {
                 creationalContext.release();
             }
         }
+
+        if (selections != null)
+        {
+            for (InstanceImpl<?> selection : selections.values())
+            {
+                selection.release();
+            }
+            selections.clear();
+        }
     }
 
     private static class InstanceInjectionPoint implements InjectionPoint, Serializable
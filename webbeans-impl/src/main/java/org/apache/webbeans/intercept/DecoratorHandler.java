@@ -40,7 +40,6 @@ import java.io.ObjectStreamException;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
@@ -78,32 +77,21 @@ public class DecoratorHandler implements InterceptorHandler, Externalizable
     public Object invoke(Method method, Object[] args)
     {
         BusinessMethodInterceptorInfo methodInterceptorInfo = interceptorInfo.getBusinessMethodsInfo().get(method);
-        LinkedHashMap<Decorator<?>, Method> methodDecorators = methodInterceptorInfo.getMethodDecorators();
-        if (methodDecorators != null)
+        int position = methodInterceptorInfo.getNextDecorator(decorators, index);
+        if (position != -1)
         {
-            for (int i = index; i < decorators.size(); i++)
+            Decorator<?> decorator = decorators.get(position);
+            try
             {
-                Decorator<?> decorator = decorators.get(i);
-                Method decoratingMethod = methodDecorators.get(decorator);
-                if (decoratingMethod != null)
-                {
-                    try
-                    {
-                        if (!decoratingMethod.isAccessible())
-                        {
-                            decoratingMethod.setAccessible(true);
-                        }
-                        return decoratingMethod.invoke(instances.get(decorator), args);
-                    }
-                    catch (InvocationTargetException e)
-                    {
-                        return ExceptionUtil.throwAsRuntimeException(e.getTargetException());
-                    }
-                    catch (Exception e)
-                    {
-                        return ExceptionUtil.throwAsRuntimeException(e);
-                    }
-                }
+                return methodInterceptorInfo.getDecoratingMethod(decorators, position).invoke(instances.get(decorator), args);
+            }
+            catch (InvocationTargetException e)
+            {
+                return ExceptionUtil.throwAsRuntimeException(e.getTargetException());
+            }
+            catch (Exception e)
+            {
+                return ExceptionUtil.throwAsRuntimeException(e);
             }
         }
         try
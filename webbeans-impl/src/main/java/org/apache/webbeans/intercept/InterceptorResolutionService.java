@@ -492,6 +492,7 @@ public class InterceptorResolutionService
         if (appliedDecorators.size() > 0)
         {
             methodInterceptorInfo.setMethodDecorators(appliedDecorators);
+            methodInterceptorInfo.initDecoratorDispatch(decorators);
         }
     }
 
@@ -514,7 +515,7 @@ public class InterceptorResolutionService
             if (decoratedType instanceof Class)
             {
                 Class decoratedClass = (Class) decoratedType;
-                Method[] decoratorMethods = decoratedClass.getDeclaredMethods();
+                Method[] decoratorMethods = webBeansContext.getReflectionCache().getDeclaredMethods(decoratedClass);
                 for (Method decoratorMethod : decoratorMethods)
                 {
                     int modifiers = decoratorMethod.getModifiers();
@@ -709,7 +710,7 @@ public class InterceptorResolutionService
     private List<AnnotatedMethod> getInterceptableBusinessMethods(AnnotatedType annotatedType)
     {
         Class<?> javaClass = annotatedType.getJavaClass();
-        List<Method> interceptableMethods = ClassUtil.getNonPrivateMethods(javaClass, false);
+        List<Method> interceptableMethods = webBeansContext.getReflectionCache().getNonPrivateMethods(javaClass, false);
 
         List<AnnotatedMethod> interceptableAnnotatedMethods = new ArrayList<>();
 
@@ -1006,6 +1007,23 @@ public class InterceptorResolutionService
         private Interceptor<?>[] cdiInterceptors;
         private LinkedHashMap<Decorator<?>, Method> methodDecorators;
 
+        /**
+         * The decorator list of the bean {@link #nextDecorators} and
+         * {@link #decoratingMethods} got computed for.
+         */
+        private List<Decorator<?>> dispatchDecorators;
+
+        /**
+         * For each position in {@link #dispatchDecorators} the position of the
+         * first Decorator at or after it which decorates this method, or -1.
+         */
+        private int[] nextDecorators;
+
+        /**
+         * The decorating methods, aligned with {@link #dispatchDecorators}.
+         */
+        private Method[] decoratingMethods;
+
         public BusinessMethodInterceptorInfo()
         {
         }
@@ -1066,6 +1084,89 @@ public class InterceptorResolutionService
             }
         }
 
+        /**
+         * Precompute the next Decorator to invoke for each position in the given
+         * decorator list of the bean. This saves us from walking the
+         * {@link #getMethodDecorators()} map on each decorated invocation.
+         */
+        public void initDecoratorDispatch(List<Decorator<?>> decorators)
+        {
+            if (methodDecorators == null)
+            {
+                dispatchDecorators = null;
+                nextDecorators = null;
+                decoratingMethods = null;
+                return;
+            }
+
+            int[] next = new int[decorators.size()];
+            Method[] methods = new Method[decorators.size()];
+            int nextPosition = -1;
+            for (int i = decorators.size() - 1; i >= 0; i--)
+            {
+                Method decoratingMethod = methodDecorators.get(decorators.get(i));
+                if (decoratingMethod != null)
+                {
+                    if (!decoratingMethod.isAccessible())
+                    {
+                        decoratingMethod.setAccessible(true);
+                    }
+                    methods[i] = decoratingMethod;
+                    nextPosition = i;
+                }
+                next[i] = nextPosition;
+            }
+
+            nextDecorators = next;
+            decoratingMethods = methods;
+            dispatchDecorators = decorators;
+        }
+
+        /**
+         * @return the position of the first Decorator in the given list at or after the given position
+         *         which decorates this method, or -1 if no such Decorator exists.
+         */
+        public int getNextDecorator(List<Decorator<?>> decorators, int position)
+        {
+            if (methodDecorators == null)
+            {
+                return -1;
+            }
+            if (decorators == dispatchDecorators)
+            {
+                return position < nextDecorators.length ? nextDecorators[position] : -1;
+            }
+
+            // e.g. a filtered list for Event decorators or a deserialized decorator chain
+            for (int i = position; i < decorators.size(); i++)
+            {
+                if (methodDecorators.containsKey(decorators.get(i)))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @return the decorating method of the Decorator at the given position of the given list
+         * @see #getNextDecorator(List, int)
+         */
+        public Method getDecoratingMethod(List<Decorator<?>> decorators, int position)
+        {
+            if (decorators == dispatchDecorators)
+            {
+                return decoratingMethods[position];
+            }
+
+            Method decoratingMethod = methodDecorators.get(decorators.get(position));
+            if (!decoratingMethod.isAccessible())
+            {
+                decoratingMethod.setAccessible(true);
+            }
+            return decoratingMethod;
+        }
+
         public void setEjbInterceptors(List<Interceptor<?>> ejbInterceptors)
         {
             if (ejbInterceptors == null || ejbInterceptors.isEmpty())
@@ -114,7 +114,7 @@ public final class InterceptorUtil
             throw new WebBeansDeploymentException("Final Simple class with name : " + clazz.getName() + " can not define any InterceptorBindings");
         }
 
-        Method[] methods = webBeansContext.getSecurityService().doPrivilegedGetDeclaredMethods(clazz);
+        Method[] methods = webBeansContext.getReflectionCache().getDeclaredMethods(clazz);
 
         for (Method method : methods)
         {
@@ -81,6 +81,18 @@ public class InterceptorsManager
 
     private final PriorityClasses priorityInterceptors = new PriorityClasses();
 
+    /**
+     * Position of each enabled interceptor class in the invocation order.
+     * Lazily built from the &#064;Priority and the beans.xml interceptors.
+     */
+    private volatile Map<Class<?>, Integer> interceptorOrder;
+
+    /**
+     * The enabled CDI interceptors per interceptor binding type.
+     * Interceptors without any binding get stored with the key {@code null}.
+     */
+    private volatile Map<Class<? extends Annotation>, List<Interceptor<?>>> interceptorsByBindingType;
+
 
     public InterceptorsManager(WebBeansContext webBeansContext)
     {
@@ -100,6 +112,19 @@ public class InterceptorsManager
         cdiInterceptors.clear();
         ejbInterceptors.clear();
         priorityInterceptors.clear();
+        clearResolutionCaches();
+    }
+
+    /**
+     * Drops the interceptor order and resolution caches.
+     * Must get called whenever the enabled interceptors, their order or their bindings change
+     * without going through this class, e.g. after AfterTypeDiscovery observers modified
+     * the list returned by {@link #getPrioritizedInterceptors()}.
+     */
+    public void clearResolutionCaches()
+    {
+        interceptorOrder = null;
+        interceptorsByBindingType = null;
     }
 
 
@@ -113,6 +138,7 @@ public class InterceptorsManager
         if (!configuredInterceptorClasses.contains(interceptorClazz))
         {
             configuredInterceptorClasses.add(interceptorClazz);
+            clearResolutionCaches();
         }
     }
 
@@ -155,40 +181,44 @@ public class InterceptorsManager
         Asserts.assertNotNull(src, "src");
         Asserts.assertNotNull(target, "target");
 
-        int p1 = priorityInterceptors.getSorted().indexOf(src);
-        int p2 = priorityInterceptors.getSorted().indexOf(target);
+        Map<Class<?>, Integer> order = getInterceptorOrder();
 
-        int srcIndex = p1;
-        if (srcIndex == -1)
+        Integer srcIndex = order.get(src);
+        if (srcIndex == null)
         {
-            int i = configuredInterceptorClasses.indexOf(src);
-            if (i == -1)
-            {
-                throw new IllegalArgumentException(src.getName() + " is not an enabled interceptor!");
-            }
-            srcIndex = priorityInterceptors.getSorted().size() + i;
+            throw new IllegalArgumentException(src.getName() + " is not an enabled interceptor!");
         }
 
-        int targetIndex = p2;
-        if (targetIndex == -1)
+        Integer targetIndex = order.get(target);
+        if (targetIndex == null)
         {
-            int i = configuredInterceptorClasses.indexOf(target);
-            if (i == -1)
-            {
-                throw new IllegalArgumentException(target.getName() + " is not an enabled interceptor!");
-            }
-            targetIndex = priorityInterceptors.getSorted().size() + i;
+            throw new IllegalArgumentException(target.getName() + " is not an enabled interceptor!");
         }
 
-        if (srcIndex == -1 && targetIndex != -1)
-        {
-            return -1;
-        }
-        if (srcIndex != -1 && targetIndex == -1)
+        return srcIndex - targetIndex;
+    }
+
+    /**
+     * &#064;Priority interceptors come first, followed by the ones enabled in beans.xml.
+     */
+    private Map<Class<?>, Integer> getInterceptorOrder()
+    {
+        Map<Class<?>, Integer> order = interceptorOrder;
+        if (order == null)
         {
-            return 1;
+            List<Class<?>> prioritized = priorityInterceptors.getSorted();
+            order = new HashMap<>();
+            for (int i = 0; i < prioritized.size(); i++)
+            {
+                order.putIfAbsent(prioritized.get(i), i);
+            }
+            for (int i = 0; i < configuredInterceptorClasses.size(); i++)
+            {
+                order.putIfAbsent(configuredInterceptorClasses.get(i), prioritized.size() + i);
+            }
+            interceptorOrder = order;
         }
-        return srcIndex - targetIndex;
+        return order;
     }
 
     /**
@@ -198,24 +228,68 @@ public class InterceptorsManager
     {
         Asserts.nullCheckForClass(interceptorClazz, "interceptorClazz can not be null");
 
-        return configuredInterceptorClasses.contains(interceptorClazz)
-                || priorityInterceptors.contains(interceptorClazz);
+        return getInterceptorOrder().containsKey(interceptorClazz);
     }
 
     public List<Interceptor<?>> resolveInterceptors(InterceptionType type, Annotation... interceptorBindings)
     {
+        Map<Class<? extends Annotation>, List<Interceptor<?>>> index = getInterceptorsByBindingType();
+
+        // an interceptor can only match if at least one of its bindings got requested
         List<Interceptor<?>> interceptorList = new ArrayList<>();
-        for (Interceptor<?> interceptor : cdiInterceptors)
+        for (Annotation interceptorBinding : interceptorBindings)
+        {
+            addMatchingInterceptors(interceptorList, index.get(interceptorBinding.annotationType()), type, interceptorBindings);
+        }
+        addMatchingInterceptors(interceptorList, index.get(null), type, interceptorBindings);
+
+        interceptorList.sort(new InterceptorComparator(webBeansContext));
+
+        return interceptorList;
+    }
+
+    private void addMatchingInterceptors(List<Interceptor<?>> interceptorList, List<Interceptor<?>> candidates,
+                                         InterceptionType type, Annotation[] interceptorBindings)
+    {
+        if (candidates == null)
         {
-            if (interceptor.intercepts(type) && intercepts(interceptor, interceptorBindings) && isInterceptorClassEnabled(interceptor.getBeanClass()))
+            return;
+        }
+        for (Interceptor<?> interceptor : candidates)
+        {
+            if (interceptor.intercepts(type) && !interceptorList.contains(interceptor) && intercepts(interceptor, interceptorBindings))
             {
                 interceptorList.add(interceptor);
             }
         }
+    }
 
-        interceptorList.sort(new InterceptorComparator(webBeansContext));
+    private Map<Class<? extends Annotation>, List<Interceptor<?>>> getInterceptorsByBindingType()
+    {
+        Map<Class<? extends Annotation>, List<Interceptor<?>>> index = interceptorsByBindingType;
+        if (index == null)
+        {
+            index = new HashMap<>();
+            for (Interceptor<?> interceptor : cdiInterceptors)
+            {
+                if (!isInterceptorClassEnabled(interceptor.getBeanClass()))
+                {
+                    continue;
+                }
 
-        return interceptorList;
+                Set<Annotation> bindings = interceptor.getInterceptorBindings();
+                if (bindings.isEmpty())
+                {
+                    index.computeIfAbsent(null, k -> new ArrayList<>()).add(interceptor);
+                }
+                for (Annotation binding : bindings)
+                {
+                    index.computeIfAbsent(binding.annotationType(), k -> new ArrayList<>()).add(interceptor);
+                }
+            }
+            interceptorsByBindingType = index;
+        }
+        return index;
     }
 
     private boolean intercepts(Interceptor<?> interceptor, Annotation[] requestedInterceptorBindings)
@@ -283,6 +357,7 @@ public class InterceptorsManager
     {
         cdiInterceptors.add(interceptor);
         beanManager.addPassivationInfo(interceptor);
+        clearResolutionCaches();
     }
 
 
@@ -306,12 +381,14 @@ public class InterceptorsManager
     public void addInterceptorBindingType(AnnotatedType<? extends Annotation> annotatedType)
     {
         additionalInterceptorBindingTypesAnnotatedTypes.add(annotatedType);
+        clearResolutionCaches();
     }
 
     public void addInterceptorBindingType(Class<? extends Annotation> bindingType, Annotation... inheritsArray)
     {
         Set<Annotation> inherits = additionalInterceptorBindingTypes.computeIfAbsent(bindingType, k -> new HashSet<>());
         Collections.addAll(inherits, inheritsArray);
+        clearResolutionCaches();
     }
 
     public boolean hasInterceptorBindingType(Class<? extends Annotation> bindingType)
@@ -360,5 +437,6 @@ public class InterceptorsManager
     public void addPriorityClazzInterceptor(Class<?> javaClass, int priority)
     {
         priorityInterceptors.add(javaClass, priority);
+        clearResolutionCaches();
     }
 }
@@ -18,9 +18,15 @@
  */
 package org.apache.webbeans.intercept;
 
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.Context;
 import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
-import java.util.HashMap;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
+import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.spi.ContextsService;
 
 
 /**
@@ -28,24 +34,34 @@ import java.util.HashMap;
  * made for &#064;RequestScoped beans used in web applications.</p>
  * 
  * <p>Since there is only one single contextual instance of an &#064;RequestScoped bean per thread,
- * we can simply cache this instance inside our bean. We only need to reload this instance
- * if it is null or if the thread ends.</p>
+ * we can directly read it from the current {@link RequestContext}. Each bean gets a fixed
+ * slot index assigned when the proxy gets created. Thus the lookup is a single array access
+ * instead of a {@link BeanManager#getContext(Class)} resolution plus a map lookup.</p>
+ *
+ * <p>The current context gets resolved on each invocation. This keeps the proxy correct
+ * if the request context gets activated, deactivated or switched on the current thread.</p>
  */
 public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterceptorHandler
 {
     /**default serial id*/
     private static final long serialVersionUID = 1L;
 
+    private final transient ContextsService contextsService;
+
     /**
-     * Cached bean instance for each thread
+     * The index of our contextual instance in the {@link RequestContext}
      */
-    private static ThreadLocal<HashMap<Bean<?>, Object>> cachedInstances = new ThreadLocal<>();
+    private final transient int slot;
 
 
+    /**
+     * @deprecated contextual instances are now cached in the {@link RequestContext} itself,
+     *             there are no ThreadLocals to clean up anymore.
+     */
+    @Deprecated
     public static void removeThreadLocals()
     {
-        cachedInstances.set(null);
-        cachedInstances.remove();
+        // nothing to do
     }
 
     /**
@@ -54,6 +70,12 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     public RequestScopedBeanInterceptorHandler(BeanManager beanManager, Bean<?> bean)
     {
         super(beanManager, bean);
+
+        WebBeansContext webBeansContext = beanManager instanceof BeanManagerImpl
+                ? ((BeanManagerImpl) beanManager).getWebBeansContext()
+                : WebBeansContext.currentInstance();
+        contextsService = webBeansContext.getContextsService();
+        slot = webBeansContext.getNormalScopeProxyFactory().getContextualInstanceSlot(bean);
     }
     
     /**
@@ -62,22 +84,22 @@ public class RequestScopedBeanInterceptorHandler extends NormalScopedBeanInterce
     @Override
     protected Object getContextualInstance()
     {
-        HashMap<Bean<?>, Object> beanMap = cachedInstances.get();
-        if (beanMap == null)
+        Context context = contextsService.getCurrentContext(RequestScoped.class);
+        if (!(context instanceof RequestContext) || !context.isActive())
         {
-            beanMap = new HashMap<>();
-            cachedInstances.set(beanMap);
+            // e.g. a custom request context
+            return super.getContextualInstance();
         }
 
-        Object cachedInstance = beanMap.get(bean);
-        if (cachedInstance == null)
+        RequestContext requestContext = (RequestContext) context;
+        Object instance = requestContext.getSlotInstance(slot);
+        if (instance == null)
         {
-
-            cachedInstance = super.getContextualInstance();
-            beanMap.put(bean, cachedInstance);
+            instance = super.getContextualInstance();
+            requestContext.setSlotInstance(slot, instance);
         }
 
-        return cachedInstance;
+        return instance;
     }
 
 }
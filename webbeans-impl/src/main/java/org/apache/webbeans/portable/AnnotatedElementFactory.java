@@ -342,6 +342,25 @@ public final class AnnotatedElementFactory
         return (Set<AnnotatedMethod<? super T>>)(Set<?>)methods;
     }
 
+    /**
+     * @return the number of annotated types, constructors, methods and fields which are currently cached.
+     *         Those get rebuilt on demand after {@link #clear()}.
+     */
+    public int getCachedElementCount()
+    {
+        int count = annotatedConstructorCache.size() + annotatedMethodCache.size() + annotatedFieldCache.size()
+                + annotatedMethodsOfTypeCache.size();
+        for (ConcurrentMap<String, AnnotatedType<?>> annotatedTypes : annotatedTypeCache.values())
+        {
+            count += annotatedTypes.size();
+        }
+        for (ConcurrentMap<String, AnnotatedType<?>> annotatedTypes : modifiedAnnotatedTypeCache.values())
+        {
+            count += annotatedTypes.size();
+        }
+        return count;
+    }
+
     /**
      * Clear caches.
      */
@@ -254,7 +254,7 @@ public class AnnotatedTypeImpl<X>
         private State()
         {
             Constructor<?>[] decCtxs =
-                getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredConstructors(annotatedClass);
+                getWebBeansContext().getReflectionCache().getDeclaredConstructors(annotatedClass);
 
             Set<AnnotatedConstructor<X>> constructors = new HashSet<>();
             Set<AnnotatedField<? super X>> fields = new HashSet<>();
@@ -286,7 +286,7 @@ public class AnnotatedTypeImpl<X>
                 }
             }
 
-            Field[] decFields = getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredFields(annotatedClass);
+            Field[] decFields = getWebBeansContext().getReflectionCache().getDeclaredFields(annotatedClass);
             for (Field f : decFields)
             {
                 if (!f.isSynthetic())
@@ -297,7 +297,7 @@ public class AnnotatedTypeImpl<X>
             }
 
             Method[] decMethods =
-                    getWebBeansContext().getSecurityService().doPrivilegedGetDeclaredMethods(annotatedClass);
+                    getWebBeansContext().getReflectionCache().getDeclaredMethods(annotatedClass);
             for (Method m : decMethods)
             {
                 if (!m.isSynthetic() && !m.isBridge())
@@ -23,6 +23,7 @@ import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.inject.InjectableMethod;
 import org.apache.webbeans.spi.plugins.OpenWebBeansEjbPlugin;
 import org.apache.webbeans.util.Asserts;
+import org.apache.webbeans.util.WebBeansUtil;
 
 import javax.enterprise.context.spi.CreationalContext;
 import javax.enterprise.inject.Any;
@@ -34,6 +35,7 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.InjectionPoint;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.List;
 import java.util.Set;
 
 public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
@@ -46,6 +48,11 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
     protected boolean isAnyDisposal;
     protected AnnotatedMethod<? super P> disposerMethod;
 
+    /**
+     * The disposalIPs ordered by parameter position, computed on first disposal.
+     */
+    private volatile List<InjectionPoint> orderedDisposalIPs;
+
     public BaseProducerProducer(Bean<P> owner,
                                 AnnotatedMethod<? super P> disposerMethod,
                                 Set<InjectionPoint> points,
@@ -115,10 +122,17 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
 
                 if (!Modifier.isStatic(disposalMethod.getModifiers()))
                 {
-                    parentInstance = (P)webBeansContext.getBeanManagerImpl().getReference(owner, owner.getBeanClass(), parentCreationalContext);
+                    parentInstance = getOwnerReference(parentCreationalContext);
+                }
+
+                List<InjectionPoint> ips = orderedDisposalIPs;
+                if (ips == null)
+                {
+                    ips = InjectableMethod.orderByPosition(disposalIPs);
+                    orderedDisposalIPs = ips;
                 }
 
-                m = new InjectableMethod<>(disposalMethod, parentInstance, this, (CreationalContextImpl<T>) parentCreationalContext, disposalIPs);
+                m = new InjectableMethod<>(disposalMethod, parentInstance, this, (CreationalContextImpl<T>) parentCreationalContext, ips);
                 m.setDisposable(true);
                 m.setProducerMethodInstance(instance);
 
@@ -135,6 +149,36 @@ public abstract class BaseProducerProducer<T, P> extends AbstractProducer<T>
         }
     }
 
+    /**
+     * @return the normal scoped proxy of the owner if the BeanManager already created one,
+     *         {@code null} otherwise
+     */
+    protected P getCachedOwnerProxy()
+    {
+        if (WebBeansUtil.isDependent(owner))
+        {
+            return null;
+        }
+        return (P) webBeansContext.getBeanManagerImpl().getCachedProxy(owner);
+    }
+
+    /**
+     * Normal scoped owners get served from the proxy cache of the BeanManager,
+     * which avoids the type checks of {@link javax.enterprise.inject.spi.BeanManager#getReference}.
+     *
+     * @param parentCreationalContext the context a &#064;Dependent owner gets created in
+     * @return the contextual reference of the owner bean
+     */
+    protected P getOwnerReference(CreationalContext<P> parentCreationalContext)
+    {
+        P proxy = getCachedOwnerProxy();
+        if (proxy != null)
+        {
+            return proxy;
+        }
+        return (P) webBeansContext.getBeanManagerImpl().getReference(owner, owner.getBeanClass(), parentCreationalContext);
+    }
+
     public Set<InjectionPoint> getDisposalIPs()
     {
         return disposalIPs;
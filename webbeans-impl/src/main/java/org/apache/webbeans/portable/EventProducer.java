@@ -22,7 +22,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -66,7 +65,7 @@ public class EventProducer<T> extends AbstractProducer<Event<T>>
                 ParameterizedType arg = ParameterizedType.class.cast(event);
                 Type[] actualTypeArguments = arg.getActualTypeArguments();
                 if (actualTypeArguments.length > 0 && GenericsUtil.isAssignableFrom(
-                        true, false, actualTypeArguments[0], type, new HashMap<>()))
+                        true, false, actualTypeArguments[0], type, null))
                 {
                     list.add(original);
                 }
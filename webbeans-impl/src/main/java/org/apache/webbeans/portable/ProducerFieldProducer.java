@@ -20,6 +20,7 @@ package org.apache.webbeans.portable;
 
 import org.apache.webbeans.component.AbstractOwbBean;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.BeanManagerImpl;
 import org.apache.webbeans.context.creational.CreationalContextImpl;
 import org.apache.webbeans.exception.WebBeansException;
 import org.apache.webbeans.intercept.DefaultInterceptorHandler;
@@ -45,6 +46,11 @@ public class ProducerFieldProducer<T, P> extends BaseProducerProducer<T, P>
 {
     private AnnotatedField<? super P> producerField;
 
+    /**
+     * The most specialized version of the owner, resolved once the deployment got validated.
+     */
+    private volatile Bean<?> specializedOwner;
+
     public ProducerFieldProducer(Bean<P> owner,
                                  AnnotatedField<? super P> producerField,
                                  AnnotatedMethod<? super P> disposerMethod,
@@ -115,22 +121,28 @@ public class ProducerFieldProducer<T, P> extends BaseProducerProducer<T, P>
     @SuppressWarnings("unchecked")
     protected P getParentInstanceFromContext(CreationalContext<?> creationalContext)
     {
-        P  parentInstance;
-
-        Bean<?> specialize = WebBeansUtil.getMostSpecializedBean(webBeansContext.getBeanManagerImpl(), (AbstractOwbBean<T>) owner);
+        Bean<?> specialize = getSpecializedOwner();
+        return (P) webBeansContext.getBeanManagerImpl().getContext(specialize.getScope()).
+                get((Bean<Object>) specialize, (CreationalContext<Object>) creationalContext);
+    }
 
-        if (specialize != null)
-        {
-            parentInstance = (P) webBeansContext.getBeanManagerImpl().getContext(specialize.getScope()).
-                    get((Bean<Object>)specialize,(CreationalContext<Object>) creationalContext);
-        }
-        else
+    private Bean<?> getSpecializedOwner()
+    {
+        Bean<?> specialize = specializedOwner;
+        if (specialize == null)
         {
-            parentInstance = (P) webBeansContext.getBeanManagerImpl().getContext(
-                    owner.getScope()).get((Bean<Object>)owner, (CreationalContext<Object>) creationalContext);
+            BeanManagerImpl beanManager = webBeansContext.getBeanManagerImpl();
+            specialize = WebBeansUtil.getMostSpecializedBean(beanManager, (AbstractOwbBean<T>) owner);
+            if (specialize == null)
+            {
+                specialize = owner;
+            }
+            if (beanManager.isAfterDeploymentValidationFired())
+            {
+                // the set of beans is final now
+                specializedOwner = specialize;
+            }
         }
-
-        return parentInstance;
-
+        return specialize;
     }
 }
@@ -20,6 +20,8 @@ package org.apache.webbeans.portable;
 
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,6 +44,11 @@ public class ProducerMethodProducer<T, P> extends BaseProducerProducer<T, P>
 {
     private Method producerMethod;
 
+    /**
+     * The parameter injection points of the producer method ordered by position, computed on first use.
+     */
+    private volatile List<InjectionPoint> producerMethodIPs;
+
     public ProducerMethodProducer(Bean<P> owner,
                                   AnnotatedMethod<? super P> producerMethod,
                                   AnnotatedMethod<? super P> disposerMethod,
@@ -77,14 +84,25 @@ public class ProducerMethodProducer<T, P> extends BaseProducerProducer<T, P>
         InjectableMethod<T> m;
         try
         {
-            parentCreationalContext = webBeansContext.getBeanManagerImpl().createCreationalContext(owner);
-
             if (!Modifier.isStatic(producerMethod.getModifiers()))
             {
-                parentInstance = (P)webBeansContext.getBeanManagerImpl().getReference(owner, owner.getBeanClass(), parentCreationalContext);
+                // a normal scoped owner needs no CreationalContext once its proxy exists
+                parentInstance = getCachedOwnerProxy();
+                if (parentInstance == null)
+                {
+                    parentCreationalContext = webBeansContext.getBeanManagerImpl().createCreationalContext(owner);
+                    parentInstance = getOwnerReference(parentCreationalContext);
+                }
             }
-            
-            m = new InjectableMethod<>(producerMethod, parentInstance, this, (CreationalContextImpl<T>) creationalContext);
+
+            List<InjectionPoint> ips = producerMethodIPs;
+            if (ips == null)
+            {
+                ips = InjectableMethod.orderByPosition(createInjectionPoints(producerMethod));
+                producerMethodIPs = ips;
+            }
+
+            m = new InjectableMethod<>(producerMethod, parentInstance, this, (CreationalContextImpl<T>) creationalContext, ips);
             
             return m.doInjection();
 
@@ -97,4 +115,17 @@ public class ProducerMethodProducer<T, P> extends BaseProducerProducer<T, P>
             }
         }
     }
+
+    private List<InjectionPoint> createInjectionPoints(Method method)
+    {
+        List<InjectionPoint> ips = new ArrayList<>();
+        for (InjectionPoint injectionPoint : getInjectionPoints())
+        {
+            if (injectionPoint.getMember().equals(method))
+            {
+                ips.add(injectionPoint);
+            }
+        }
+        return ips;
+    }
 }
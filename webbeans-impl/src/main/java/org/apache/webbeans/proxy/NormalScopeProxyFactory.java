@@ -22,6 +22,7 @@ import javax.enterprise.inject.spi.Bean;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.inject.Provider;
 import java.io.ObjectStreamException;
+import java.lang.annotation.Annotation;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
@@ -31,14 +32,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.webbeans.component.OwbBean;
 import org.apache.webbeans.config.OpenWebBeansConfiguration;
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.container.StartupProfile;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
 import org.apache.webbeans.intercept.NormalScopedBeanInterceptorHandler;
-import org.apache.webbeans.util.ClassUtil;
 import org.apache.webbeans.util.ExceptionUtil;
 import org.apache.webbeans.util.WebBeansUtil;
 import org.apache.xbean.asm9.ClassWriter;
@@ -65,6 +67,14 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
      */
     private ConcurrentMap<Bean<?>, Class<?>> cachedProxyClasses = new ConcurrentHashMap<>();
 
+    /**
+     * A unique index for each bean which gets resolved via a contextual instance slot.
+     * The slots get counted per scope, so a context only needs as many slots as it has beans.
+     * @see #getContextualInstanceSlot(Bean)
+     */
+    private final ConcurrentMap<Bean<?>, Integer> contextualInstanceSlots = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Class<? extends Annotation>, AtomicInteger> nextContextualInstanceSlots = new ConcurrentHashMap<>();
+
 
     public NormalScopeProxyFactory(WebBeansContext webBeansContext)
     {
@@ -117,18 +127,25 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
 
     public <T> T createNormalScopeProxy(Bean<T> bean)
     {
-        ClassLoader classLoader;
-        if (bean.getBeanClass() != null)
-        {
-            classLoader = getProxyClassLoader(bean.getBeanClass());
-        }
-        else if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
-        {
-            classLoader = getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
-        }
-        else
+        ClassLoader classLoader = getProxyClassLoader(bean);
+        Class<? extends T> proxyClass = getProxyClass(bean, classLoader);
+        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+    }
+
+    /**
+     * @return the normal scoped proxy class for the given bean, it gets created if needed
+     */
+    public <T> Class<? extends T> getProxyClass(Bean<T> bean)
+    {
+        return getProxyClass(bean, getProxyClassLoader(bean));
+    }
+
+    private <T> Class<? extends T> getProxyClass(Bean<T> bean, ClassLoader classLoader)
+    {
+        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
+        if (proxyClass != null)
         {
-            classLoader = WebBeansUtil.getCurrentClassLoader();
+            return proxyClass;
         }
 
         Class<T> classToProxy;
@@ -142,14 +159,55 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             classToProxy = (Class<T>) bean.getBeanClass();
         }
 
-        Class<? extends T> proxyClass = (Class<? extends T>) cachedProxyClasses.get(bean);
+        StartupProfile startupProfile = webBeansContext.getBeanManagerImpl().getStartupProfile();
+        if (startupProfile != null)
+        {
+            startupProfile.proxyCreated(bean);
+        }
 
-        if (proxyClass == null)
+        return createProxyClass(bean, classLoader, classToProxy);
+    }
+
+    private ClassLoader getProxyClassLoader(Bean<?> bean)
+    {
+        if (bean.getBeanClass() != null)
         {
-            proxyClass = createProxyClass(bean, classLoader, classToProxy);
+            return getProxyClassLoader(bean.getBeanClass());
         }
+        if (OwbBean.class.isInstance(bean) && OwbBean.class.cast(bean).getReturnType() != null)
+        {
+            return getProxyClassLoader(OwbBean.class.cast(bean).getReturnType());
+        }
+        return WebBeansUtil.getCurrentClassLoader();
+    }
 
-        return createProxyInstance(proxyClass, getInstanceProvider(classLoader, bean));
+    /**
+     * Contexts which support it store their contextual instances in an array
+     * additionally to the instance map. The slot is the index in that array.
+     * It gets assigned once per bean and is stable for the lifetime of the container.
+     * Slots are unique per scope and start at 0 for each scope.
+     *
+     * @return the slot index of the contextual instance of the given bean
+     * @see org.apache.webbeans.context.RequestContext#getSlotInstance(int)
+     */
+    public int getContextualInstanceSlot(Bean<?> bean)
+    {
+        Integer slot = contextualInstanceSlots.get(bean);
+        if (slot != null)
+        {
+            return slot;
+        }
+        return contextualInstanceSlots.computeIfAbsent(bean, b -> nextContextualInstanceSlots
+                .computeIfAbsent(b.getScope(), s -> new AtomicInteger()).getAndIncrement());
+    }
+
+    /**
+     * @return the number of contextual instance slots assigned so far for the given scope
+     */
+    public int getContextualInstanceSlotCount(Class<? extends Annotation> scope)
+    {
+        AtomicInteger slots = nextContextualInstanceSlots.get(scope);
+        return slots != null ? slots.get() : 0;
     }
 
     public Provider getInstanceProvider(ClassLoader classLoader, Bean<?> bean)
@@ -236,7 +294,7 @@ public class NormalScopeProxyFactory extends AbstractProxyFactory
             List<Method> protectedMethods = new ArrayList<>();
 
 
-            for (Method method : ClassUtil.getNonPrivateMethods(classToProxy, true))
+            for (Method method : webBeansContext.getReflectionCache().getNonPrivateMethods(classToProxy, true))
             {
                 if (unproxyableMethod(method))
                 {
@@ -26,7 +26,6 @@ import java.util.List;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.exception.ProxyGenerationException;
 import org.apache.webbeans.exception.WebBeansConfigurationException;
-import org.apache.webbeans.util.ClassUtil;
 import org.apache.xbean.asm9.ClassWriter;
 import org.apache.xbean.asm9.MethodVisitor;
 import org.apache.xbean.asm9.Opcodes;
@@ -119,7 +118,7 @@ public class SubclassProxyFactory extends AbstractProxyFactory
 
         String proxyClassName = getSubClassName(classToProxy);
 
-        List<Method> methods = ClassUtil.getNonPrivateMethods(classToProxy, true);
+        List<Method> methods = webBeansContext.getReflectionCache().getNonPrivateMethods(classToProxy, true);
         Method[] businessMethods = methods.toArray(new Method[methods.size()]);
 
         AnnotatedConstructor<T> aCons = webBeansContext.getWebBeansUtil().getInjectedConstructor(annotatedType);
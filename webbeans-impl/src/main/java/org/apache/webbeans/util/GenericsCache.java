@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Memoises the results of the expensive {@link GenericsUtil} operations per WebBeansContext.
+ * The same pairs of generic types get checked over and over again during deployment,
+ * e.g. for every bean type of every bean against every injection point, decorator delegate and observer.
+ *
+ * Checks between plain classes are cheap and do not get cached.
+ * The cache is bounded, once full new results simply don't get stored anymore.
+ */
+public class GenericsCache
+{
+    private static final int MAX_CACHED_RESULTS = 10000;
+
+    private static final int SATISFIES_DEPENDENCY = 0;
+    private static final int IS_ASSIGNABLE = 1;
+
+    private final ConcurrentMap<TypeCheck, Boolean> typeChecks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<TypeCheck, Set<Type>> typeClosures = new ConcurrentHashMap<>();
+
+    /**
+     * @see GenericsUtil#satisfiesDependency(boolean, boolean, Type, Type, java.util.Map)
+     */
+    public boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType)
+    {
+        if (injectionPointType instanceof Class && beanType instanceof Class)
+        {
+            return GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, null);
+        }
+
+        TypeCheck key = new TypeCheck(SATISFIES_DEPENDENCY, isDelegateOrEvent, isProducer, injectionPointType, beanType);
+        Boolean result = typeChecks.get(key);
+        if (result == null)
+        {
+            result = GenericsUtil.satisfiesDependency(isDelegateOrEvent, isProducer, injectionPointType, beanType, null);
+            store(typeChecks, key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @see GenericsUtil#isAssignableFrom(boolean, boolean, Type, Type, java.util.Map)
+     */
+    public boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType)
+    {
+        if (requiredType instanceof Class && beanType instanceof Class)
+        {
+            return GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, null);
+        }
+
+        TypeCheck key = new TypeCheck(IS_ASSIGNABLE, isDelegateOrEvent, isProducer, requiredType, beanType);
+        Boolean result = typeChecks.get(key);
+        if (result == null)
+        {
+            result = GenericsUtil.isAssignableFrom(isDelegateOrEvent, isProducer, requiredType, beanType, null);
+            store(typeChecks, key, result);
+        }
+        return result;
+    }
+
+    /**
+     * @return an unmodifiable view of the type closure
+     * @see GenericsUtil#getTypeClosure(Type, Type)
+     */
+    public Set<Type> getTypeClosure(Type type, Type actualType)
+    {
+        TypeCheck key = new TypeCheck(0, false, false, type, actualType);
+        Set<Type> typeClosure = typeClosures.get(key);
+        if (typeClosure == null)
+        {
+            typeClosure = Collections.unmodifiableSet(GenericsUtil.getTypeClosure(type, actualType));
+            store(typeClosures, key, typeClosure);
+        }
+        return typeClosure;
+    }
+
+    public void clear()
+    {
+        typeChecks.clear();
+        typeClosures.clear();
+    }
+
+    private static <V> void store(ConcurrentMap<TypeCheck, V> cache, TypeCheck key, V value)
+    {
+        if (cache.size() < MAX_CACHED_RESULTS)
+        {
+            cache.putIfAbsent(key, value);
+        }
+    }
+
+    private static final class TypeCheck
+    {
+        private final int operation;
+        private final boolean isDelegateOrEvent;
+        private final boolean isProducer;
+        private final Type first;
+        private final Type second;
+        private final int hashCode;
+
+        private TypeCheck(int operation, boolean isDelegateOrEvent, boolean isProducer, Type first, Type second)
+        {
+            this.operation = operation;
+            this.isDelegateOrEvent = isDelegateOrEvent;
+            this.isProducer = isProducer;
+            this.first = first;
+            this.second = second;
+
+            int h = 31 * operation + (isDelegateOrEvent ? 1 : 0);
+            h = 31 * h + (isProducer ? 1 : 0);
+            h = 31 * h + first.hashCode();
+            hashCode = 31 * h + second.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o)
+        {
+            if (this == o)
+            {
+                return true;
+            }
+            if (!(o instanceof TypeCheck))
+            {
+                return false;
+            }
+            TypeCheck other = (TypeCheck) o;
+            return operation == other.operation
+                && isDelegateOrEvent == other.isDelegateOrEvent
+                && isProducer == other.isProducer
+                && first.equals(other.first)
+                && second.equals(other.second);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hashCode;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import java.lang.reflect.TypeVariable;
 import java.lang.reflect.WildcardType;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -49,6 +50,10 @@ public final class GenericsUtil
 
     private static final int MAX_GENERIC_LOOPS = 4; // todo: config? it is already crazy :s
 
+    /**
+     * @param visited tracks the wildcards and type variables seen so far to detect generic loops.
+     *                Might be {@code null}, a tracking Map then only gets created if it is really needed.
+     */
     public static boolean satisfiesDependency(boolean isDelegateOrEvent, boolean isProducer, Type injectionPointType, Type beanType,
                                               Map<Type, Integer> visited)
     {
@@ -115,6 +120,7 @@ public final class GenericsUtil
 
     /**
      * 5.2.3 and 5.2.4
+     * @param visited see {@link #satisfiesDependency(boolean, boolean, Type, Type, Map)}
      */
     public static boolean isAssignableFrom(boolean isDelegateOrEvent, boolean isProducer, Type requiredType, Type beanType,
                                            Map<Type, Integer> visited)
@@ -240,20 +246,21 @@ public final class GenericsUtil
     private static boolean isAssignableFrom(boolean isDelegateOrEvent, Type injectionPointType, WildcardType beanType,
                                             Map<Type, Integer> visited)
     {
-        if (isGenericLoop(beanType, visited))
+        Map<Type, Integer> loopTracker = visited != null ? visited : new HashMap<>();
+        if (isGenericLoop(beanType, loopTracker))
         {
             return false;
         }
         for (Type bounds: beanType.getLowerBounds())
         {
-            if (!isAssignableFrom(isDelegateOrEvent, false, bounds, injectionPointType, visited))
+            if (!isAssignableFrom(isDelegateOrEvent, false, bounds, injectionPointType, loopTracker))
             {
                 return false;
             }
         }
         for (Type bounds: beanType.getUpperBounds())
         {
-            if (isAssignableFrom(isDelegateOrEvent, false, injectionPointType, bounds, visited))
+            if (isAssignableFrom(isDelegateOrEvent, false, injectionPointType, bounds, loopTracker))
             {
                 return true;
             }
@@ -415,13 +422,14 @@ public final class GenericsUtil
     private static boolean isAssignableFrom(boolean isDelegateOrEvent, TypeVariable<?> injectionPointType, Type beanType,
                                             Map<Type, Integer> visited)
     {
-        if (isGenericLoop(beanType, visited))
+        Map<Type, Integer> loopTracker = visited != null ? visited : new HashMap<>();
+        if (isGenericLoop(beanType, loopTracker))
         {
             return false; // looping type so not resolvable
         }
         for (Type bounds: injectionPointType.getBounds())
         {
-            if (!isAssignableFrom(isDelegateOrEvent, false, bounds, beanType, visited))
+            if (!isAssignableFrom(isDelegateOrEvent, false, bounds, beanType, loopTracker))
             {
                 return false;
             }
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable Set which keeps its items in a plain array.
+ * Bean types and qualifiers mostly only contain a handful of items, so this
+ * needs far less memory than an unmodifiable HashSet.
+ * Bigger sets additionally get a HashSet for fast lookups.
+ */
+public final class ImmutableArraySet<T> extends AbstractSet<T> implements Serializable
+{
+    private static final long serialVersionUID = -809008365459840963L;
+
+    private static final int MAX_LINEAR_SIZE = 8;
+
+    private static final ImmutableArraySet<Object> EMPTY = new ImmutableArraySet<>(new Object[0]);
+
+    private final Object[] items;
+
+    /**
+     * only used if there are more than {@link #MAX_LINEAR_SIZE} items
+     */
+    private final Set<Object> index;
+
+    private int hashCode;
+
+    private ImmutableArraySet(Object[] items)
+    {
+        this.items = items;
+        if (items.length > MAX_LINEAR_SIZE)
+        {
+            index = new HashSet<>(items.length * 2);
+            Collections.addAll(index, items);
+        }
+        else
+        {
+            index = null;
+        }
+    }
+
+    /**
+     * @return the given set if it is an ImmutableArraySet already, an immutable copy otherwise
+     */
+    public static <T> Set<T> copyOf(Collection<? extends T> items)
+    {
+        if (items instanceof ImmutableArraySet)
+        {
+            return (Set<T>) items;
+        }
+        if (items == null || items.isEmpty())
+        {
+            return (Set<T>) EMPTY;
+        }
+
+        // drop duplicates of other collections but keep their order
+        Object[] array = items instanceof Set ? items.toArray() : new LinkedHashSet<>(items).toArray();
+        return new ImmutableArraySet<>(array);
+    }
+
+    @Override
+    public int size()
+    {
+        return items.length;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+        if (index != null)
+        {
+            return index.contains(o);
+        }
+        for (Object item : items)
+        {
+            if (Objects.equals(item, o))
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+        return new Iterator<T>()
+        {
+            private int position;
+
+            @Override
+            public boolean hasNext()
+            {
+                return position < items.length;
+            }
+
+            @Override
+            public T next()
+            {
+                if (position >= items.length)
+                {
+                    throw new NoSuchElementException();
+                }
+                return (T) items[position++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray()
+    {
+        return items.clone();
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int h = hashCode;
+        if (h == 0)
+        {
+            h = super.hashCode();
+            hashCode = h;
+        }
+        return h;
+    }
+}
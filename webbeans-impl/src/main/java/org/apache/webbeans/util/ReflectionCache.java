@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.apache.webbeans.spi.SecurityService;
+
+/**
+ * Caches the declared members of classes per WebBeansContext.
+ * During the deployment the same classes get inspected by the {@link org.apache.webbeans.portable.AnnotatedElementFactory},
+ * the interceptor resolution, the proxy factories and the validation,
+ * and every {@code Class#getDeclared*} call copies all the members again.
+ *
+ * The members get looked up via the {@link SecurityService} on first use.
+ * Returned arrays are copies, but the contained {@link Method}, {@link Field} and {@link Constructor}
+ * instances are shared between all callers. Thus calling {@code setAccessible(true)} on one of them
+ * makes it accessible for every other caller of the cache as well.
+ *
+ * The values are held in a map owned by this instance and not in a {@link ClassValue}.
+ * A ClassValue entry stays referenced from the Class itself, so classes of a parent ClassLoader
+ * would keep the members of the application, and with them its ClassLoader, alive after an undeploy.
+ * {@link #clear()} drops all references right away.
+ */
+public class ReflectionCache
+{
+    private final SecurityService securityService;
+
+    private final ConcurrentMap<Class<?>, ClassMetadata> metadata = new ConcurrentHashMap<>();
+
+    public ReflectionCache(SecurityService securityService)
+    {
+        this.securityService = securityService;
+    }
+
+    /**
+     * @see SecurityService#doPrivilegedGetDeclaredMethods(Class)
+     */
+    public Method[] getDeclaredMethods(Class<?> clazz)
+    {
+        ClassMetadata classMetadata = getMetadata(clazz);
+        Method[] methods = classMetadata.declaredMethods;
+        if (methods == null)
+        {
+            methods = securityService.doPrivilegedGetDeclaredMethods(clazz);
+            classMetadata.declaredMethods = methods;
+        }
+        return methods.clone();
+    }
+
+    /**
+     * @see SecurityService#doPrivilegedGetDeclaredFields(Class)
+     */
+    public Field[] getDeclaredFields(Class<?> clazz)
+    {
+        ClassMetadata classMetadata = getMetadata(clazz);
+        Field[] fields = classMetadata.declaredFields;
+        if (fields == null)
+        {
+            fields = securityService.doPrivilegedGetDeclaredFields(clazz);
+            classMetadata.declaredFields = fields;
+        }
+        return fields.clone();
+    }
+
+    /**
+     * @see SecurityService#doPrivilegedGetDeclaredConstructors(Class)
+     */
+    public Constructor<?>[] getDeclaredConstructors(Class<?> clazz)
+    {
+        ClassMetadata classMetadata = getMetadata(clazz);
+        Constructor<?>[] constructors = classMetadata.declaredConstructors;
+        if (constructors == null)
+        {
+            constructors = securityService.doPrivilegedGetDeclaredConstructors(clazz);
+            classMetadata.declaredConstructors = constructors;
+        }
+        return constructors.clone();
+    }
+
+    /**
+     * @return an unmodifiable list of the non-private methods of the class and its parents
+     * @see ClassUtil#getNonPrivateMethods(Class, boolean)
+     */
+    public List<Method> getNonPrivateMethods(Class<?> clazz, boolean excludeFinalMethods)
+    {
+        ClassMetadata classMetadata = getMetadata(clazz);
+        List<Method> methods = excludeFinalMethods ? classMetadata.nonPrivateNonFinalMethods : classMetadata.nonPrivateMethods;
+        if (methods == null)
+        {
+            methods = Collections.unmodifiableList(ClassUtil.getNonPrivateMethods(clazz, excludeFinalMethods));
+            if (excludeFinalMethods)
+            {
+                classMetadata.nonPrivateNonFinalMethods = methods;
+            }
+            else
+            {
+                classMetadata.nonPrivateMethods = methods;
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Drops all cached members. Subsequent lookups fill the cache again.
+     */
+    public void clear()
+    {
+        metadata.clear();
+    }
+
+    private ClassMetadata getMetadata(Class<?> clazz)
+    {
+        ClassMetadata classMetadata = metadata.get(clazz);
+        if (classMetadata == null)
+        {
+            classMetadata = metadata.computeIfAbsent(clazz, c -> new ClassMetadata());
+        }
+        return classMetadata;
+    }
+
+    /**
+     * The members of a single class, each looked up on first use.
+     * Concurrent lookups might compute the same members twice, which does no harm.
+     */
+    private static final class ClassMetadata
+    {
+        private volatile Method[] declaredMethods;
+        private volatile Field[] declaredFields;
+        private volatile Constructor<?>[] declaredConstructors;
+        private volatile List<Method> nonPrivateMethods;
+        private volatile List<Method> nonPrivateNonFinalMethods;
+    }
+}
@@ -150,7 +150,6 @@ import java.lang.reflect.WildcardType;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -1465,7 +1464,7 @@ public final class WebBeansUtil
                 {
                     Type[] types = ClassUtil.getActualTypeArguments(injectionPoint.getType());
                     if (types.length != 1 || !GenericsUtil.isAssignableFrom(
-                            false, AbstractProducerBean.class.isInstance(bean), bean.getBeanClass(), types[0], new HashMap<>()))
+                            false, AbstractProducerBean.class.isInstance(bean), bean.getBeanClass(), types[0], null))
                     {
                         throw new WebBeansConfigurationException("injected bean parameter must be " + rawType);
                     }
@@ -1715,7 +1714,7 @@ public final class WebBeansUtil
                             AbstractOwbBean.class.cast(injectionPointBean).getReturnType() : injectionPointBean.getBeanClass();
                     Type beanType = pt.getActualTypeArguments()[0];
                     if (!GenericsUtil.isAssignableFrom(
-                            false, AbstractProducerBean.class.isInstance(bean), beanClass, beanType, new HashMap<>()))
+                            false, AbstractProducerBean.class.isInstance(bean), beanClass, beanType, null))
                     {
                         throw new WebBeansConfigurationException("@Inject Bean<X> can only be done in X, found " + beanType + " and " + beanClass);
                     }
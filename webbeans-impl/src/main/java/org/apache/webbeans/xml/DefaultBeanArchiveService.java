@@ -20,6 +20,10 @@ package org.apache.webbeans.xml;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PushbackInputStream;
@@ -42,8 +46,6 @@ import org.apache.webbeans.util.UrlSet;
 import org.apache.webbeans.util.WebBeansConstants;
 import org.apache.xbean.finder.archive.FileArchive;
 import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
 
 /**
  * Please note that this implementation is not thread safe.
@@ -63,6 +65,11 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     private UrlSet registeredBeanArchives = new UrlSet();
 
+    /**
+     * The StAX factory gets created once and reused for all beans.xml files.
+     */
+    private XMLInputFactory xmlInputFactory;
+
 
     @Override
     public BeanArchiveInformation getBeanArchiveInformation(URL beanArchiveUrl)
@@ -275,8 +282,6 @@ public class DefaultBeanArchiveService implements BeanArchiveService
     }
 
 
-
-
     /**
      * Read the information from the given beans.xml and fill it into a
      * BeanArchiveInformation instance.
@@ -301,28 +306,7 @@ public class DefaultBeanArchiveService implements BeanArchiveService
                 // put the first byte back on the stream so we can properly parse the XML.
                 xmlStream.unread(firstVal);
 
-                //Get root element of the XML document
-                Element webBeansRoot = getBeansRootElement(xmlStream);
-                if (webBeansRoot == null)
-                {
-                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.ALL);
-                }
-                else
-                {
-                    if (!"beans".equalsIgnoreCase(webBeansRoot.getLocalName()))
-                    {
-                        throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + webBeansRoot.getLocalName() +
-                                                                 " in " + beansXmlLocation);
-                    }
-
-                    bdaInfo.setVersion(getTrimmedAttribute(webBeansRoot, "version"));
-
-                    String beanDiscoveryMode = getTrimmedAttribute(webBeansRoot, "bean-discovery-mode");
-                    bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
-
-                    readBeanChildren(bdaInfo, webBeansRoot, beansXmlLocation);
-                }
-
+                parseBeansXml(bdaInfo, xmlStream, beansXmlLocation);
 
                 if (bdaInfo.getVersion() != null && !"1.0".equals(bdaInfo.getVersion()) && bdaInfo.getBeanDiscoveryMode() == null)
                 {
@@ -347,198 +331,208 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         return bdaInfo;
     }
 
-    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, Element webBeansRoot, String beansXmlLocation)
+    /**
+     * Stream the beans.xml and fill the information directly into the given BeanArchiveInformation.
+     * No DOM gets built, and parsing stops right after the root element for bean-discovery-mode="none".
+     */
+    private void parseBeansXml(DefaultBeanArchiveInformation bdaInfo, InputStream xmlStream, String beansXmlLocation)
     {
-        ElementIterator elit = new ElementIterator(webBeansRoot);
-        while (elit.hasNext())
+        XMLStreamReader reader = null;
+        try
         {
-            Element child = elit.next();
-
-            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+            reader = getXmlInputFactory().createXMLStreamReader(xmlStream);
+            if (!nextElement(reader))
             {
-                fillDecorators(bdaInfo, child);
+                return;
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillInterceptors(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(child.getLocalName()))
-            {
-                fillAlternatives(bdaInfo, child);
-            }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+
+            if (!"beans".equalsIgnoreCase(reader.getLocalName()))
             {
-                fillExcludes(bdaInfo, child);
+                throw new WebBeansConfigurationException("beans.xml must have a <beans> root element, but has: " + reader.getLocalName() +
+                                                         " in " + beansXmlLocation);
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+
+            bdaInfo.setVersion(getTrimmedAttribute(reader, "version"));
+
+            String beanDiscoveryMode = getTrimmedAttribute(reader, "bean-discovery-mode");
+            bdaInfo.setBeanDiscoveryMode(beanDiscoveryMode != null ? BeanDiscoveryMode.valueOf(beanDiscoveryMode.toUpperCase()) : null);
+
+            if (bdaInfo.getBeanDiscoveryMode() == BeanDiscoveryMode.NONE)
             {
-                fillAllowProxying(bdaInfo, child);
+                // not a bean archive, no need to parse the rest of the document
+                return;
             }
-            else if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(child.getLocalName()))
+
+            readBeanChildren(bdaInfo, reader, beansXmlLocation);
+        }
+        catch (XMLStreamException e)
+        {
+            logger.log(Level.SEVERE, OWBLogConst.FATAL_0002, e);
+            throw new WebBeansException(WebBeansLoggerFacade.getTokenString(OWBLogConst.EXCEPT_0013), e);
+        }
+        finally
+        {
+            if (reader != null)
             {
-                logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
-                bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
+                try
+                {
+                    reader.close();
+                }
+                catch (XMLStreamException e)
+                {
+                    logger.log(Level.FINE, "Error while closing the beans.xml reader of " + beansXmlLocation, e);
+                }
             }
         }
     }
 
-    private void fillDecorators(DefaultBeanArchiveInformation bdaInfo, Element decoratorsElement)
+    private void readBeanChildren(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader, String beansXmlLocation)
+        throws XMLStreamException
     {
-        ElementIterator elit = new ElementIterator(decoratorsElement);
-        while (elit.hasNext())
+        while (nextChildElement(reader))
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            String localName = reader.getLocalName();
+
+            if (WebBeansConstants.WEB_BEANS_XML_DECORATORS_ELEMENT.equalsIgnoreCase(localName))
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
+                fillClasses(reader, bdaInfo.getDecorators(), "decorators");
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_INTERCEPTORS_ELEMENT.equalsIgnoreCase(localName))
+            {
+                fillClasses(reader, bdaInfo.getInterceptors(), "interceptors");
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_ALTERNATIVES_ELEMENT.equalsIgnoreCase(localName))
+            {
+                fillAlternatives(bdaInfo, reader);
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_SCAN_ELEMENT.equalsIgnoreCase(localName))
+            {
+                fillExcludes(bdaInfo, reader);
+            }
+            else if (WebBeansConstants.WEB_BEANS_XML_ALLOW_PROXYING_ELEMENT.equalsIgnoreCase(localName))
+            {
+                fillClasses(reader, bdaInfo.getAllowProxyingClasses(), "allowProxying");
+            }
+            else
+            {
+                if (WebBeansConstants.WEB_BEANS_XML_SCOPED_BEANS_ONLY_ELEMENT.equalsIgnoreCase(localName))
                 {
-                    throw new WebBeansConfigurationException("decorators <class> element must not be empty!");
+                    logger.log(Level.FINE, "trimmed bean archive detected: " + beansXmlLocation);
+                    bdaInfo.setBeanDiscoveryMode(BeanDiscoveryMode.TRIM);
                 }
-                bdaInfo.getDecorators().add(clazz);
+                skipElement(reader);
             }
         }
     }
 
-    private void fillInterceptors(DefaultBeanArchiveInformation bdaInfo, Element interceptorsElement)
+    /**
+     * Collect the content of all &lt;class&gt; children of the current element.
+     */
+    private void fillClasses(XMLStreamReader reader, List<String> classes, String sectionName) throws XMLStreamException
     {
-        ElementIterator elit = new ElementIterator(interceptorsElement);
-        while (elit.hasNext())
+        while (nextChildElement(reader))
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(reader.getLocalName()))
             {
-                String clazz = child.getTextContent().trim();
+                String clazz = readText(reader).trim();
                 if (clazz.isEmpty())
                 {
-                    throw new WebBeansConfigurationException("interceptors <class> element must not be empty!");
+                    throw new WebBeansConfigurationException(sectionName + " <class> element must not be empty!");
                 }
-                bdaInfo.getInterceptors().add(clazz);
+                classes.add(clazz);
+            }
+            else
+            {
+                skipElement(reader);
             }
         }
     }
 
-    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, Element alternativesElement)
+    private void fillAlternatives(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader) throws XMLStreamException
     {
-        ElementIterator elit = new ElementIterator(alternativesElement);
-        while (elit.hasNext())
+        while (nextChildElement(reader))
         {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            String localName = reader.getLocalName();
+            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(localName))
             {
-                String clazz = child.getTextContent().trim();
+                String clazz = readText(reader).trim();
                 if (clazz.isEmpty())
                 {
                     throw new WebBeansConfigurationException("alternatives <class> element must not be empty!");
                 }
                 bdaInfo.getAlternativeClasses().add(clazz);
             }
-            if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(child.getLocalName()))
+            else if (WebBeansConstants.WEB_BEANS_XML_STEREOTYPE.equalsIgnoreCase(localName))
             {
-                String stereotype = child.getTextContent().trim();
+                String stereotype = readText(reader).trim();
                 if (stereotype.isEmpty())
                 {
                     throw new WebBeansConfigurationException("alternatives <stereotype> element must not be empty!");
                 }
                 bdaInfo.getAlternativeStereotypes().add(stereotype);
             }
+            else
+            {
+                skipElement(reader);
+            }
         }
     }
 
 
-    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, Element scanElement)
+    private void fillExcludes(DefaultBeanArchiveInformation bdaInfo, XMLStreamReader reader) throws XMLStreamException
     {
         ClassLoader loader = Thread.currentThread().getContextClassLoader();
-        NodeList childNodes = scanElement.getChildNodes();
-        for (int i = 0; i < childNodes.getLength(); i++)
+        while (nextChildElement(reader))
         {
-            Node nd = childNodes.item(i);
-            if (!Element.class.isInstance(nd))
+            if (!WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(reader.getLocalName()))
             {
+                skipElement(reader);
                 continue;
             }
 
-            Element child = Element.class.cast(nd);
-            if (WebBeansConstants.WEB_BEANS_XML_EXCLUDE.equalsIgnoreCase(child.getLocalName()))
+            String name = getTrimmedAttribute(reader, "name");
+            boolean skip = false;
+            while (nextChildElement(reader))
             {
-                String name = getTrimmedAttribute(child, "name");
-                NodeList children = child.getChildNodes();
-                boolean skip = false;
-                for (int j = 0; j < children.getLength(); j++)
+                if (!skip)
                 {
-                    Node ndChild = children.item(j);
-                    if (!Element.class.isInstance(ndChild))
-                    {
-                        continue;
-                    }
-
-                    Element condition = Element.class.cast(ndChild);
-
-                    String localName = condition.getLocalName();
+                    String localName = reader.getLocalName();
                     if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_AVAILABLE.equalsIgnoreCase(localName))
                     {
-                        if (!isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
+                        skip = !isClassAvailable(loader, getTrimmedAttribute(reader, "name"));
                     }
                     else if (WebBeansConstants.WEB_BEANS_XML_IF_CLASS_NOT_AVAILABLE.equalsIgnoreCase(localName))
                     {
-                        if (isClassAvailable(loader, getTrimmedAttribute(condition, "name")))
-                        {
-                            skip = true;
-                            break;
-                        }
+                        skip = isClassAvailable(loader, getTrimmedAttribute(reader, "name"));
                     }
                     else if (WebBeansConstants.WEB_BEANS_XML_IF_SYSTEM_PROPERTY.equalsIgnoreCase(localName))
                     {
-                        String value = getTrimmedAttribute(condition, "value");
-                        String systProp = System.getProperty(getTrimmedAttribute(condition, "name"));
-                        if ((value == null && systProp == null) || !(value != null && value.equals(systProp)))
-                        {
-                            skip = true;
-                            break;
-                        }
+                        String value = getTrimmedAttribute(reader, "value");
+                        String systProp = System.getProperty(getTrimmedAttribute(reader, "name"));
+                        skip = (value == null && systProp == null) || !(value != null && value.equals(systProp));
                     }
                 }
-                if (skip)
-                {
-                    continue;
-                }
-                if (name.endsWith(".*"))
-                {
-                    // package exclude without sub-packages
-                    bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
-                }
-                else if (name.endsWith(".**"))
-                {
-                    // package exclude WITH sub-packages
-                    bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
-                }
-                else
-                {
-                    // a simple Class
-                    bdaInfo.addClassExclude(name);
-                }
+                skipElement(reader);
             }
-        }
-    }
 
-    private void fillAllowProxying(DefaultBeanArchiveInformation bdaInfo, Element allowProxyingElement)
-    {
-        ElementIterator elit = new ElementIterator(allowProxyingElement);
-        while (elit.hasNext())
-        {
-            Element child = elit.next();
-            if (WebBeansConstants.WEB_BEANS_XML_CLASS.equalsIgnoreCase(child.getLocalName()))
+            if (skip)
             {
-                String clazz = child.getTextContent().trim();
-                if (clazz.isEmpty())
-                {
-                    throw new WebBeansConfigurationException("allowProxying <class> element must not be empty!");
-                }
-                bdaInfo.getAllowProxyingClasses().add(clazz);
+                continue;
+            }
+            if (name.endsWith(".*"))
+            {
+                // package exclude without sub-packages
+                bdaInfo.addClassExclude(name.substring(0, name.length() - 2));
+            }
+            else if (name.endsWith(".**"))
+            {
+                // package exclude WITH sub-packages
+                bdaInfo.addPackageExclude(name.substring(0, name.length() - 3));
+            }
+            else
+            {
+                // a simple Class
+                bdaInfo.addClassExclude(name);
             }
         }
     }
@@ -566,13 +560,132 @@ public class DefaultBeanArchiveService implements BeanArchiveService
     }
 
 
+    private XMLInputFactory getXmlInputFactory()
+    {
+        if (xmlInputFactory == null)
+        {
+            XMLInputFactory factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.IS_VALIDATING, Boolean.FALSE);
+            xmlInputFactory = factory;
+        }
+        return xmlInputFactory;
+    }
+
+    /**
+     * Moves the reader to the next start element in the document.
+     * @return {@code false} if the end of the document got reached
+     */
+    private static boolean nextElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            if (reader.next() == XMLStreamConstants.START_ELEMENT)
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the reader to the next direct child element of the current element.
+     * The previous child element must have been fully consumed.
+     * @return {@code false} if the end of the current element got reached
+     */
+    private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        while (reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Consumes the current element including all of its children.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException
+    {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * Consumes the current element and returns the text content of it and all its children.
+     */
+    private static String readText(XMLStreamReader reader) throws XMLStreamException
+    {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0 && reader.hasNext())
+        {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT)
+            {
+                depth++;
+            }
+            else if (event == XMLStreamConstants.END_ELEMENT)
+            {
+                depth--;
+            }
+            else if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                     || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE)
+            {
+                text.append(reader.getText());
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * @return the trimmed attribute value of the current element,
+     *         or <code>null</code> if the attribute does not exist or the attribute is empty
+     */
+    protected String getTrimmedAttribute(XMLStreamReader reader, String attributeName)
+    {
+        String val = reader.getAttributeValue(null, attributeName);
+        if (val != null)
+        {
+            val = val.trim();
+            if (!val.isEmpty())
+            {
+                return val;
+            }
+        }
+        return null;
+    }
+
     /**
      * Gets the root element of the parsed document.
      *
      * @param xmlStream parsed document
      * @return root element of the document
      * @throws org.apache.webbeans.exception.WebBeansException if any runtime exception occurs
+     * @deprecated beans.xml files get streamed with StAX now, so this method doesn't get invoked anymore.
+     *             Subclasses which need to customise the parsing have to override {@link #readBeansXml(InputStream, String)}.
      */
+    @Deprecated
     protected Element getBeansRootElement(InputStream xmlStream) throws WebBeansException
     {
         try
@@ -600,7 +713,10 @@ public class DefaultBeanArchiveService implements BeanArchiveService
 
     /**
      * @return the trimmed attribute value, or <code>null</code> if the attribute does not exist or the attribute is empty
+     * @deprecated only useful together with {@link #getBeansRootElement(InputStream)},
+     *             use {@link #getTrimmedAttribute(XMLStreamReader, String)}
      */
+    @Deprecated
     protected String getTrimmedAttribute(Element element, String attributeName)
     {
         String val = element.getAttribute(attributeName);
@@ -614,6 +730,4 @@ public class DefaultBeanArchiveService implements BeanArchiveService
         }
         return null;
     }
-
-
 }
@@ -26,8 +26,12 @@ import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
 /**
+ * Iterates over the child elements of a DOM element.
  *
+ * @deprecated beans.xml files get streamed with StAX now, OpenWebBeans doesn't use this class anymore.
+ *             It will get removed in a future version.
  */
+@Deprecated
 public class ElementIterator implements Iterator<Element>
 {
     private final NodeList children;
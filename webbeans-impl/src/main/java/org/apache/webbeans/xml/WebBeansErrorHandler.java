@@ -35,7 +35,11 @@ import java.util.logging.Logger;
  * 
  * @author <a href="mailto:gurkanerdogdu@yahoo.com">Gurkan Erdogdu</a>
  * @since 1.0
+ * @deprecated only used by the deprecated DOM parsing of
+ *             {@link DefaultBeanArchiveService#getBeansRootElement(java.io.InputStream)}.
+ *             It will get removed in a future version.
  */
+@Deprecated
 public class WebBeansErrorHandler implements ErrorHandler
 {
     private static Logger logger = WebBeansLoggerFacade.getLogger(WebBeansErrorHandler.class);
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.component.creation;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.BeanAttributes;
+
+import java.io.Serializable;
+
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BeanAttributesBuilderTest extends AbstractUnitTest
+{
+    @Test
+    public void testEqualMetadataGetsShared()
+    {
+        startContainer();
+        WebBeansContext webBeansContext = getWebBeansContext();
+        AnnotatedType<FirstService> firstType = getBeanManager().createAnnotatedType(FirstService.class);
+        AnnotatedType<SecondService> secondType = getBeanManager().createAnnotatedType(SecondService.class);
+
+        BeanAttributes<FirstService> first = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(firstType).build();
+        BeanAttributes<SecondService> second = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(secondType).build();
+        Assert.assertSame(first.getQualifiers(), second.getQualifiers());
+        Assert.assertEquals(4, first.getTypes().size());
+        Assert.assertTrue(first.getTypes().contains(Service.class));
+
+        BeanAttributes<FirstService> again = BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(firstType).build();
+        Assert.assertSame(first.getTypes(), again.getTypes());
+    }
+
+    public interface Service extends Serializable
+    {
+    }
+
+    @RequestScoped
+    public static class FirstService implements Service
+    {
+    }
+
+    @RequestScoped
+    public static class SecondService implements Service
+    {
+    }
+}
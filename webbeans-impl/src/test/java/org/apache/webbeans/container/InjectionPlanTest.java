@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.TransientReference;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.InjectionPoint;
+import javax.inject.Inject;
+
+import org.apache.webbeans.inject.impl.InjectionPlan;
+import org.apache.webbeans.inject.impl.InjectionPointImpl;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class InjectionPlanTest extends AbstractUnitTest
+{
+    @Test
+    public void validatedInjectionPointsGetBound()
+    {
+        startContainer(Repository.class, Helper.class, Service.class);
+
+        Bean<?> serviceBean = getBeanManager().resolve(getBeanManager().getBeans(Service.class));
+        Bean<?> repositoryBean = getBeanManager().resolve(getBeanManager().getBeans(Repository.class));
+        InjectionPoint repositoryInjectionPoint = findInjectionPoint(serviceBean, Repository.class);
+
+        InjectionPlan plan = ((InjectionPointImpl) repositoryInjectionPoint).getInjectionPlan();
+        assertNotNull(plan);
+        assertSame(repositoryBean, plan.getBean());
+        assertTrue(plan.isNormalScoped());
+
+        InjectionPlan helperPlan = ((InjectionPointImpl) findInjectionPoint(serviceBean, Helper.class)).getInjectionPlan();
+        assertNotNull(helperPlan);
+        assertTrue(helperPlan.isDependent());
+        assertTrue(helperPlan.isTransientReference());
+
+        InjectionResolver injectionResolver = getWebBeansContext().getBeanManagerImpl().getInjectionResolver();
+        assertSame(plan, injectionResolver.getInjectionPlan(repositoryInjectionPoint));
+
+        injectionResolver.clearCaches();
+        InjectionPlan newPlan = injectionResolver.getInjectionPlan(repositoryInjectionPoint);
+        assertNotSame(plan, newPlan);
+        assertSame(repositoryBean, newPlan.getBean());
+        assertSame(newPlan, ((InjectionPointImpl) repositoryInjectionPoint).getInjectionPlan());
+    }
+
+    @Test
+    public void transientReferencesGetReleasedAfterConstruction()
+    {
+        Helper.destroyed = 0;
+        startContainer(Repository.class, Helper.class, Service.class);
+
+        Service service = getInstance(Service.class);
+        assertEquals("stored", service.store());
+        assertEquals(1, Helper.destroyed);
+    }
+
+    @Test
+    public void repeatedCreationReusesThePlan()
+    {
+        Helper.destroyed = 0;
+        startContainer(Repository.class, Helper.class, Service.class);
+
+        Bean<Service> serviceBean = (Bean<Service>) getBeanManager().resolve(getBeanManager().getBeans(Service.class));
+        InjectionPlan helperPlan = ((InjectionPointImpl) findInjectionPoint(serviceBean, Helper.class)).getInjectionPlan();
+
+        for (int i = 1; i <= 3; i++)
+        {
+            CreationalContext<Service> creationalContext = getBeanManager().createCreationalContext(serviceBean);
+            Service service = serviceBean.create(creationalContext);
+            assertEquals("stored", service.store());
+            assertEquals(i, Helper.destroyed);
+            serviceBean.destroy(service, creationalContext);
+        }
+
+        assertSame(helperPlan, ((InjectionPointImpl) findInjectionPoint(serviceBean, Helper.class)).getInjectionPlan());
+    }
+
+    private static InjectionPoint findInjectionPoint(Bean<?> bean, Class<?> type)
+    {
+        for (InjectionPoint injectionPoint : bean.getInjectionPoints())
+        {
+            if (injectionPoint.getType() == type)
+            {
+                return injectionPoint;
+            }
+        }
+        throw new IllegalArgumentException("no injection point of type " + type);
+    }
+
+    @ApplicationScoped
+    public static class Repository
+    {
+        public String store()
+        {
+            return "stored";
+        }
+    }
+
+    @Dependent
+    public static class Helper
+    {
+        static int destroyed;
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed++;
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        @Inject
+        private Repository repository;
+
+        protected Service()
+        {
+            // needed for the proxy
+        }
+
+        @Inject
+        public Service(@TransientReference Helper helper)
+        {
+            // only needed during the construction
+        }
+
+        public String store()
+        {
+            return repository.store();
+        }
+    }
+}
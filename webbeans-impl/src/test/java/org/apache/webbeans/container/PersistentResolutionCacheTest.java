@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.util.TypeLiteral;
+import javax.inject.Inject;
+
+import org.apache.webbeans.annotation.DefaultLiteral;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PersistentResolutionCacheTest extends AbstractUnitTest
+{
+    private File cacheFile;
+
+    @Before
+    public void createCacheFile() throws IOException
+    {
+        cacheFile = File.createTempFile("owb-resolutions", ".bin");
+        assertTrue(cacheFile.delete());
+    }
+
+    @After
+    public void deleteCacheFile()
+    {
+        cacheFile.delete();
+    }
+
+    @Test
+    public void resolutionsGetReused()
+    {
+        deploy(Repository.class, Service.class);
+        assertEquals("stored", getInstance(Service.class).store());
+        shutDownContainer();
+        assertTrue(cacheFile.length() > 0);
+
+        deploy(Repository.class, Service.class);
+        PersistentResolutionCache cache = PersistentResolutionCache.load(cacheFile, getWebBeansContext().getBeanManagerImpl());
+        assertNotNull(cache);
+
+        Set<Bean<?>> beans = cache.get(PersistentResolutionCache.descriptor(false, Repository.class, null, DefaultLiteral.ARRAY));
+        assertNotNull(beans);
+        assertEquals(1, beans.size());
+        assertEquals(Repository.class, beans.iterator().next().getBeanClass());
+
+        assertEquals("stored", getInstance(Service.class).store());
+    }
+
+    @Test
+    public void changedDeploymentIgnoresResolutions()
+    {
+        deploy(Repository.class, Service.class);
+        assertEquals("stored", getInstance(Service.class).store());
+        shutDownContainer();
+        assertTrue(cacheFile.length() > 0);
+
+        deploy(Repository.class, Service.class, OtherRepository.class);
+        PersistentResolutionCache cache = PersistentResolutionCache.load(cacheFile, getWebBeansContext().getBeanManagerImpl());
+        assertNotNull(cache);
+        assertNull(cache.get(PersistentResolutionCache.descriptor(false, Repository.class, null, DefaultLiteral.ARRAY)));
+
+        assertEquals("stored", getInstance(Service.class).store());
+    }
+
+    @Test
+    public void descriptorIsCanonical()
+    {
+        Annotation[] qualifiers = DefaultLiteral.ARRAY;
+        String descriptor = PersistentResolutionCache.descriptor(true, new TypeLiteral<List<String>>() {}.getType(), "/beans.xml", qualifiers);
+
+        assertTrue(descriptor, descriptor.startsWith("D;java.util.List<java.lang.String>;/beans.xml;"));
+        assertEquals(descriptor, PersistentResolutionCache.descriptor(true, new TypeLiteral<List<String>>() {}.getType(), "/beans.xml", qualifiers));
+    }
+
+    private void deploy(Class<?>... beanClasses)
+    {
+        addConfiguration(OpenWebBeansConfiguration.RESOLUTION_CACHE_FILE, cacheFile.getAbsolutePath());
+        startContainer(Arrays.asList(beanClasses));
+    }
+
+
+    @ApplicationScoped
+    public static class Repository
+    {
+        public String store()
+        {
+            return "stored";
+        }
+    }
+
+    @ApplicationScoped
+    public static class OtherRepository
+    {
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        @Inject
+        private Repository repository;
+
+        public String store()
+        {
+            return repository.store();
+        }
+    }
+}
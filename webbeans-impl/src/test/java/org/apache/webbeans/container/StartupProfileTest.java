@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.container;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.apache.webbeans.component.OwbBean;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StartupProfileTest extends AbstractUnitTest
+{
+    /**
+     * Not part of LazyInitialised, as reading it would initialise that class.
+     */
+    private static final AtomicBoolean LAZY_INITIALISED = new AtomicBoolean();
+
+    private File profileFile;
+
+    @Before
+    public void createProfileFile() throws IOException
+    {
+        profileFile = File.createTempFile("owb-startup", ".profile");
+        assertTrue(profileFile.delete());
+    }
+
+    @After
+    public void deleteProfileFile()
+    {
+        profileFile.delete();
+    }
+
+    @Test
+    public void usedBeansGetRecorded() throws IOException
+    {
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILE_RECORD_SECONDS, "60");
+        deploy(Repository.class, Service.class, PingObserver.class);
+
+        assertEquals("stored", getInstance(Service.class).store());
+        getBeanManager().fireEvent(new Ping());
+        String serviceId = ((OwbBean<?>) getBean(Service.class)).getId();
+        String repositoryId = ((OwbBean<?>) getBean(Repository.class)).getId();
+        shutDownContainer();
+
+        List<String> entries = Files.readAllLines(profileFile.toPath(), StandardCharsets.UTF_8);
+        assertTrue(entries.toString(), entries.contains("proxy " + serviceId));
+        assertTrue(entries.toString(), entries.contains("bean " + serviceId));
+        assertTrue(entries.toString(), entries.contains("bean " + repositoryId));
+        assertTrue(entries.toString(), entries.contains("event " + Ping.class.getName()));
+
+        // the Service proxy got requested before the instance got created
+        assertTrue(entries.indexOf("proxy " + serviceId) < entries.indexOf("bean " + serviceId));
+    }
+
+    @Test
+    public void profileGetsWrittenWhenTheRecordingTimeIsOver() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILE_RECORD_SECONDS, "1");
+        deploy(Repository.class, Service.class);
+        assertEquals("stored", getInstance(Service.class).store());
+
+        // nothing uses a bean anymore, the profile still gets written while the container runs
+        long end = System.currentTimeMillis() + 10000;
+        while (!profileFile.isFile() && System.currentTimeMillis() < end)
+        {
+            Thread.sleep(50);
+        }
+        assertTrue(profileFile.isFile());
+        assertNull(getWebBeansContext().getBeanManagerImpl().getStartupProfile());
+
+        String serviceId = ((OwbBean<?>) getBean(Service.class)).getId();
+        List<String> entries = Files.readAllLines(profileFile.toPath(), StandardCharsets.UTF_8);
+        assertTrue(entries.toString(), entries.contains("bean " + serviceId));
+    }
+
+    @Test
+    public void recordedBeansGetInitialisedOnStartup() throws IOException
+    {
+        startContainer(Arrays.asList(Repository.class, Service.class, LazyInitialised.class));
+        String lazyInitialisedId = ((OwbBean<?>) getBean(LazyInitialised.class)).getId();
+        shutDownContainer();
+        assertFalse(LAZY_INITIALISED.get());
+
+        Files.write(profileFile.toPath(), Arrays.asList(
+                "# some comment",
+                "bean " + lazyInitialisedId,
+                "bean unknown-bean",
+                "proxy unknown-bean",
+                "event org.apache.webbeans.UnknownEvent"), StandardCharsets.UTF_8);
+        deploy(Repository.class, Service.class, LazyInitialised.class);
+
+        assertTrue(LAZY_INITIALISED.get());
+        assertEquals("stored", getInstance(Service.class).store());
+    }
+
+    private void deploy(Class<?>... beanClasses)
+    {
+        addConfiguration(OpenWebBeansConfiguration.STARTUP_PROFILE_FILE, profileFile.getAbsolutePath());
+        startContainer(Arrays.asList(beanClasses));
+    }
+
+
+    @ApplicationScoped
+    public static class Repository
+    {
+        public String store()
+        {
+            return "stored";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        @Inject
+        private Repository repository;
+
+        public String store()
+        {
+            return repository.store();
+        }
+    }
+
+    public static class Ping
+    {
+    }
+
+    @ApplicationScoped
+    public static class PingObserver
+    {
+        public void onPing(@Observes Ping ping)
+        {
+            // no-op
+        }
+    }
+
+    @ApplicationScoped
+    public static class LazyInitialised
+    {
+        static
+        {
+            LAZY_INITIALISED.set(true);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.inject.spi.Bean;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.creational.SharedCreationalContext;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class CompactSessionContextTest extends AbstractUnitTest
+{
+    @Test
+    public void compactSessionContext()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPACT_SESSION_CONTEXTS, "true");
+        startContainer(PlainSessionBean.class, SessionBeanWithDependent.class, DependentBean.class);
+        DependentBean.destroyed = false;
+
+        Bean<PlainSessionBean> plainBean = getBean(PlainSessionBean.class);
+        Bean<SessionBeanWithDependent> beanWithDependent = getBean(SessionBeanWithDependent.class);
+
+        SessionContext sessionContext = new SessionContext(getWebBeansContext());
+        sessionContext.setActive(true);
+        assertTrue(sessionContext.componentInstanceMap instanceof ContextualInstanceSlotMap);
+        assertTrue(sessionContext.componentInstanceMap.isEmpty());
+
+        PlainSessionBean plain = sessionContext.get(plainBean, getBeanManager().createCreationalContext(plainBean));
+        SessionBeanWithDependent withDependent
+            = sessionContext.get(beanWithDependent, getBeanManager().createCreationalContext(beanWithDependent));
+        assertSame(plain, sessionContext.get(plainBean));
+        assertSame(withDependent, sessionContext.get(beanWithDependent));
+        assertEquals(2, sessionContext.componentInstanceMap.size());
+
+        // only the bean without dependents shares its CreationalContext
+        assertSame(SharedCreationalContext.getInstance(), sessionContext.componentInstanceMap.get(plainBean).getBeanCreationalContext());
+        assertNotSame(SharedCreationalContext.getInstance(), sessionContext.componentInstanceMap.get(beanWithDependent).getBeanCreationalContext());
+
+        sessionContext.destroy();
+        assertTrue(DependentBean.destroyed);
+        assertTrue(sessionContext.componentInstanceMap.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void compactSessionContextViewsAreReadOnly()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPACT_SESSION_CONTEXTS, "true");
+        startContainer(PlainSessionBean.class);
+
+        Bean<PlainSessionBean> plainBean = getBean(PlainSessionBean.class);
+        SessionContext sessionContext = new SessionContext(getWebBeansContext());
+        sessionContext.setActive(true);
+        sessionContext.get(plainBean, getBeanManager().createCreationalContext(plainBean));
+
+        sessionContext.componentInstanceMap.keySet().remove(plainBean);
+    }
+
+    @Test
+    public void compactSessionContextSerialization() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPACT_SESSION_CONTEXTS, "true");
+        startContainer(PlainSessionBean.class, SessionBeanWithDependent.class, DependentBean.class);
+
+        Bean<PlainSessionBean> plainBean = getBean(PlainSessionBean.class);
+        SessionContext sessionContext = new SessionContext(getWebBeansContext());
+        sessionContext.setActive(true);
+        sessionContext.get(plainBean, getBeanManager().createCreationalContext(plainBean)).setValue("stored");
+
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(baos))
+        {
+            out.writeObject(sessionContext);
+        }
+        SessionContext deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray())))
+        {
+            deserialized = (SessionContext) in.readObject();
+        }
+        deserialized.setActive(true);
+
+        assertTrue(deserialized.componentInstanceMap instanceof ContextualInstanceSlotMap);
+        PlainSessionBean restored = deserialized.get(plainBean);
+        assertNotNull(restored);
+        assertEquals("stored", restored.getValue());
+        assertSame(SharedCreationalContext.getInstance(), deserialized.componentInstanceMap.get(plainBean).getBeanCreationalContext());
+    }
+
+    @Test
+    public void compactSessionContextIsDisabledByDefault()
+    {
+        startContainer(PlainSessionBean.class);
+
+        Bean<PlainSessionBean> plainBean = getBean(PlainSessionBean.class);
+        SessionContext sessionContext = new SessionContext(getWebBeansContext());
+        sessionContext.setActive(true);
+        assertTrue(sessionContext.componentInstanceMap instanceof ConcurrentHashMap);
+
+        sessionContext.get(plainBean, getBeanManager().createCreationalContext(plainBean));
+        assertNotSame(SharedCreationalContext.getInstance(), sessionContext.componentInstanceMap.get(plainBean).getBeanCreationalContext());
+        sessionContext.destroy();
+        assertNull(sessionContext.componentInstanceMap.get(plainBean));
+    }
+
+    @SessionScoped
+    public static class PlainSessionBean implements Serializable
+    {
+        private String value;
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+        }
+    }
+
+    @SessionScoped
+    public static class SessionBeanWithDependent implements Serializable
+    {
+        @Inject
+        private DependentBean dependentBean;
+
+        public DependentBean getDependentBean()
+        {
+            return dependentBean;
+        }
+    }
+
+    @Dependent
+    public static class DependentBean implements Serializable
+    {
+        static boolean destroyed;
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed = true;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.context.creational;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.enterprise.context.spi.Contextual;
+import javax.enterprise.context.spi.CreationalContext;
+
+import org.apache.webbeans.exception.WebBeansException;
+import org.junit.Test;
+
+public class CreationalContextImplTest
+{
+    @Test
+    public void concurrentAddDependent() throws Exception
+    {
+        CountingContextual contextual = new CountingContextual();
+        CreationalContextImpl<Object> creationalContext = new CreationalContextImpl<>(null, null);
+
+        int threads = 8;
+        int dependentsPerThread = 1000;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++)
+            {
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int i = 0; i < dependentsPerThread; i++)
+                    {
+                        creationalContext.addDependent(contextual, new Object());
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures)
+            {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+
+        creationalContext.release();
+        assertEquals(threads * dependentsPerThread, contextual.destroyed.get());
+    }
+
+    @Test
+    public void destroySingleDependent()
+    {
+        CountingContextual contextual = new CountingContextual();
+        CreationalContextImpl<Object> creationalContext = new CreationalContextImpl<>(null, null);
+        Object first = new Object();
+        Object second = new Object();
+        creationalContext.addDependent(contextual, first);
+        creationalContext.addDependent(contextual, second);
+
+        assertTrue(creationalContext.containsDependent(contextual, first));
+        creationalContext.destroyDependent(first);
+        assertFalse(creationalContext.containsDependent(contextual, first));
+        assertTrue(creationalContext.containsDependent(contextual, second));
+        assertEquals(1, contextual.destroyed.get());
+
+        creationalContext.release();
+        assertFalse(creationalContext.containsDependent(contextual, second));
+        assertEquals(2, contextual.destroyed.get());
+    }
+
+    @Test
+    public void dependentAddedWhileReleasingGetsDestroyed()
+    {
+        CountingContextual contextual = new CountingContextual();
+        CreationalContextImpl<Object> creationalContext = new CreationalContextImpl<>(null, null);
+        Contextual<Object> addingContextual = new CountingContextual()
+        {
+            @Override
+            public void destroy(Object instance, CreationalContext<Object> cc)
+            {
+                // e.g. another thread which adds a dependent while we release the detached ones
+                creationalContext.addDependent(contextual, new Object());
+            }
+        };
+        creationalContext.addDependent(addingContextual, new Object());
+
+        creationalContext.release();
+        assertEquals(1, contextual.destroyed.get());
+    }
+
+    @Test
+    public void endlesslyAddedDependentsAreReported()
+    {
+        CreationalContextImpl<Object> creationalContext = new CreationalContextImpl<>(null, null);
+        CountingContextual addingContextual = new CountingContextual()
+        {
+            @Override
+            public void destroy(Object instance, CreationalContext<Object> cc)
+            {
+                super.destroy(instance, cc);
+                creationalContext.addDependent(this, new Object());
+            }
+        };
+        creationalContext.addDependent(addingContextual, new Object());
+
+        try
+        {
+            creationalContext.release();
+            fail("the endless destroy chain must not get cut off silently");
+        }
+        catch (WebBeansException e)
+        {
+            assertTrue(e.getMessage(), e.getMessage().contains("infinite loop"));
+        }
+        // the budget was used up by destroying instances, none got polled and dropped
+        assertEquals(3, addingContextual.destroyed.get());
+    }
+
+    private static class CountingContextual implements Contextual<Object>
+    {
+        private final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public Object create(CreationalContext<Object> creationalContext)
+        {
+            return new Object();
+        }
+
+        @Override
+        public void destroy(Object instance, CreationalContext<Object> creationalContext)
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+}
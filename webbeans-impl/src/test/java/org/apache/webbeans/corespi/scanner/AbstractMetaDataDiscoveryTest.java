@@ -20,6 +20,7 @@ package org.apache.webbeans.corespi.scanner;
 
 import static java.util.Collections.emptyEnumeration;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonMap;
 import static org.apache.xbean.asm9.ClassWriter.COMPUTE_FRAMES;
 import static org.apache.xbean.asm9.Opcodes.ACC_PUBLIC;
 import static org.apache.xbean.asm9.Opcodes.ACC_SUPER;
@@ -39,6 +40,7 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Enumeration;
 import java.util.Properties;
 import java.util.Set;
@@ -53,10 +55,13 @@ import javax.enterprise.inject.spi.Extension;
 import org.apache.webbeans.config.WebBeansContext;
 import org.apache.webbeans.config.WebBeansFinder;
 import org.apache.webbeans.corespi.DefaultSingletonService;
+import org.apache.webbeans.corespi.se.DefaultScannerService;
 import org.apache.webbeans.spi.ContainerLifecycle;
+import org.apache.webbeans.spi.ScannerService;
 import org.apache.xbean.asm9.ClassWriter;
 import org.apache.xbean.asm9.MethodVisitor;
 import org.apache.xbean.asm9.Type;
+import org.apache.xbean.finder.archive.Archive;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
@@ -97,36 +102,7 @@ public class AbstractMetaDataDiscoveryTest
         final Thread thread = Thread.currentThread();
         final ClassLoader oldLoader = thread.getContextClassLoader();
         final URL[] urls = {scannedModule, extensionModule};
-        try (final URLClassLoader loader = new URLClassLoader(urls, new ClassLoader() {
-            @Override
-            public Class<?> loadClass(final String name) throws ClassNotFoundException
-            {
-                return oldLoader.loadClass(name);
-            }
-
-            @Override
-            public URL getResource(final String name)
-            {
-                return oldLoader.getResource(name);
-            }
-
-            @Override
-            public Enumeration<URL> getResources(final String name) throws IOException
-            {
-                if ("META-INF".equals(name) || "".equals(name)) // scanning
-                {
-                    return emptyEnumeration();
-                }
-                return oldLoader.getResources(name);
-            }
-        })
-        {
-            @Override
-            public URL[] getURLs()
-            {
-                return urls;
-            }
-        })
+        try (final URLClassLoader loader = createLoader(urls, oldLoader))
         {
             thread.setContextClassLoader(loader);
 
@@ -170,6 +146,133 @@ public class AbstractMetaDataDiscoveryTest
         }
     }
 
+    @Test
+    public void reuseScannerIndexForUnchangedArchives() throws Exception
+    {
+        final File index = new File(temp.getRoot(), "scanner.idx");
+        final File module = temp.newFolder("test-indexed");
+        createAnnotatedModule(module, "Foo");
+
+        // the first deployment scans the module and writes the index
+        assertTrue(deployIndexed(module, index, "Foo"));
+        assertTrue(index.isFile());
+
+        // an unchanged module gets taken from the index
+        assertFalse(deployIndexed(module, index, "Foo"));
+
+        // a changed module gets scanned again
+        createAnnotatedModule(module, "Foo", "Bar");
+        assertTrue(deployIndexed(module, index, "Foo", "Bar"));
+        assertFalse(deployIndexed(module, index, "Foo", "Bar"));
+    }
+
+    /**
+     * @return whether the module got scanned instead of taken from the index
+     */
+    private boolean deployIndexed(final File module, final File index, final String... beans) throws Exception
+    {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader oldLoader = thread.getContextClassLoader();
+        try (final URLClassLoader loader = createLoader(new URL[]{ module.toURI().toURL() }, oldLoader))
+        {
+            thread.setContextClassLoader(loader);
+
+            final Properties config = new Properties();
+            config.setProperty("org.apache.webbeans.scanner.indexFile", index.getAbsolutePath());
+            config.setProperty("org.apache.webbeans.scanExclusionPaths", "/classes,/test-classes," +
+                    "/xbean,/ham,/junit-,/junit5-,/debugger,/idea,/openwebbeans,/geronimo");
+            final DefaultScannerService scanner = new DefaultScannerService()
+            {
+                @Override
+                public void release()
+                {
+                    // keep the archive to check where the classes came from
+                }
+            };
+            final WebBeansContext context = new WebBeansContext(singletonMap(ScannerService.class, scanner), config);
+            final DefaultSingletonService singletonService = DefaultSingletonService.class.cast(
+                    WebBeansFinder.getSingletonService());
+            singletonService.register(loader, context);
+            final ContainerLifecycle lifecycle = context.getService(ContainerLifecycle.class);
+            lifecycle.startApplication(null);
+            try
+            {
+                final BeanManager manager = context.getBeanManagerImpl();
+                for (final String bean : beans)
+                {
+                    assertEquals(bean, 1, manager.getBeans(
+                            loader.loadClass("org.apache.openwebbeans.generated.test." + bean)).size());
+                }
+
+                // restored archives don't get scanned, so they are not part of the archive
+                for (final Archive.Entry entry : scanner.archive)
+                {
+                    if ("org.apache.openwebbeans.generated.test.Foo".equals(entry.getName()))
+                    {
+                        return true;
+                    }
+                }
+                return false;
+            }
+            finally
+            {
+                lifecycle.stopApplication(null);
+                singletonService.clear(loader);
+            }
+        }
+        finally
+        {
+            thread.setContextClassLoader(oldLoader);
+        }
+    }
+
+    private URLClassLoader createLoader(final URL[] urls, final ClassLoader oldLoader)
+    {
+        return new URLClassLoader(urls, new ClassLoader() {
+            @Override
+            public Class<?> loadClass(final String name) throws ClassNotFoundException
+            {
+                return oldLoader.loadClass(name);
+            }
+
+            @Override
+            public URL getResource(final String name)
+            {
+                return oldLoader.getResource(name);
+            }
+
+            @Override
+            public Enumeration<URL> getResources(final String name) throws IOException
+            {
+                if ("META-INF".equals(name) || "".equals(name)) // scanning
+                {
+                    return emptyEnumeration();
+                }
+                return oldLoader.getResources(name);
+            }
+        })
+        {
+            @Override
+            public URL[] getURLs()
+            {
+                return urls;
+            }
+        };
+    }
+
+    private void createAnnotatedModule(final File directory, final String... beans) throws IOException
+    {
+        for (final String bean : beans)
+        {
+            final File classFile = new File(directory, "org/apache/openwebbeans/generated/test/" + bean + ".class");
+            classFile.getParentFile().mkdirs();
+            Files.write(classFile.toPath(), createBean("org/apache/openwebbeans/generated/test/" + bean + ".class", null));
+        }
+        final File beansXml = new File(directory, "META-INF/beans.xml");
+        beansXml.getParentFile().mkdirs();
+        Files.write(beansXml.toPath(), "<beans bean-discovery-mode=\"annotated\"/>".getBytes(StandardCharsets.UTF_8));
+    }
+
     private URL createScannedModule() throws IOException
     {
         final File file = temp.newFile("test-scanned.jar");
@@ -200,6 +303,12 @@ public class AbstractMetaDataDiscoveryTest
             throws IOException
     {
         outputStream.putNextEntry(new JarEntry(resource));
+        outputStream.write(createBean(resource, itf));
+        outputStream.closeEntry();
+    }
+
+    private byte[] createBean(final String resource, final Class<?> itf)
+    {
         final ClassWriter writer = new ClassWriter(COMPUTE_FRAMES);
         // make it count for annotated mode
         writer.visitAnnotation(Type.getDescriptor(ApplicationScoped.class), true).visitEnd();
@@ -215,7 +324,6 @@ public class AbstractMetaDataDiscoveryTest
         constructor.visitMaxs(1, 1);
         constructor.visitEnd();
         writer.visitEnd();
-        outputStream.write(writer.toByteArray());
-        outputStream.closeEntry();
+        return writer.toByteArray();
     }
 }
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.corespi.scanner.xbean;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import javax.inject.Named;
+
+import org.apache.xbean.finder.archive.ClassesArchive;
+import org.junit.Test;
+
+public class OwbAnnotationFinderTest
+{
+    @Test
+    public void beanCandidates()
+    {
+        final OwbAnnotationFinder finder = new OwbAnnotationFinder(new ClassesArchive(SomeBean.class, Named.class));
+
+        assertTrue(finder.isBeanCandidate(SomeBean.class.getName()));
+        // annotation types still get registered as AnnotatedTypes
+        assertTrue(finder.isBeanCandidate(Named.class.getName()));
+        assertFalse(finder.isBeanCandidate("org.apache.webbeans.test.package-info"));
+    }
+
+    public static class SomeBean
+    {
+    }
+}
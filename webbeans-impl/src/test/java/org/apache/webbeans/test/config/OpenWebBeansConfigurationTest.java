@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import java.util.Properties;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class OpenWebBeansConfigurationTest
+{
+    @Test
+    public void testResolvedFlagsFollowConfigurationChanges()
+    {
+        Properties properties = new Properties();
+        properties.setProperty(OpenWebBeansConfiguration.STRICT_DYNAMIC_VALIDATION, "true");
+        OpenWebBeansConfiguration configuration = new OpenWebBeansConfiguration(properties);
+
+        Assert.assertTrue(configuration.strictDynamicValidation());
+        Assert.assertTrue(configuration.supportsInterceptionOnProducers());
+
+        configuration.setProperty(OpenWebBeansConfiguration.STRICT_DYNAMIC_VALIDATION, "false");
+        configuration.setProperty(OpenWebBeansConfiguration.PRODUCER_INTERCEPTION_SUPPORT, "false");
+
+        Assert.assertFalse(configuration.strictDynamicValidation());
+        Assert.assertFalse(configuration.supportsInterceptionOnProducers());
+    }
+}
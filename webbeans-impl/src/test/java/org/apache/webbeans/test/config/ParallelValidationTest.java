@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class ParallelValidationTest extends AbstractUnitTest
+{
+    @Test
+    public void validDeployment()
+    {
+        addConfiguration(OpenWebBeansConfiguration.VALIDATION_THREADS, "4");
+        startContainer(Arrays.asList(Repository.class, Service.class, Controller.class, StartupObserver.class));
+
+        assertEquals(4, getWebBeansContext().getOpenWebBeansConfiguration().getValidationThreads());
+        assertEquals("stored", getInstance(Controller.class).store());
+    }
+
+    @Test
+    public void autoUsesAllProcessors()
+    {
+        addConfiguration(OpenWebBeansConfiguration.VALIDATION_THREADS, "auto");
+        startContainer(Repository.class);
+
+        assertEquals(Runtime.getRuntime().availableProcessors(),
+                getWebBeansContext().getOpenWebBeansConfiguration().getValidationThreads());
+    }
+
+    @Test
+    public void allErrorsGetReported()
+    {
+        addConfiguration(OpenWebBeansConfiguration.VALIDATION_THREADS, "4");
+        try
+        {
+            startContainer(Arrays.asList(Repository.class, Service.class, BrokenService.class, BrokenController.class));
+            fail("unsatisfied injection points must fail the deployment");
+        }
+        catch (RuntimeException e)
+        {
+            // the first error gets thrown, the others get added as suppressed exceptions
+            StringBuilder messages = new StringBuilder();
+            int suppressed = 0;
+            for (Throwable t = e; t != null; t = t.getCause())
+            {
+                messages.append(t.getMessage());
+                for (Throwable other : t.getSuppressed())
+                {
+                    messages.append(other.getMessage());
+                    suppressed++;
+                }
+            }
+            assertEquals(1, suppressed);
+            assertTrue(messages.toString(), messages.indexOf(BrokenService.class.getName()) >= 0);
+            assertTrue(messages.toString(), messages.indexOf(BrokenController.class.getName()) >= 0);
+        }
+    }
+
+
+    public interface Missing
+    {
+    }
+
+    @ApplicationScoped
+    public static class Repository
+    {
+        public String store()
+        {
+            return "stored";
+        }
+    }
+
+    @ApplicationScoped
+    public static class Service
+    {
+        @Inject
+        private Repository repository;
+
+        public String store()
+        {
+            return repository.store();
+        }
+    }
+
+    @RequestScoped
+    public static class Controller
+    {
+        @Inject
+        private Service service;
+
+        public String store()
+        {
+            return service.store();
+        }
+    }
+
+    public static class StartupObserver
+    {
+        public void init(@Observes Object event, Service service)
+        {
+            // just to get the injection points of observer methods validated
+        }
+    }
+
+    @ApplicationScoped
+    public static class BrokenService
+    {
+        @Inject
+        private Missing missing;
+    }
+
+    @RequestScoped
+    public static class BrokenController
+    {
+        @Inject
+        private Missing missing;
+    }
+}
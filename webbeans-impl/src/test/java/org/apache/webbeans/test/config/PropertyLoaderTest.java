@@ -27,12 +27,15 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
@@ -122,6 +125,41 @@ public class PropertyLoaderTest
         
     }
 
+    @Test
+    public void testLoadedPropertiesAreCopies()
+    {
+        Properties p = PropertyLoader.getProperties(PROPERTY_FILE);
+        p.setProperty("testConfig", "changed");
+
+        Assert.assertEquals("testValue", PropertyLoader.getProperties(PROPERTY_FILE).getProperty("testConfig"));
+    }
+
+    @Test
+    public void testChangedPropertiesGetReloaded() throws Exception
+    {
+        File dir = Files.createTempDirectory("propertyloader").toFile();
+        File file = new File(dir, "reloaded.properties");
+        Files.write(file.toPath(), "testConfig=first".getBytes(StandardCharsets.UTF_8));
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader loader = thread.getContextClassLoader();
+        thread.setContextClassLoader(new URLClassLoader(new URL[]{dir.toURI().toURL()}, null));
+        try
+        {
+            Assert.assertEquals("first", PropertyLoader.getProperties("reloaded.properties").getProperty("testConfig"));
+
+            Files.write(file.toPath(), "testConfig=second".getBytes(StandardCharsets.UTF_8));
+            Assert.assertTrue(file.setLastModified(file.lastModified() + 2000));
+            Assert.assertEquals("second", PropertyLoader.getProperties("reloaded.properties").getProperty("testConfig"));
+        }
+        finally
+        {
+            thread.setContextClassLoader(loader);
+            file.delete();
+            dir.delete();
+        }
+    }
+
     private static class MemoryHandler extends URLStreamHandler
     {
         private final String content;
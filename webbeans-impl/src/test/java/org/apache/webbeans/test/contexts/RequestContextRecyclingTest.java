@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.control.RequestContextController;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.context.RequestContext;
+import org.apache.webbeans.spi.ContextsService;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class RequestContextRecyclingTest extends AbstractUnitTest
+{
+    @Test
+    public void requestContextsAreNotRecycledByDefault()
+    {
+        startContainer(RequestBean.class);
+
+        Context first = getRequestContext();
+        restartContext(RequestScoped.class);
+        Context second = getRequestContext();
+
+        assertNotSame(first, second);
+        assertFalse(first.isActive());
+        assertTrue(second.isActive());
+    }
+
+    @Test
+    public void requestContextsGetRecycled()
+    {
+        addConfiguration(OpenWebBeansConfiguration.RECYCLE_REQUEST_CONTEXTS, "true");
+        startContainer(RequestBean.class);
+
+        RequestBean requestBean = getInstance(RequestBean.class);
+        requestBean.setValue("first");
+
+        Context first = getRequestContext();
+        restartContext(RequestScoped.class);
+        Context second = getRequestContext();
+
+        assertSame(first, second);
+        assertTrue(second.isActive());
+        assertNull(requestBean.getValue());
+
+        requestBean.setValue("second");
+        assertEquals("second", requestBean.getValue());
+    }
+
+    @Test
+    public void activatedRequestContextsGetRecycled()
+    {
+        addConfiguration(OpenWebBeansConfiguration.RECYCLE_REQUEST_CONTEXTS, "true");
+        startContainer(RequestBean.class);
+        getWebBeansContext().getContextsService().endContext(RequestScoped.class, null);
+
+        RequestContextController controller = getInstance(RequestContextController.class);
+        RequestBean requestBean = getInstance(RequestBean.class);
+
+        assertTrue(controller.activate());
+        requestBean.setValue("first");
+        Context first = getRequestContext();
+        controller.deactivate();
+        assertNull(getRequestContext());
+
+        assertTrue(controller.activate());
+        assertSame(first, getRequestContext());
+        assertNull(requestBean.getValue());
+        controller.deactivate();
+    }
+
+    @Test
+    public void recycledRequestContextsGetReleasedOnDestroy() throws Exception
+    {
+        addConfiguration(OpenWebBeansConfiguration.RECYCLE_REQUEST_CONTEXTS, "true");
+        startContainer(RequestBean.class);
+        ContextsService contextsService = getWebBeansContext().getContextsService();
+
+        // a pooled thread which outlives the container
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try
+        {
+            Context recycled = pool.submit(() -> runRequest(contextsService)).get();
+            assertSame(recycled, pool.submit(() -> runRequest(contextsService)).get());
+
+            contextsService.destroy(null);
+
+            assertNotSame(recycled, pool.submit(() -> runRequest(contextsService)).get());
+        }
+        finally
+        {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void requestContextStorageIsLazy()
+    {
+        startContainer(RequestBean.class);
+        Bean<RequestBean> bean = getBean(RequestBean.class);
+
+        RequestContext requestContext = new RequestContext();
+        requestContext.setActive(true);
+        assertNull(requestContext.get(bean));
+        requestContext.destroy();
+        assertFalse(requestContext.isActive());
+
+        requestContext.reset();
+        requestContext.setActive(true);
+        RequestBean instance = requestContext.get(bean, getBeanManager().createCreationalContext(bean));
+        assertSame(instance, requestContext.get(bean));
+        requestContext.destroy();
+    }
+
+    @Test
+    public void destroyingAnInstanceOnlyClearsItsSlot()
+    {
+        startContainer(RequestBean.class, OtherRequestBean.class);
+        Bean<RequestBean> bean = getBean(RequestBean.class);
+        Bean<OtherRequestBean> otherBean = getBean(OtherRequestBean.class);
+
+        RequestContext requestContext = new RequestContext();
+        requestContext.setActive(true);
+        RequestBean instance = requestContext.get(bean, getBeanManager().createCreationalContext(bean));
+        OtherRequestBean otherInstance = requestContext.get(otherBean, getBeanManager().createCreationalContext(otherBean));
+        requestContext.setSlotInstance(0, instance);
+        requestContext.setSlotInstance(1, otherInstance);
+
+        requestContext.destroyInstance(bean);
+        assertNull(requestContext.getSlotInstance(0));
+        assertSame(otherInstance, requestContext.getSlotInstance(1));
+
+        requestContext.destroy();
+        assertNull(requestContext.getSlotInstance(1));
+
+        requestContext.reset();
+        requestContext.setActive(true);
+        instance = requestContext.get(bean, getBeanManager().createCreationalContext(bean));
+        requestContext.setSlotInstance(0, instance);
+        assertSame(instance, requestContext.getSlotInstance(0));
+        assertNull(requestContext.getSlotInstance(1));
+        requestContext.destroy();
+    }
+
+    private static Context runRequest(ContextsService contextsService)
+    {
+        contextsService.startContext(RequestScoped.class, null);
+        Context requestContext = contextsService.getCurrentContext(RequestScoped.class);
+        contextsService.endContext(RequestScoped.class, null);
+        return requestContext;
+    }
+
+    private Context getRequestContext()
+    {
+        return getWebBeansContext().getContextsService().getCurrentContext(RequestScoped.class);
+    }
+
+    @RequestScoped
+    public static class RequestBean
+    {
+        private String value;
+
+        public String getValue()
+        {
+            return value;
+        }
+
+        public void setValue(String value)
+        {
+            this.value = value;
+        }
+    }
+
+    @RequestScoped
+    public static class OtherRequestBean
+    {
+    }
+}
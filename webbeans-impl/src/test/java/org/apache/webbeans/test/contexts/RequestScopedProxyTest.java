@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.contexts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.spi.AlterableContext;
+import javax.enterprise.context.spi.Context;
+import javax.enterprise.inject.spi.Bean;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Test;
+
+public class RequestScopedProxyTest extends AbstractUnitTest
+{
+    @Test
+    public void proxyFollowsRequestContextRestart()
+    {
+        startContainer(Counter.class);
+        Counter counter = getInstance(Counter.class);
+
+        counter.increment();
+        counter.increment();
+        assertEquals(2, counter.getValue());
+        long id = counter.getId();
+
+        restartContext(RequestScoped.class);
+
+        assertEquals(0, counter.getValue());
+        assertNotEquals(id, counter.getId());
+    }
+
+    @Test
+    public void proxyFollowsSingleBeanDestroy()
+    {
+        startContainer(Counter.class);
+        Counter counter = getInstance(Counter.class);
+        counter.increment();
+        long id = counter.getId();
+
+        Bean<Counter> bean = getBean(Counter.class);
+        Context context = getBeanManager().getContext(RequestScoped.class);
+        ((AlterableContext) context).destroy(bean);
+
+        assertEquals(0, counter.getValue());
+        assertNotEquals(id, counter.getId());
+    }
+
+    @Test
+    public void proxyResolvesInstancesOfMultipleBeans()
+    {
+        startContainer(Counter.class, OtherCounter.class);
+        Counter counter = getInstance(Counter.class);
+        OtherCounter otherCounter = getInstance(OtherCounter.class);
+
+        counter.increment();
+        assertEquals(1, counter.getValue());
+        assertEquals(0, otherCounter.getValue());
+        assertNotEquals(counter.getId(), otherCounter.getId());
+    }
+
+    @RequestScoped
+    public static class Counter
+    {
+        private final long id = System.identityHashCode(this);
+        private int value;
+
+        public void increment()
+        {
+            value++;
+        }
+
+        public int getValue()
+        {
+            return value;
+        }
+
+        public long getId()
+        {
+            return id;
+        }
+    }
+
+    @RequestScoped
+    public static class OtherCounter
+    {
+        private final long id = System.identityHashCode(this);
+
+        public int getValue()
+        {
+            return 0;
+        }
+
+        public long getId()
+        {
+            return id;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.decorators.tests;
+
+import javax.annotation.Priority;
+import javax.decorator.Decorator;
+import javax.decorator.Delegate;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the invocation of decorated methods with 1, 3 and 5 stacked Decorators.
+ */
+public class StackedDecoratorsTest extends AbstractUnitTest
+{
+    public static final List<Class<?>> DECORATORS = Arrays.asList(
+            Decorator1.class, Decorator2.class, Decorator3.class, Decorator4.class, Decorator5.class);
+
+    @Test
+    public void testOneDecorator()
+    {
+        checkDecorators(1);
+    }
+
+    @Test
+    public void testThreeDecorators()
+    {
+        checkDecorators(3);
+    }
+
+    @Test
+    public void testFiveDecorators()
+    {
+        checkDecorators(5);
+    }
+
+    private void checkDecorators(int decoratorCount)
+    {
+        List<Class<?>> beanClasses = new ArrayList<>(DECORATORS.subList(0, decoratorCount));
+        beanClasses.add(CounterService.class);
+        startContainer(beanClasses);
+
+        Counter counter = getInstance(Counter.class);
+        Assert.assertEquals(decoratorCount + 1, counter.increment(0));
+        // the second invocation goes through the same dispatch table
+        Assert.assertEquals(decoratorCount + 11, counter.increment(10));
+    }
+
+
+    public interface Counter
+    {
+        int increment(int value);
+    }
+
+    @ApplicationScoped
+    public static class CounterService implements Counter
+    {
+        @Override
+        public int increment(int value)
+        {
+            return value + 1;
+        }
+    }
+
+    public abstract static class AbstractCounterDecorator implements Counter
+    {
+        @Inject
+        @Delegate
+        private Counter delegate;
+
+        @Override
+        public int increment(int value)
+        {
+            return delegate.increment(value + 1);
+        }
+    }
+
+    @Decorator
+    @Priority(1)
+    public abstract static class Decorator1 extends AbstractCounterDecorator
+    {
+    }
+
+    @Decorator
+    @Priority(2)
+    public abstract static class Decorator2 extends AbstractCounterDecorator
+    {
+    }
+
+    @Decorator
+    @Priority(3)
+    public abstract static class Decorator3 extends AbstractCounterDecorator
+    {
+    }
+
+    @Decorator
+    @Priority(4)
+    public abstract static class Decorator4 extends AbstractCounterDecorator
+    {
+    }
+
+    @Decorator
+    @Priority(5)
+    public abstract static class Decorator5 extends AbstractCounterDecorator
+    {
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.injection.generics;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.enterprise.event.Observes;
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the deployment of beans with deep generic hierarchies,
+ * as typically seen with repository style Dao&lt;E, ID&gt; beans.
+ */
+public class GenericHierarchyDeploymentTest extends AbstractUnitTest
+{
+    public static final List<Class<?>> BEAN_CLASSES = Arrays.asList(
+            UserDao.class, OrderDao.class, ProductDao.class, InvoiceDao.class, CustomerDao.class, ShipmentDao.class,
+            UserService.class, OrderService.class, ProductService.class, InvoiceService.class, CustomerService.class, ShipmentService.class,
+            EntityObserver.class);
+
+    @Test
+    public void testGenericDeployment()
+    {
+        startContainer(BEAN_CLASSES);
+        checkInjection();
+    }
+
+    @Test
+    public void testGenericDeploymentWithResolutionCache() throws IOException
+    {
+        File cacheFile = File.createTempFile("owb-resolutions", ".bin");
+        try
+        {
+            // the second deployment uses the resolutions stored by the first one
+            for (int i = 0; i < 2; i++)
+            {
+                addConfiguration(OpenWebBeansConfiguration.RESOLUTION_CACHE_FILE, cacheFile.getAbsolutePath());
+                startContainer(BEAN_CLASSES);
+                checkInjection();
+                shutDownContainer();
+            }
+        }
+        finally
+        {
+            cacheFile.delete();
+        }
+    }
+
+    private void checkInjection()
+    {
+        Assert.assertEquals(User.class, getInstance(UserService.class).entityType());
+        Assert.assertEquals(Shipment.class, getInstance(ShipmentService.class).entityType());
+    }
+
+
+    public interface Entity<ID extends Serializable>
+    {
+    }
+
+    public interface Dao<E extends Entity<ID>, ID extends Serializable>
+    {
+        Class<E> entityType();
+    }
+
+    public interface PagingDao<E extends Entity<ID>, ID extends Serializable> extends Dao<E, ID>
+    {
+    }
+
+    public abstract static class AbstractDao<E extends Entity<ID>, ID extends Serializable> implements PagingDao<E, ID>, Serializable
+    {
+        private final Class<E> entityType;
+
+        protected AbstractDao(Class<E> entityType)
+        {
+            this.entityType = entityType;
+        }
+
+        @Override
+        public Class<E> entityType()
+        {
+            return entityType;
+        }
+    }
+
+    public abstract static class AbstractService<E extends Entity<ID>, ID extends Serializable>
+    {
+        @Inject
+        private Dao<E, ID> dao;
+
+        @Inject
+        private PagingDao<E, ID> pagingDao;
+
+        @Inject
+        private Event<EntityChanged<E>> changed;
+
+        public Class<E> entityType()
+        {
+            return pagingDao.entityType();
+        }
+    }
+
+    public static class EntityChanged<E extends Entity<?>>
+    {
+    }
+
+    public static class User implements Entity<Long>
+    {
+    }
+
+    public static class Order implements Entity<Long>
+    {
+    }
+
+    public static class Product implements Entity<String>
+    {
+    }
+
+    public static class Invoice implements Entity<Long>
+    {
+    }
+
+    public static class Customer implements Entity<String>
+    {
+    }
+
+    public static class Shipment implements Entity<Integer>
+    {
+    }
+
+    @ApplicationScoped
+    public static class UserDao extends AbstractDao<User, Long>
+    {
+        public UserDao()
+        {
+            super(User.class);
+        }
+    }
+
+    @ApplicationScoped
+    public static class OrderDao extends AbstractDao<Order, Long>
+    {
+        public OrderDao()
+        {
+            super(Order.class);
+        }
+    }
+
+    @ApplicationScoped
+    public static class ProductDao extends AbstractDao<Product, String>
+    {
+        public ProductDao()
+        {
+            super(Product.class);
+        }
+    }
+
+    @ApplicationScoped
+    public static class InvoiceDao extends AbstractDao<Invoice, Long>
+    {
+        public InvoiceDao()
+        {
+            super(Invoice.class);
+        }
+    }
+
+    @ApplicationScoped
+    public static class CustomerDao extends AbstractDao<Customer, String>
+    {
+        public CustomerDao()
+        {
+            super(Customer.class);
+        }
+    }
+
+    @ApplicationScoped
+    public static class ShipmentDao extends AbstractDao<Shipment, Integer>
+    {
+        public ShipmentDao()
+        {
+            super(Shipment.class);
+        }
+    }
+
+    @ApplicationScoped
+    public static class UserService extends AbstractService<User, Long>
+    {
+    }
+
+    @ApplicationScoped
+    public static class OrderService extends AbstractService<Order, Long>
+    {
+    }
+
+    @ApplicationScoped
+    public static class ProductService extends AbstractService<Product, String>
+    {
+    }
+
+    @ApplicationScoped
+    public static class InvoiceService extends AbstractService<Invoice, Long>
+    {
+    }
+
+    @ApplicationScoped
+    public static class CustomerService extends AbstractService<Customer, String>
+    {
+    }
+
+    @ApplicationScoped
+    public static class ShipmentService extends AbstractService<Shipment, Integer>
+    {
+    }
+
+    @ApplicationScoped
+    public static class EntityObserver
+    {
+        public void userChanged(@Observes EntityChanged<User> event)
+        {
+            // nothing to do
+        }
+
+        public void anyChanged(@Observes EntityChanged<? extends Entity<Long>> event)
+        {
+            // nothing to do
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.instance;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.inject.Any;
+import javax.enterprise.inject.Instance;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.inject.Inject;
+import javax.inject.Qualifier;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Test that {@code Instance<T>} can be used as a dispatch table.
+ */
+public class InstanceSelectionTest extends AbstractUnitTest
+{
+    @Test
+    public void testSelectionsAreCached()
+    {
+        startContainer(HandlerHolder.class, FastHandler.class, SlowHandler.class);
+
+        Instance<Handler> handlers = getInstance(HandlerHolder.class).getHandlers();
+
+        Instance<Handler> fast = handlers.select(new FastLiteral());
+        Assert.assertSame(fast, handlers.select(new FastLiteral()));
+        Assert.assertNotSame(fast, handlers.select(new SlowLiteral()));
+
+        Assert.assertEquals("fast", fast.get().handle());
+        Assert.assertEquals("slow", handlers.select(new SlowLiteral()).get().handle());
+        Assert.assertEquals("slow", handlers.select(SlowHandler.class).get().handle());
+    }
+
+    @Test
+    public void testNormalScopedProxyIsReused()
+    {
+        startContainer(HandlerHolder.class, FastHandler.class, SlowHandler.class);
+
+        Instance<Handler> fast = getInstance(HandlerHolder.class).getHandlers().select(new FastLiteral());
+        Handler handler = fast.get();
+        Assert.assertSame(handler, fast.get());
+    }
+
+    @Test
+    public void testDependentGetDestroyCycle()
+    {
+        startContainer(HandlerHolder.class, FastHandler.class, SlowHandler.class);
+        SlowHandler.destroyed.set(0);
+
+        Instance<Handler> slow = getInstance(HandlerHolder.class).getHandlers().select(new SlowLiteral());
+        for (int i = 0; i < 100; i++)
+        {
+            Handler handler = slow.get();
+            Assert.assertEquals("slow", handler.handle());
+            slow.destroy(handler);
+        }
+        Assert.assertEquals(100, SlowHandler.destroyed.get());
+    }
+
+    @Test
+    public void testSelectedDependentsGetReleased()
+    {
+        startContainer(HandlerHolder.class, FastHandler.class, SlowHandler.class);
+        SlowHandler.destroyed.set(0);
+
+        Instance<Handler> handlers = getInstance(HandlerHolder.class).getHandlers();
+        handlers.select(new SlowLiteral()).get();
+        handlers.select(new SlowLiteral()).get();
+        Assert.assertEquals(0, SlowHandler.destroyed.get());
+
+        endContext(RequestScoped.class);
+        Assert.assertEquals(2, SlowHandler.destroyed.get());
+    }
+
+
+    public interface Handler
+    {
+        String handle();
+    }
+
+    @Qualifier
+    @Target({ElementType.FIELD, ElementType.TYPE, ElementType.PARAMETER})
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Fast
+    {
+    }
+
+    @Qualifier
+    @Target({ElementType.FIELD, ElementType.TYPE, ElementType.PARAMETER})
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Slow
+    {
+    }
+
+    public static class FastLiteral extends AnnotationLiteral<Fast> implements Fast
+    {
+    }
+
+    public static class SlowLiteral extends AnnotationLiteral<Slow> implements Slow
+    {
+    }
+
+    @RequestScoped
+    public static class HandlerHolder
+    {
+        private @Inject @Any Instance<Handler> handlers;
+
+        public Instance<Handler> getHandlers()
+        {
+            return handlers;
+        }
+    }
+
+    @Fast
+    @ApplicationScoped
+    public static class FastHandler implements Handler
+    {
+        @Override
+        public String handle()
+        {
+            return "fast";
+        }
+    }
+
+    @Slow
+    @Dependent
+    public static class SlowHandler implements Handler
+    {
+        private static final AtomicInteger destroyed = new AtomicInteger();
+
+        @Override
+        public String handle()
+        {
+            return "slow";
+        }
+
+        @PreDestroy
+        public void destroy()
+        {
+            destroyed.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.interceptors.resolution;
+
+import javax.annotation.Priority;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.inject.spi.InterceptionType;
+import javax.enterprise.inject.spi.Interceptor;
+import javax.enterprise.util.AnnotationLiteral;
+import javax.interceptor.AroundInvoke;
+import javax.interceptor.InterceptorBinding;
+import javax.enterprise.util.Nonbinding;
+import javax.interceptor.InvocationContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.webbeans.intercept.InterceptorsManager;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks the resolution of interceptors by their interceptor bindings.
+ * Many beans and methods share the very same bindings in real applications.
+ */
+public class InterceptorBindingResolutionTest extends AbstractUnitTest
+{
+    public static final Annotation[] BINDINGS = { new AnnotationLiteral<Timed>() {}, new AnnotationLiteral<Logged>() {} };
+
+    public static final List<Class<?>> BEAN_CLASSES = Arrays.asList(Logged.class, Audited.class, Timed.class,
+            LoggedInterceptor.class, AuditedInterceptor.class, TimedInterceptor.class, AuditedLoggedInterceptor.class,
+            Tagged.class, TaggedInterceptor1.class, TaggedInterceptor2.class, TaggedInterceptor3.class, TaggedInterceptor4.class,
+            TaggedInterceptor5.class, TaggedInterceptor6.class, TaggedInterceptor7.class, TaggedInterceptor8.class,
+            OrderService.class);
+
+    @Test
+    public void testInterceptorResolution()
+    {
+        startContainer(BEAN_CLASSES);
+
+        InterceptorsManager interceptorsManager = getWebBeansContext().getInterceptorsManager();
+
+        List<Interceptor<?>> interceptors = interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, BINDINGS);
+        Assert.assertEquals(2, interceptors.size());
+        Assert.assertEquals(LoggedInterceptor.class, interceptors.get(0).getBeanClass());
+        Assert.assertEquals(TimedInterceptor.class, interceptors.get(1).getBeanClass());
+        Assert.assertTrue(interceptorsManager.resolveInterceptors(InterceptionType.POST_CONSTRUCT, BINDINGS).isEmpty());
+
+        // resolving the same bindings again must give the same result
+        Assert.assertEquals(interceptors, interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, BINDINGS));
+
+        Assert.assertEquals("intercepted", getInstance(OrderService.class).order());
+    }
+
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD })
+    public @interface Logged
+    {
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD })
+    public @interface Audited
+    {
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD })
+    public @interface Timed
+    {
+    }
+
+    @Logged
+    @javax.interceptor.Interceptor
+    @Priority(100)
+    public static class LoggedInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Audited
+    @javax.interceptor.Interceptor
+    @Priority(200)
+    public static class AuditedInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Timed
+    @javax.interceptor.Interceptor
+    @Priority(300)
+    public static class TimedInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return "intercepted";
+        }
+    }
+
+    @Audited
+    @Logged
+    @javax.interceptor.Interceptor
+    @Priority(400)
+    public static class AuditedLoggedInterceptor
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @InterceptorBinding
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ ElementType.TYPE, ElementType.METHOD })
+    public @interface Tagged
+    {
+        @Nonbinding
+        String value();
+    }
+
+    @Tagged("tag1")
+    @javax.interceptor.Interceptor
+    @Priority(1001)
+    public static class TaggedInterceptor1
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag2")
+    @javax.interceptor.Interceptor
+    @Priority(1002)
+    public static class TaggedInterceptor2
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag3")
+    @javax.interceptor.Interceptor
+    @Priority(1003)
+    public static class TaggedInterceptor3
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag4")
+    @javax.interceptor.Interceptor
+    @Priority(1004)
+    public static class TaggedInterceptor4
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag5")
+    @javax.interceptor.Interceptor
+    @Priority(1005)
+    public static class TaggedInterceptor5
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag6")
+    @javax.interceptor.Interceptor
+    @Priority(1006)
+    public static class TaggedInterceptor6
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag7")
+    @javax.interceptor.Interceptor
+    @Priority(1007)
+    public static class TaggedInterceptor7
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Tagged("tag8")
+    @javax.interceptor.Interceptor
+    @Priority(1008)
+    public static class TaggedInterceptor8
+    {
+        @AroundInvoke
+        public Object invoke(InvocationContext context) throws Exception
+        {
+            return context.proceed();
+        }
+    }
+
+    @Logged
+    @Timed
+    @ApplicationScoped
+    public static class OrderService
+    {
+        public String order()
+        {
+            return "ordered";
+        }
+    }
+}
@@ -0,0 +1,432 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.performance;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.RequestScoped;
+import javax.enterprise.context.SessionScoped;
+import javax.enterprise.context.control.ActivateRequestContext;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.spi.AnnotatedType;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanAttributes;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InterceptionType;
+import javax.inject.Inject;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import org.apache.webbeans.component.creation.BeanAttributesBuilder;
+import org.apache.webbeans.component.creation.BeanAttributesBuilderTest;
+import org.apache.webbeans.config.OpenWebBeansConfiguration;
+import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.context.SessionContext;
+import org.apache.webbeans.corespi.scanner.xbean.OwbAnnotationFinder;
+import org.apache.webbeans.intercept.InterceptorsManager;
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.apache.webbeans.test.contexts.RequestScopedProxyTest;
+import org.apache.webbeans.test.decorators.tests.StackedDecoratorsTest;
+import org.apache.webbeans.test.injection.generics.GenericHierarchyDeploymentTest;
+import org.apache.webbeans.test.instance.InstanceSelectionTest;
+import org.apache.webbeans.test.interceptors.resolution.InterceptorBindingResolutionTest;
+import org.apache.webbeans.test.producer.ProducerDisposerInvocationTest;
+import org.apache.xbean.finder.AnnotationFinder;
+import org.apache.xbean.finder.archive.Archive;
+import org.apache.xbean.finder.archive.ClasspathArchive;
+import org.apache.xbean.finder.archive.CompositeArchive;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Benchmarks for the hot paths of the container.
+ * They take a while and only report timings, so they don't run in the normal build.
+ * Run them with {@code mvn test -Dtest=ContainerBenchmarkTest -Dowb.benchmark=true}
+ * and tune the iterations up for more stable numbers.
+ * The behaviour of the benchmarked code gets checked by the functional tests of the beans used here.
+ */
+public class ContainerBenchmarkTest extends AbstractUnitTest
+{
+    public static final String BENCHMARK_PROPERTY = "owb.benchmark";
+
+    private static final Logger logger = Logger.getLogger(ContainerBenchmarkTest.class.getName());
+
+    private static final int WARMUP_ITERATIONS = 10000;
+    private static final int BENCHMARK_ITERATIONS = 1000000;
+
+    private static final int DEPLOYMENT_WARMUP_ITERATIONS = 5;
+    private static final int DEPLOYMENT_BENCHMARK_ITERATIONS = 20;
+
+    private static final int SESSION_COUNT = 100000;
+
+    private static final int BEAN_COUNT = 100000;
+
+    @Before
+    public void checkEnabled()
+    {
+        Assume.assumeTrue("benchmarks only run with -D" + BENCHMARK_PROPERTY + "=true", Boolean.getBoolean(BENCHMARK_PROPERTY));
+    }
+
+    @Test
+    public void requestScopedProxy()
+    {
+        startContainer(RequestScopedProxyTest.Counter.class);
+        RequestScopedProxyTest.Counter counter = getInstance(RequestScopedProxyTest.Counter.class);
+
+        benchmark("Invoking a @RequestScoped proxy", WARMUP_ITERATIONS, BENCHMARK_ITERATIONS, counter::increment);
+    }
+
+    @Test
+    public void activateRequestContext()
+    {
+        activateRequestContext("new");
+    }
+
+    @Test
+    public void activateRecycledRequestContext()
+    {
+        addConfiguration(OpenWebBeansConfiguration.RECYCLE_REQUEST_CONTEXTS, "true");
+        activateRequestContext("recycled");
+    }
+
+    private void activateRequestContext(String mode)
+    {
+        startContainer(MessageConsumer.class, MessageState.class);
+        // worker threads usually don't have a request context
+        getWebBeansContext().getContextsService().endContext(RequestScoped.class, null);
+        MessageConsumer consumer = getInstance(MessageConsumer.class);
+
+        benchmark("Consuming a message with a " + mode + " request context", WARMUP_ITERATIONS, BENCHMARK_ITERATIONS / 2,
+            () -> consumer.onMessage(1));
+    }
+
+    @Test
+    public void instanceSelect()
+    {
+        startContainer(InstanceSelectionTest.HandlerHolder.class, InstanceSelectionTest.FastHandler.class, InstanceSelectionTest.SlowHandler.class);
+        InstanceSelectionTest.HandlerHolder holder = getInstance(InstanceSelectionTest.HandlerHolder.class);
+        InstanceSelectionTest.FastLiteral fast = new InstanceSelectionTest.FastLiteral();
+
+        benchmark("Instance select and get", WARMUP_ITERATIONS, BENCHMARK_ITERATIONS, () -> holder.getHandlers().select(fast).get().handle());
+    }
+
+    @Test
+    public void dependentInjection()
+    {
+        startContainer(Consumer.class, Repository.class, Helper.class);
+        BeanManager beanManager = getBeanManager();
+        Bean<Consumer> bean = (Bean<Consumer>) beanManager.resolve(beanManager.getBeans(Consumer.class));
+
+        benchmark("Creating and injecting a dependent bean", WARMUP_ITERATIONS, BENCHMARK_ITERATIONS / 5, () ->
+        {
+            CreationalContext<Consumer> creationalContext = beanManager.createCreationalContext(bean);
+            bean.create(creationalContext).work();
+            creationalContext.release();
+        });
+    }
+
+    @Test
+    public void producerMethod()
+    {
+        startContainer(ProducerDisposerInvocationTest.ConfigProducer.class, ProducerDisposerInvocationTest.Settings.class);
+        BeanManager beanManager = getBeanManager();
+        Bean<ProducerDisposerInvocationTest.Config> bean = (Bean<ProducerDisposerInvocationTest.Config>)
+            beanManager.resolve(beanManager.getBeans(ProducerDisposerInvocationTest.Config.class));
+
+        benchmark("Producing and disposing a dependent bean", WARMUP_ITERATIONS, BENCHMARK_ITERATIONS / 5,
+            () -> ProducerDisposerInvocationTest.produce(beanManager, bean));
+    }
+
+    @Test
+    public void decorators()
+    {
+        for (int decoratorCount : new int[] { 1, 3, 5 })
+        {
+            List<Class<?>> beanClasses = new ArrayList<>(StackedDecoratorsTest.DECORATORS.subList(0, decoratorCount));
+            beanClasses.add(StackedDecoratorsTest.CounterService.class);
+            startContainer(beanClasses);
+            StackedDecoratorsTest.Counter counter = getInstance(StackedDecoratorsTest.Counter.class);
+
+            benchmark("Invoking a method with " + decoratorCount + " decorators", WARMUP_ITERATIONS * 10, BENCHMARK_ITERATIONS,
+                () -> counter.increment(1));
+            shutDownContainer();
+        }
+    }
+
+    @Test
+    public void interceptorResolution()
+    {
+        startContainer(InterceptorBindingResolutionTest.BEAN_CLASSES);
+        InterceptorsManager interceptorsManager = getWebBeansContext().getInterceptorsManager();
+
+        benchmark("Resolving interceptors", WARMUP_ITERATIONS, BENCHMARK_ITERATIONS / 5,
+            () -> interceptorsManager.resolveInterceptors(InterceptionType.AROUND_INVOKE, InterceptorBindingResolutionTest.BINDINGS));
+    }
+
+    @Test
+    public void genericDeployment()
+    {
+        benchmark("Deploying generic beans", DEPLOYMENT_WARMUP_ITERATIONS, DEPLOYMENT_BENCHMARK_ITERATIONS, () ->
+        {
+            startContainer(GenericHierarchyDeploymentTest.BEAN_CLASSES);
+            shutDownContainer();
+        });
+    }
+
+    @Test
+    public void genericDeploymentWithResolutionCache() throws IOException
+    {
+        File cacheFile = File.createTempFile("owb-resolutions", ".bin");
+        try
+        {
+            benchmark("Deploying generic beans with a resolution cache", DEPLOYMENT_WARMUP_ITERATIONS, DEPLOYMENT_BENCHMARK_ITERATIONS, () ->
+            {
+                addConfiguration(OpenWebBeansConfiguration.RESOLUTION_CACHE_FILE, cacheFile.getAbsolutePath());
+                startContainer(GenericHierarchyDeploymentTest.BEAN_CLASSES);
+                shutDownContainer();
+            });
+        }
+        finally
+        {
+            cacheFile.delete();
+        }
+    }
+
+    @Test
+    public void scanning()
+    {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        URL jar = AnnotationFinder.class.getProtectionDomain().getCodeSource().getLocation();
+        URL classes = WebBeansContext.class.getProtectionDomain().getCodeSource().getLocation();
+
+        benchmark("Scanning the xbean jar and the OWB classes", DEPLOYMENT_WARMUP_ITERATIONS, DEPLOYMENT_BENCHMARK_ITERATIONS, () ->
+        {
+            Archive archive = new CompositeArchive(ClasspathArchive.archive(loader, jar), ClasspathArchive.archive(loader, classes));
+            new OwbAnnotationFinder(archive).getAnnotatedClassNames();
+        });
+    }
+
+    @Test
+    public void sessionContextFootprint()
+    {
+        addConfiguration(OpenWebBeansConfiguration.COMPACT_SESSION_CONTEXTS, "true");
+        startContainer(FirstSessionBean.class, SecondSessionBean.class, ThirdSessionBean.class,
+            FourthSessionBean.class, FifthSessionBean.class);
+
+        List<Bean<?>> beans = new ArrayList<>();
+        beans.add(getBean(FirstSessionBean.class));
+        beans.add(getBean(SecondSessionBean.class));
+        beans.add(getBean(ThirdSessionBean.class));
+        beans.add(getBean(FourthSessionBean.class));
+        beans.add(getBean(FifthSessionBean.class));
+
+        long mapPerSession = sessionFootprint("ConcurrentHashMap", beans, SessionContext::new);
+        long compactPerSession = sessionFootprint("compact", beans, () -> new SessionContext(getWebBeansContext()));
+        logger.info("Compact SessionContexts save about " + (mapPerSession - compactPerSession) + " bytes per session");
+    }
+
+    @Test
+    public void beanMetadataFootprint()
+    {
+        startContainer();
+        WebBeansContext webBeansContext = getWebBeansContext();
+        AnnotatedType<BeanAttributesBuilderTest.FirstService> type = getBeanManager().createAnnotatedType(BeanAttributesBuilderTest.FirstService.class);
+
+        List<BeanAttributes<?>> attributes = new ArrayList<>(BEAN_COUNT);
+        long before = usedHeap();
+        for (int i = 0; i < BEAN_COUNT; i++)
+        {
+            attributes.add(BeanAttributesBuilder.forContext(webBeansContext).newBeanAttibutes(type).build());
+        }
+        long after = usedHeap();
+
+        // keeps the list reachable until after the measurement
+        Assert.assertEquals(BEAN_COUNT, attributes.size());
+        logger.info("BeanAttributes of " + BEAN_COUNT + " beans take about " + Math.max(0, after - before) / BEAN_COUNT + " bytes per bean");
+    }
+
+    private long sessionFootprint(String storage, List<Bean<?>> beans, Supplier<SessionContext> sessionContextFactory)
+    {
+        List<SessionContext> sessions = new ArrayList<>(SESSION_COUNT);
+        long before = usedHeap();
+        for (int i = 0; i < SESSION_COUNT; i++)
+        {
+            SessionContext sessionContext = sessionContextFactory.get();
+            sessionContext.setActive(true);
+            for (Bean<?> bean : beans)
+            {
+                getSessionInstance(sessionContext, bean);
+            }
+            sessions.add(sessionContext);
+        }
+        long after = usedHeap();
+
+        // keeps the sessions reachable until after the measurement
+        Assert.assertEquals(SESSION_COUNT, sessions.size());
+
+        long perSession = Math.max(0, after - before) / SESSION_COUNT;
+        logger.info(SESSION_COUNT + " sessions with " + storage + " storage take about " + perSession + " bytes per session");
+
+        for (SessionContext sessionContext : sessions)
+        {
+            sessionContext.destroy();
+        }
+        return perSession;
+    }
+
+    private <T> T getSessionInstance(SessionContext sessionContext, Bean<T> bean)
+    {
+        return sessionContext.get(bean, getBeanManager().createCreationalContext(bean));
+    }
+
+    private static long usedHeap()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+        {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void benchmark(String description, int warmupIterations, int benchmarkIterations, Runnable action)
+    {
+        for (int i = 0; i < warmupIterations; i++)
+        {
+            action.run();
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < benchmarkIterations; i++)
+        {
+            action.run();
+        }
+        long end = System.nanoTime();
+        logger.info(description + " " + benchmarkIterations + " times took ms: " + TimeUnit.NANOSECONDS.toMillis(end - start));
+    }
+
+
+    @ApplicationScoped
+    public static class MessageConsumer
+    {
+        @Inject
+        private MessageState state;
+
+        @ActivateRequestContext
+        public int onMessage(int message)
+        {
+            state.setMessage(message);
+            return state.getMessage();
+        }
+    }
+
+    @RequestScoped
+    public static class MessageState
+    {
+        private int message;
+
+        public int getMessage()
+        {
+            return message;
+        }
+
+        public void setMessage(int message)
+        {
+            this.message = message;
+        }
+    }
+
+    @Dependent
+    public static class Consumer
+    {
+        private @Inject Repository repository;
+        private @Inject Helper helper;
+
+        private Helper initializedHelper;
+
+        @Inject
+        public void init(Helper helper)
+        {
+            initializedHelper = helper;
+        }
+
+        public int work()
+        {
+            return repository.count() + helper.value() + initializedHelper.value();
+        }
+    }
+
+    @ApplicationScoped
+    public static class Repository
+    {
+        public int count()
+        {
+            return 1;
+        }
+    }
+
+    @Dependent
+    public static class Helper
+    {
+        public int value()
+        {
+            return 1;
+        }
+    }
+
+    @SessionScoped
+    public static class FirstSessionBean implements Serializable
+    {
+        private int counter;
+    }
+
+    @SessionScoped
+    public static class SecondSessionBean implements Serializable
+    {
+        private String user;
+    }
+
+    @SessionScoped
+    public static class ThirdSessionBean implements Serializable
+    {
+        private long lastAccess;
+    }
+
+    @SessionScoped
+    public static class FourthSessionBean implements Serializable
+    {
+        private String locale;
+    }
+
+    @SessionScoped
+    public static class FifthSessionBean implements Serializable
+    {
+        private boolean loggedIn;
+    }
+}
@@ -39,6 +39,7 @@ import javax.interceptor.Interceptor;
 import org.junit.Assert;
 
 import org.apache.webbeans.config.WebBeansContext;
+import org.apache.webbeans.portable.AnnotatedElementFactory;
 import org.apache.webbeans.test.annotation.binding.Binding1;
 import org.apache.webbeans.test.annotation.binding.Binding2;
 import org.apache.webbeans.test.component.CheckWithCheckPayment;
@@ -52,6 +53,24 @@ import org.junit.Test;
 
 public class PortableTests
 {
+    @Test
+    public void testClearedAnnotatedTypesGetRebuiltOnDemand()
+    {
+        AnnotatedElementFactory factory = new AnnotatedElementFactory(WebBeansContext.getInstance());
+        AnnotatedType<PortableType1> type = factory.newAnnotatedType(PortableType1.class);
+        Assert.assertSame(type, factory.newAnnotatedType(PortableType1.class));
+        Assert.assertTrue(factory.getCachedElementCount() > 0);
+
+        factory.clear();
+        Assert.assertEquals(0, factory.getCachedElementCount());
+
+        AnnotatedType<PortableType1> rebuilt = factory.newAnnotatedType(PortableType1.class);
+        Assert.assertNotSame(type, rebuilt);
+        Assert.assertEquals(type.getJavaClass(), rebuilt.getJavaClass());
+        Assert.assertEquals(type.getMethods().size(), rebuilt.getMethods().size());
+        Assert.assertTrue(factory.getCachedElementCount() > 0);
+    }
+
     @Test
     public void testAnnotatedType()
     {
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.producer;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.context.Dependent;
+import javax.enterprise.context.spi.CreationalContext;
+import javax.enterprise.inject.Disposes;
+import javax.enterprise.inject.Produces;
+import javax.enterprise.inject.spi.Bean;
+import javax.enterprise.inject.spi.BeanManager;
+import javax.enterprise.inject.spi.InjectionPoint;
+
+import org.apache.webbeans.test.AbstractUnitTest;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Checks repeated invocations of a &#064;Dependent producer method with parameters and its disposer,
+ * which are declared on a normal scoped bean.
+ */
+public class ProducerDisposerInvocationTest extends AbstractUnitTest
+{
+    @Test
+    public void testProducerAndDisposerInvocations()
+    {
+        startContainer(ConfigProducer.class, Settings.class);
+
+        BeanManager beanManager = getBeanManager();
+        Bean<Config> bean = (Bean<Config>) beanManager.resolve(beanManager.getBeans(Config.class));
+
+        for (int i = 0; i < 3; i++)
+        {
+            Assert.assertEquals("app.config", produce(beanManager, bean));
+        }
+
+        Assert.assertEquals(3, getInstance(ConfigProducer.class).getDisposed());
+    }
+
+    public static String produce(BeanManager beanManager, Bean<Config> bean)
+    {
+        CreationalContext<Config> creationalContext = beanManager.createCreationalContext(bean);
+        Config config = bean.create(creationalContext);
+        String value = config.getName();
+        bean.destroy(config, creationalContext);
+        return value;
+    }
+
+
+    public static class Config
+    {
+        private final String name;
+
+        public Config(String name)
+        {
+            this.name = name;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+    }
+
+    @Dependent
+    public static class Settings
+    {
+        public String prefix()
+        {
+            return "app.";
+        }
+    }
+
+    @ApplicationScoped
+    public static class ConfigProducer
+    {
+        private int disposed;
+
+        @Produces
+        public Config createConfig(Settings settings, InjectionPoint injectionPoint)
+        {
+            return new Config(settings.prefix() + "config");
+        }
+
+        public void disposeConfig(@Disposes Config config, Settings settings)
+        {
+            disposed++;
+        }
+
+        public int getDisposed()
+        {
+            return disposed;
+        }
+    }
+}
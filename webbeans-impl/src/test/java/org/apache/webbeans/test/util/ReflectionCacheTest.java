@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.webbeans.test.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.webbeans.corespi.security.SimpleSecurityService;
+import org.apache.webbeans.util.ClassUtil;
+import org.apache.webbeans.util.ReflectionCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ReflectionCacheTest
+{
+    @Test
+    public void testDeclaredMembersGetLookedUpOnce()
+    {
+        CountingSecurityService securityService = new CountingSecurityService();
+        ReflectionCache cache = new ReflectionCache(securityService);
+
+        Method[] methods = cache.getDeclaredMethods(SpecificClass.class);
+        Assert.assertEquals(new HashSet<>(Arrays.asList(SpecificClass.class.getDeclaredMethods())), new HashSet<>(Arrays.asList(methods)));
+
+        // callers get their own copy of the array
+        methods[0] = null;
+        Assert.assertNotNull(cache.getDeclaredMethods(SpecificClass.class)[0]);
+
+        cache.getDeclaredFields(SpecificClass.class);
+        cache.getDeclaredFields(SpecificClass.class);
+        cache.getDeclaredConstructors(SpecificClass.class);
+        cache.getDeclaredConstructors(SpecificClass.class);
+        Assert.assertEquals(3, securityService.lookups.get());
+
+        cache.clear();
+        cache.getDeclaredMethods(SpecificClass.class);
+        Assert.assertEquals(4, securityService.lookups.get());
+    }
+
+    @Test
+    public void testNonPrivateMethods()
+    {
+        ReflectionCache cache = new ReflectionCache(new SimpleSecurityService());
+
+        List<Method> nonPrivateMethods = cache.getNonPrivateMethods(SpecificClass.class, false);
+        Assert.assertEquals(ClassUtil.getNonPrivateMethods(SpecificClass.class, false), nonPrivateMethods);
+        Assert.assertSame(nonPrivateMethods, cache.getNonPrivateMethods(SpecificClass.class, false));
+        Assert.assertEquals(ClassUtil.getNonPrivateMethods(SpecificClass.class, true), cache.getNonPrivateMethods(SpecificClass.class, true));
+
+        try
+        {
+            nonPrivateMethods.clear();
+            Assert.fail("cached methods must not be modifiable");
+        }
+        catch (UnsupportedOperationException e)
+        {
+            // all fine
+        }
+    }
+
+    private static class CountingSecurityService extends SimpleSecurityService
+    {
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        @Override
+        public <T> Method[] doPrivilegedGetDeclaredMethods(Class<T> clazz)
+        {
+            lookups.incrementAndGet();
+            return super.doPrivilegedGetDeclaredMethods(clazz);
+        }
+
+        @Override
+        public <T> Field[] doPrivilegedGetDeclaredFields(Class<T> clazz)
+        {
+            lookups.incrementAndGet();
+            return super.doPrivilegedGetDeclaredFields(clazz);
+        }
+
+        @Override
+        public <T> Constructor<?>[] doPrivilegedGetDeclaredConstructors(Class<T> clazz)
+        {
+            lookups.incrementAndGet();
+            return super.doPrivilegedGetDeclaredConstructors(clazz);
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.apache.webbeans.test.xml;
 
 import javax.enterprise.inject.spi.DeploymentException;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 
 import org.apache.webbeans.spi.BeanArchiveService;
@@ -174,6 +175,15 @@ public class BeanArchiveServiceTest
         Assert.assertTrue(bai.isClassExcluded("org.apache.webbeans.test.subpackage.otherpackage.OtherClass"));
     }
 
+    @Test
+    public void testDeprecatedDomParsingStillWorksForSubclasses() throws Exception
+    {
+        URL url = getClass().getClassLoader().getResource("org/apache/webbeans/test/xml/strict/cdi11_discovery_none.xml");
+        try (InputStream xmlStream = url.openStream())
+        {
+            Assert.assertEquals("none", new DomBeanArchiveService().getBeanDiscoveryMode(xmlStream));
+        }
+    }
 
 
     private BeanArchiveInformation scanBeansXml(String name)
@@ -185,4 +195,13 @@ public class BeanArchiveServiceTest
 
         return beanArchiveInformation;
     }
+
+    private static class DomBeanArchiveService extends DefaultBeanArchiveService
+    {
+        @SuppressWarnings("deprecation")
+        private String getBeanDiscoveryMode(InputStream xmlStream)
+        {
+            return getTrimmedAttribute(getBeansRootElement(xmlStream), "bean-discovery-mode");
+        }
+    }
 }
@@ -32,7 +32,8 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 /**
  * Activates CDI based on SE API for the decorated test.
  *
- * IMPORTANT: this is not thread safe - yet - so ensure to use a single fork in surefire/gradle/....
+ * Each container is bound to its own classloader which is set as context classloader while the tests run,
+ * so classes can be executed concurrently (JUnit parallel execution) with different containers.
  */
 @Target(TYPE)
 @Retention(RUNTIME)
@@ -91,7 +92,10 @@ public @interface Cdi
 
     /**
      * TIP: it is recommended to alias the configuration when this is true to avoid to have a not unified configuration.
-     * IMPORTANT: this is not thread safe so ensure to use a single fork when using it.
+     * Reusable containers are shared by all the tests using the same configuration (ordering of classes,
+     * packages, alternatives and properties does not matter). Up to
+     * {@code org.apache.openwebbeans.junit5.reusable.maxContainers} (default 4) idle containers are kept,
+     * the least recently used one is closed first.
      *
      * @return true if the underlying container must stay up until the end of the tests.
      */
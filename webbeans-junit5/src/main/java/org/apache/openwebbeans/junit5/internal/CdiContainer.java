@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.junit5.internal;
+
+import org.apache.openwebbeans.junit5.Cdi;
+
+import javax.enterprise.inject.se.SeContainer;
+import javax.enterprise.inject.se.SeContainerInitializer;
+import java.lang.reflect.InvocationTargetException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A container booted for a {@link Cdi} configuration.
+ *
+ * Each container gets its own (delegating) classloader: OpenWebBeans binds a
+ * {@link org.apache.webbeans.config.WebBeansContext} per classloader so it is what
+ * makes several containers usable side by side in the same JVM.
+ * The classloader must be set as context classloader while the container is used,
+ * see {@link #enter()}.
+ */
+final class CdiContainer
+{
+    private final ClassLoader loader;
+    private final SeContainer container;
+    private final AutoCloseable[] onStop;
+
+    private CdiContainer(final ClassLoader loader, final SeContainer container, final AutoCloseable[] onStop)
+    {
+        this.loader = loader;
+        this.container = container;
+        this.onStop = onStop;
+    }
+
+    static CdiContainer start(final Cdi config, final ClassLoader parent)
+    {
+        final ClassLoader loader = new ContainerClassLoader(parent);
+        final SeContainerInitializer initializer = SeContainerInitializer.newInstance();
+        if (config.disableDiscovery())
+        {
+            initializer.disableDiscovery();
+        }
+        initializer.setClassLoader(loader);
+        initializer.addBeanClasses(config.classes());
+        initializer.enableDecorators(config.decorators());
+        initializer.enableInterceptors(config.interceptors());
+        initializer.selectAlternatives(config.alternatives());
+        initializer.selectAlternativeStereotypes(config.alternativeStereotypes());
+        initializer.addPackages(
+                Stream.of(config.packages()).map(Class::getPackage).toArray(Package[]::new));
+        initializer.addPackages(true,
+                Stream.of(config.recursivePackages()).map(Class::getPackage).toArray(Package[]::new));
+        Stream.of(config.properties()).forEach(property -> initializer.addProperty(property.name(), property.value()));
+        final AutoCloseable[] onStop = Stream.of(config.onStarts())
+                .map(it ->
+                {
+                    try
+                    {
+                        return it.getConstructor().newInstance();
+                    }
+                    catch (final InstantiationException | IllegalAccessException | NoSuchMethodException e)
+                    {
+                        throw new IllegalStateException(e);
+                    }
+                    catch (final InvocationTargetException e)
+                    {
+                        throw new IllegalStateException(e.getTargetException());
+                    }
+                })
+                .map(Supplier::get)
+                .toArray(AutoCloseable[]::new);
+        try
+        {
+            return new CdiContainer(loader, initializer.initialize(), onStop);
+        }
+        catch (final RuntimeException | Error e)
+        {
+            // stop what the onStarts started, the container itself did not boot
+            closeAll(onStop, e);
+            throw e;
+        }
+    }
+
+    SeContainer getContainer()
+    {
+        return container;
+    }
+
+    /**
+     * Sets the container classloader as context classloader of the current thread.
+     *
+     * @return the previous context classloader, to give back to {@link #exit(ClassLoader)}.
+     */
+    ClassLoader enter()
+    {
+        final Thread thread = Thread.currentThread();
+        final ClassLoader old = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        return old;
+    }
+
+    void exit(final ClassLoader old)
+    {
+        Thread.currentThread().setContextClassLoader(old);
+    }
+
+    void close()
+    {
+        final ClassLoader old = enter();
+        try
+        {
+            if (container.isRunning())
+            {
+                container.close();
+            }
+        }
+        finally
+        {
+            exit(old);
+        }
+        Stream.of(onStop).forEach(it ->
+        {
+            try
+            {
+                it.close();
+            }
+            catch (final Exception e)
+            {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static void closeAll(final AutoCloseable[] closeables, final Throwable failure)
+    {
+        for (final AutoCloseable closeable : closeables)
+        {
+            try
+            {
+                closeable.close();
+            }
+            catch (final Exception e)
+            {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    private static final class ContainerClassLoader extends ClassLoader
+    {
+        private ContainerClassLoader(final ClassLoader parent)
+        {
+            super(parent);
+        }
+    }
+}
@@ -27,25 +27,23 @@ import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.platform.commons.util.AnnotationUtils;
 
 import javax.enterprise.context.spi.CreationalContext;
-import javax.enterprise.inject.se.SeContainer;
-import javax.enterprise.inject.se.SeContainerInitializer;
 import javax.enterprise.inject.spi.AnnotatedType;
 import javax.enterprise.inject.spi.BeanManager;
 import javax.enterprise.inject.spi.InjectionTarget;
-import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.function.Supplier;
-import java.util.stream.Stream;
 
-// todo: enhance the setup to be thread safe? see Meecrowave ClassLoaderLock class and friends
 public class CdiExtension extends CdiParametersResolverExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback
 {
-    private static SeContainer reusableContainer;
+    /**
+     * Maximum number of reusable containers kept started at the same time,
+     * read from the JUnit configuration parameters (or system properties). Default is 4.
+     */
+    public static final String MAX_REUSABLE_CONTAINERS = "org.apache.openwebbeans.junit5.reusable.maxContainers";
 
-    private SeContainer testInstanceContainer;
-    private Collection<CreationalContext<?>> creationalContexts = new ArrayList<>();
-    private AutoCloseable[] onStop;
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(CdiExtension.class.getName());
+
+    private static volatile ContainerPool reusableContainers;
 
     @Override
     public void beforeAll(final ExtensionContext extensionContext)
@@ -56,91 +54,62 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
             return;
         }
 
-        final boolean reusable = config.reusable();
-        if (reusable && reusableContainer != null)
-        {
-            return;
-        }
-        if (!reusable && reusableContainer != null)
-        {
-            throw new IllegalStateException(
-                    "You can't mix @Cdi(reusable=true) and @Cdi(reusable=false) in the same suite");
-        }
-
-        final SeContainerInitializer initializer = SeContainerInitializer.newInstance();
-        if (config.disableDiscovery())
+        final ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+        final ClassLoader parent = contextLoader != null ? contextLoader : CdiExtension.class.getClassLoader();
+        final TestContainer testContainer;
+        if (config.reusable())
         {
-            initializer.disableDiscovery();
-        }
-        initializer.setClassLoader(Thread.currentThread().getContextClassLoader());
-        initializer.addBeanClasses(config.classes());
-        initializer.enableDecorators(config.decorators());
-        initializer.enableInterceptors(config.interceptors());
-        initializer.selectAlternatives(config.alternatives());
-        initializer.selectAlternativeStereotypes(config.alternativeStereotypes());
-        initializer.addPackages(
-                Stream.of(config.packages()).map(Class::getPackage).toArray(Package[]::new));
-        initializer.addPackages(true,
-                Stream.of(config.recursivePackages()).map(Class::getPackage).toArray(Package[]::new));
-        Stream.of(config.properties()).forEach(property -> initializer.addProperty(property.name(), property.value()));
-        onStop = Stream.of(config.onStarts())
-                .map(it ->
-                {
-                    try
-                    {
-                        return it.getConstructor().newInstance();
-                    }
-                    catch (final InstantiationException | IllegalAccessException | NoSuchMethodException e)
-                    {
-                        throw new IllegalStateException(e);
-                    }
-                    catch (final InvocationTargetException e)
-                    {
-                        throw new IllegalStateException(e.getTargetException());
-                    }
-                })
-                .map(Supplier::get)
-                .toArray(AutoCloseable[]::new);
-        SeContainer container = initializer.initialize();
-        if (reusable)
-        {
-            reusableContainer = container;
-            Runtime.getRuntime().addShutdownHook(new Thread(
-                () -> doClose(reusableContainer), getClass().getName() + "-shutdown"));
+            final ContainerPool.Entry entry = getReusableContainers(extensionContext).acquire(config, parent);
+            testContainer = new TestContainer(entry.getContainer(), entry);
         }
         else
         {
-            testInstanceContainer = container;
+            testContainer = new TestContainer(CdiContainer.start(config, parent), null);
         }
+        testContainer.previousLoader = testContainer.container.enter();
+        extensionContext.getStore(NAMESPACE).put(TestContainer.class, testContainer);
     }
 
     @Override
     public void afterAll(final ExtensionContext extensionContext)
     {
-        if (testInstanceContainer != null)
+        final TestContainer testContainer = extensionContext.getStore(NAMESPACE).remove(TestContainer.class, TestContainer.class);
+        if (testContainer == null)
         {
-            doClose(testInstanceContainer);
-            testInstanceContainer = null;
+            return;
+        }
+        testContainer.container.exit(testContainer.previousLoader);
+        if (testContainer.pooled != null)
+        {
+            reusableContainers.release(testContainer.pooled);
+        }
+        else
+        {
+            testContainer.container.close();
         }
     }
 
     @Override
     public void beforeEach(final ExtensionContext extensionContext)
     {
-        final SeContainer container = getContainer();
-        if (container == null)
+        final ExtensionContext.Store store = extensionContext.getStore(NAMESPACE);
+        final TestContainer testContainer = store.get(TestContainer.class, TestContainer.class);
+        if (testContainer == null)
         {
             return;
         }
+        // methods can run on another thread than the class callbacks (parallel execution)
+        final TestMethod testMethod = new TestMethod(testContainer.container, testContainer.container.enter());
+        store.put(TestMethod.class, testMethod);
         extensionContext.getTestInstances().ifPresent(testInstances ->
         {
             testInstances.getAllInstances().stream().distinct().forEach(instance ->
             {
-                final BeanManager manager = container.getBeanManager();
+                final BeanManager manager = testContainer.container.getContainer().getBeanManager();
                 final AnnotatedType<?> annotatedType = manager.createAnnotatedType(instance.getClass());
                 final InjectionTarget injectionTarget = manager.createInjectionTarget(annotatedType);
                 final CreationalContext<Object> creationalContext = manager.createCreationalContext(null);
-                creationalContexts.add(creationalContext);
+                testMethod.creationalContexts.add(creationalContext);
                 injectionTarget.inject(instance, creationalContext);
             });
         });
@@ -150,38 +119,77 @@ public class CdiExtension extends CdiParametersResolverExtension implements Befo
     public void afterEach(final ExtensionContext extensionContext)
     {
         super.afterEach(extensionContext);
-        if (!creationalContexts.isEmpty())
+        final TestMethod testMethod = extensionContext.getStore(NAMESPACE).remove(TestMethod.class, TestMethod.class);
+        if (testMethod == null)
+        {
+            return;
+        }
+        try
+        {
+            testMethod.creationalContexts.forEach(CreationalContext::release);
+        }
+        finally
         {
-            creationalContexts.forEach(CreationalContext::release);
-            creationalContexts.clear();
+            testMethod.container.exit(testMethod.previousLoader);
         }
     }
 
-    private void doClose(final SeContainer container)
+    private static ContainerPool getReusableContainers(final ExtensionContext extensionContext)
     {
-        container.close();
-        Stream.of(onStop).forEach(it ->
+        ContainerPool pool = reusableContainers;
+        if (pool == null)
         {
-            try
-            {
-                it.close();
-            }
-            catch (final Exception e)
+            synchronized (CdiExtension.class)
             {
-                throw new IllegalStateException(e);
+                pool = reusableContainers;
+                if (pool == null)
+                {
+                    pool = new ContainerPool(extensionContext.getConfigurationParameter(MAX_REUSABLE_CONTAINERS)
+                            .map(CdiExtension::parseMaxReusableContainers)
+                            .orElse(4));
+                    reusableContainers = pool;
+                }
             }
-        });
+        }
+        return pool;
     }
 
-    private SeContainer getContainer()
+    private static int parseMaxReusableContainers(final String value)
     {
-        if (testInstanceContainer != null)
+        try
         {
-            return testInstanceContainer;
+            return Integer.parseInt(value.trim());
         }
-        else
+        catch (final NumberFormatException nfe)
+        {
+            throw new IllegalArgumentException(
+                    "Invalid value '" + value + "' for " + MAX_REUSABLE_CONTAINERS + ", it must be a number of containers", nfe);
+        }
+    }
+
+    private static class TestContainer
+    {
+        private final CdiContainer container;
+        private final ContainerPool.Entry pooled;
+        private ClassLoader previousLoader;
+
+        private TestContainer(final CdiContainer container, final ContainerPool.Entry pooled)
+        {
+            this.container = container;
+            this.pooled = pooled;
+        }
+    }
+
+    private static class TestMethod
+    {
+        private final CdiContainer container;
+        private final ClassLoader previousLoader;
+        private final Collection<CreationalContext<?>> creationalContexts = new ArrayList<>();
+
+        private TestMethod(final CdiContainer container, final ClassLoader previousLoader)
         {
-            return reusableContainer;
+            this.container = container;
+            this.previousLoader = previousLoader;
         }
     }
 }
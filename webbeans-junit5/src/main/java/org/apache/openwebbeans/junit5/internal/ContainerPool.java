@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.junit5.internal;
+
+import org.apache.openwebbeans.junit5.Cdi;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the containers of {@code @Cdi(reusable = true)} tests, keyed by their normalized configuration.
+ *
+ * Two tests sharing the same classes, packages, alternatives, ... share the same container whatever
+ * the order the classes were listed in. Containers not used by any running test are evicted
+ * (least recently used first) when there are more than {@code maxContainers} of them,
+ * the remaining ones are closed when the JVM exits.
+ */
+final class ContainerPool
+{
+    private final int maxContainers;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, .75f, true);
+
+    ContainerPool(final int maxContainers)
+    {
+        this.maxContainers = maxContainers;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, getClass().getName() + "-shutdown"));
+    }
+
+    /**
+     * Gets (and starts if needed) the container matching this configuration.
+     * It is guaranteed to not be closed until it is given back with {@link #release(Entry)}.
+     */
+    Entry acquire(final Cdi config, final ClassLoader parent)
+    {
+        final String key = toKey(config);
+        while (true)
+        {
+            final Entry entry;
+            synchronized (entries)
+            {
+                entry = entries.computeIfAbsent(key, Entry::new);
+                entry.leases++;
+            }
+            final boolean started;
+            try
+            {
+                // started outside the pool lock so different configurations boot concurrently
+                started = entry.start(config, parent);
+            }
+            catch (final RuntimeException | Error e)
+            {
+                synchronized (entries)
+                {
+                    entry.leases--;
+                    // a concurrent acquire can already have replaced the failed entry, keep that one
+                    entries.remove(key, entry);
+                }
+                // tests waiting on this entry must not boot a container the pool doesn't track anymore
+                entry.close();
+                throw e;
+            }
+            if (started)
+            {
+                evict();
+                return entry;
+            }
+            // the entry failed to start in another test, retry with a fresh one
+            synchronized (entries)
+            {
+                entry.leases--;
+            }
+        }
+    }
+
+    void release(final Entry entry)
+    {
+        synchronized (entries)
+        {
+            entry.leases--;
+        }
+        evict();
+    }
+
+    private void evict()
+    {
+        final Collection<Entry> evicted = new ArrayList<>();
+        synchronized (entries)
+        {
+            final Iterator<Entry> it = entries.values().iterator();
+            while (entries.size() > maxContainers && it.hasNext())
+            {
+                final Entry entry = it.next();
+                if (entry.leases == 0)
+                {
+                    it.remove();
+                    evicted.add(entry);
+                }
+            }
+        }
+        evicted.forEach(Entry::close);
+    }
+
+    private void close()
+    {
+        final Collection<Entry> all;
+        synchronized (entries)
+        {
+            all = new ArrayList<>(entries.values());
+            entries.clear();
+        }
+        all.forEach(Entry::close);
+    }
+
+    static String toKey(final Cdi config)
+    {
+        // interceptors, decorators and onStarts are ordered so keep their order, sort everything else
+        return "classes=" + sorted(config.classes()) +
+                ";decorators=" + ordered(config.decorators()) +
+                ";interceptors=" + ordered(config.interceptors()) +
+                ";alternatives=" + sorted(config.alternatives()) +
+                ";alternativeStereotypes=" + sorted(config.alternativeStereotypes()) +
+                ";packages=" + sorted(config.packages()) +
+                ";recursivePackages=" + sorted(config.recursivePackages()) +
+                ";properties=" + Stream.of(config.properties())
+                        .sorted(Comparator.comparing(Cdi.Property::name))
+                        .map(p -> p.name() + '=' + p.value())
+                        .collect(Collectors.joining(",", "[", "]")) +
+                ";disableDiscovery=" + config.disableDiscovery() +
+                ";onStarts=" + ordered(config.onStarts());
+    }
+
+    private static String sorted(final Class<?>[] classes)
+    {
+        return join(Stream.of(classes).map(Class::getName).sorted().distinct());
+    }
+
+    private static String ordered(final Class<?>[] classes)
+    {
+        return join(Stream.of(classes).map(Class::getName));
+    }
+
+    private static String join(final Stream<String> names)
+    {
+        return names.collect(Collectors.joining(",", "[", "]"));
+    }
+
+    static final class Entry
+    {
+        private final String key;
+        private volatile CdiContainer container;
+        private boolean closed;
+        private int leases; // guarded by the pool entries lock
+
+        private Entry(final String key)
+        {
+            this.key = key;
+        }
+
+        CdiContainer getContainer()
+        {
+            return container;
+        }
+
+        /**
+         * @return {@code false} if this entry got closed and can't be used anymore
+         */
+        private synchronized boolean start(final Cdi config, final ClassLoader parent)
+        {
+            if (closed)
+            {
+                return false;
+            }
+            if (container == null)
+            {
+                container = CdiContainer.start(config, parent);
+            }
+            return true;
+        }
+
+        private synchronized void close()
+        {
+            if (closed)
+            {
+                return;
+            }
+            closed = true;
+            if (container != null)
+            {
+                container.close();
+            }
+        }
+
+        @Override
+        public String toString()
+        {
+            return "ContainerPool.Entry{" + key + '}';
+        }
+    }
+}
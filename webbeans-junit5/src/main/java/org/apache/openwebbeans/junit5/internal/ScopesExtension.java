@@ -37,42 +37,43 @@ import java.util.stream.Stream;
 
 public class ScopesExtension implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback
 {
-    private Runnable[] classCallbacks;
-    private Runnable[] methodCallbacks;
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(ScopesExtension.class.getName());
 
     @Override
     public void afterAll(final ExtensionContext context)
     {
-        stop(classCallbacks);
+        stop(context);
     }
 
     @Override
     public void afterEach(final ExtensionContext context)
     {
-        stop(methodCallbacks);
+        stop(context);
     }
 
     @Override
     public void beforeAll(final ExtensionContext context)
     {
-        classCallbacks = start(context, true);
+        start(context, true);
     }
 
     @Override
     public void beforeEach(final ExtensionContext context)
     {
-        methodCallbacks = start(context, false);
+        start(context, false);
     }
 
-    private Runnable[] start(final ExtensionContext context, final boolean canVetoScopes)
+    private void start(final ExtensionContext context, final boolean canVetoScopes)
     {
         final Class<?>[] scopes = AnnotationUtils.findAnnotation(context.getElement(), Scopes.class)
                 .map(Scopes::value)
                 .orElse(null);
         if (scopes == null || scopes.length == 0)
         {
-            return null;
+            return;
         }
+        // the context classloader is the one of the test container (see CdiExtension),
+        // the contexts are started in this container only
         final WebBeansContext webBeansContext = WebBeansContext.currentInstance();
         final ContextsService contextsService = webBeansContext.getContextsService();
         if (canVetoScopes)
@@ -84,7 +85,7 @@ public class ScopesExtension implements BeforeAllCallback, AfterAllCallback, Bef
                 stopIfNeeded(scopes, contextsService, ConversationScoped.class);
             }
         }
-        return Stream.of(scopes)
+        final Runnable[] destroyers = Stream.of(scopes)
                 .map(scope -> {
                     // todo: endParam support, not needed in standalone but can be in web?
                     final Class<? extends Annotation> scopeAnnot = (Class<? extends Annotation>) scope;
@@ -92,6 +93,8 @@ public class ScopesExtension implements BeforeAllCallback, AfterAllCallback, Bef
                     return (Runnable) () -> contextsService.endContext(scopeAnnot, null);
                 })
                 .toArray(Runnable[]::new);
+        // stored per class/method and not in the extension since methods can run concurrently
+        context.getStore(NAMESPACE).put(Destroyers.class, new Destroyers(destroyers));
     }
 
     private void stopIfNeeded(final Class<?>[] scopes, final ContextsService contextsService, final Class<? extends Annotation> scope)
@@ -106,11 +109,22 @@ public class ScopesExtension implements BeforeAllCallback, AfterAllCallback, Bef
         }
     }
 
-    private void stop(final Runnable[] destroyers)
+    private void stop(final ExtensionContext context)
     {
+        final Destroyers destroyers = context.getStore(NAMESPACE).remove(Destroyers.class, Destroyers.class);
         if (destroyers != null)
         {
-            Stream.of(destroyers).forEach(Runnable::run);
+            Stream.of(destroyers.destroyers).forEach(Runnable::run);
+        }
+    }
+
+    private static class Destroyers
+    {
+        private final Runnable[] destroyers;
+
+        private Destroyers(final Runnable[] destroyers)
+        {
+            this.destroyers = destroyers;
         }
     }
 }
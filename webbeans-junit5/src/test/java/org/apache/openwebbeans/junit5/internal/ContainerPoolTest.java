@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.junit5.internal;
+
+import org.apache.openwebbeans.junit5.Cdi;
+import org.apache.openwebbeans.junit5.bean.MyService;
+import org.apache.openwebbeans.junit5.extension.MyScope;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContainerPoolTest
+{
+    @Test
+    void keyIgnoresOrdering()
+    {
+        assertEquals(ContainerPool.toKey(config(ServiceAndScope.class)), ContainerPool.toKey(config(ScopeAndService.class)));
+        assertNotEquals(ContainerPool.toKey(config(ServiceAndScope.class)), ContainerPool.toKey(config(Service.class)));
+        assertNotEquals(ContainerPool.toKey(config(Service.class)), ContainerPool.toKey(config(ServiceWithProperty.class)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedIdleContainer()
+    {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final ContainerPool pool = new ContainerPool(1);
+
+        final ContainerPool.Entry service = pool.acquire(config(Service.class), loader);
+        final ContainerPool.Entry withProperty = pool.acquire(config(ServiceWithProperty.class), loader);
+        assertNotSame(service.getContainer(), withProperty.getContainer());
+        assertSame(service, pool.acquire(config(Service.class), loader));
+
+        // still leased so not evicted even if the pool is too big
+        pool.release(service);
+        assertTrue(service.getContainer().getContainer().isRunning());
+
+        pool.release(service);
+        assertFalse(service.getContainer().getContainer().isRunning());
+        assertTrue(withProperty.getContainer().getContainer().isRunning());
+
+        pool.release(withProperty);
+        assertTrue(withProperty.getContainer().getContainer().isRunning());
+        final ContainerPool.Entry again = pool.acquire(config(Service.class), loader);
+        assertNotSame(service, again);
+        assertFalse(withProperty.getContainer().getContainer().isRunning());
+        pool.release(again);
+        assertTrue(again.getContainer().getContainer().isRunning());
+        again.getContainer().close();
+    }
+
+    @Test
+    void failedStartIsNotPooled()
+    {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final ContainerPool pool = new ContainerPool(1);
+
+        assertThrows(RuntimeException.class, () -> pool.acquire(config(Broken.class), loader));
+        assertThrows(RuntimeException.class, () -> pool.acquire(config(Broken.class), loader));
+
+        // the failed entries don't hold a slot of the pool
+        final ContainerPool.Entry service = pool.acquire(config(Service.class), loader);
+        pool.release(service);
+        assertTrue(service.getContainer().getContainer().isRunning());
+        service.getContainer().close();
+    }
+
+    private static Cdi config(final Class<?> holder)
+    {
+        return holder.getAnnotation(Cdi.class);
+    }
+
+    @Cdi(disableDiscovery = true, classes = MyService.class)
+    private static class Service
+    {
+    }
+
+    @Cdi(disableDiscovery = true, classes = MyService.class, properties = @Cdi.Property(name = "test", value = "true"))
+    private static class ServiceWithProperty
+    {
+    }
+
+    @Cdi(disableDiscovery = true, classes = { MyService.class, MyScope.class })
+    private static class ServiceAndScope
+    {
+    }
+
+    @Cdi(disableDiscovery = true, classes = { MyScope.class, MyService.class })
+    private static class ScopeAndService
+    {
+    }
+
+    @Cdi(disableDiscovery = true, classes = UnsatisfiedBean.class)
+    private static class Broken
+    {
+    }
+
+    public static class UnsatisfiedBean
+    {
+        @Inject
+        private Runnable missing;
+    }
+}
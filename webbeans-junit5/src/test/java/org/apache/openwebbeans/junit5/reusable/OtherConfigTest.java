@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.openwebbeans.junit5.reusable;
+
+import org.apache.openwebbeans.junit5.Cdi;
+import org.apache.openwebbeans.junit5.bean.MyService;
+import org.apache.webbeans.config.WebBeansContext;
+import org.junit.jupiter.api.Test;
+
+import javax.inject.Inject;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// another reusable configuration, gets its own container without closing the one of Cdi1Test/Cdi2Test
+@Cdi(disableDiscovery = true, reusable = true, classes = MyService.class,
+        properties = @Cdi.Property(name = "org.apache.webbeans.junit5.test", value = "other"))
+class OtherConfigTest
+{
+    @Inject
+    private MyService service;
+
+    @Test
+    void run()
+    {
+        assertEquals("other", WebBeansContext.currentInstance().getOpenWebBeansConfiguration()
+                .getProperty("org.apache.webbeans.junit5.test"));
+        assertEquals("ok", service.ok());
+    }
+}
@@ -70,4 +70,11 @@ public class ServletRequestContext extends RequestContext
         servletRequest = null;
     }
 
+    @Override
+    public void reset()
+    {
+        super.reset();
+        servletRequest = null;
+    }
+
 }
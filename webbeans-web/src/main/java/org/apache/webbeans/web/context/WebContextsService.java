@@ -35,7 +35,6 @@ import org.apache.webbeans.conversation.ConversationManager;
 import org.apache.webbeans.el.ELContextStore;
 import org.apache.webbeans.intercept.SessionScopedBeanInterceptorHandler;
 import org.apache.webbeans.logger.WebBeansLoggerFacade;
-import org.apache.webbeans.intercept.RequestScopedBeanInterceptorHandler;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.context.ContextException;
@@ -148,7 +147,7 @@ public class WebContextsService extends AbstractContextsService
         requestContexts.remove();
         sessionContexts.remove();
         conversationContexts.remove();
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
+        super.removeThreadLocals();
     }
 
 
@@ -206,6 +205,8 @@ public class WebContextsService extends AbstractContextsService
             applicationContext.destroy();
             applicationContext.destroySystemBeans();
         }
+
+        releaseRecycledRequestContexts();
     }
     
     
@@ -345,7 +346,7 @@ public class WebContextsService extends AbstractContextsService
     protected void initRequestContext(Object startupObject )
     {
         
-        ServletRequestContext requestContext = new ServletRequestContext();
+        ServletRequestContext requestContext = newRequestContext(ServletRequestContext::new);
         requestContext.setActive(true);
 
         requestContexts.set(requestContext);// set thread local
@@ -460,12 +461,12 @@ public class WebContextsService extends AbstractContextsService
         }
 
         // clean the proxy cache ThreadLocals
-        RequestScopedBeanInterceptorHandler.removeThreadLocals();
         SessionScopedBeanInterceptorHandler.removeThreadLocals();
 
         //Clear thread locals
-        requestContexts.set(null);
-        requestContexts.remove();
+        unbindRequestContext(requestContexts);
+
+        recycleRequestContext(context);
     }
 
 
@@ -492,7 +493,7 @@ public class WebContextsService extends AbstractContextsService
                     currentSessionContext = (SessionContext) session.getAttribute(OWB_SESSION_CONTEXT_ATTRIBUTE_NAME);
                     if (currentSessionContext == null)
                     {
-                        currentSessionContext = new SessionContext();
+                        currentSessionContext = new SessionContext(webBeansContext);
                         currentSessionContext.setActive(true);
                         
                         // init context before fire @Initialized(SessionScoped)